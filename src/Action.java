@@ -0,0 +1,251 @@
+/**
+ * This class defines the packed int encoding of player actions. An action is a plain int, so lists of actions are
+ * primitive arrays and actions are cheap to store, hash and compare. Packed actions are carried out by {@linkplain
+ * GameEngine#perform(int)}.
+ *
+ * <p>The bits of an action are, from the lowest:</p>
+ *
+ * <ul>
+ * <li>3 bits: the ordinal of the {@linkplain Kind}</li>
+ * <li>5 bits: the source index plus 1, 0 if there is no source. The source is the position of the card in the current
+ * player's hand for {@linkplain Kind#PLAY_CARD} and the position of the acting follower on the current player's field
+ * for the attack and evolve actions</li>
+ * <li>5 bits: the target index plus 2, 1 for {@linkplain #LEADER} and 0 if there is no target. The target index is the
+ * position of the target on its field</li>
+ * <li>1 bit: set if the target belongs to the opponent of the current player</li>
+ * </ul>
+ *
+ * <p>Actions refer to positions rather than cards, so an action is only meaningful for the game position it has been
+ * created for. Every move has exactly one encoding, the one created by the factory method of its kind, see
+ * {@linkplain #isCanonical(int)}.</p>
+ *
+ * @see ActionList
+ * @see GameEngine#getLegalActions(ActionList)
+ */
+public final class Action {
+    /**
+     * The source or target index of an action that has no source or target.
+     */
+    public static final int NONE = -1;
+    /**
+     * The target index representing a leader.
+     */
+    public static final int LEADER = -2;
+    private static final int KIND_BITS = 3, INDEX_BITS = 5;
+    private static final int SOURCE_SHIFT = KIND_BITS, TARGET_SHIFT = SOURCE_SHIFT + INDEX_BITS,
+            ENEMY_SHIFT = TARGET_SHIFT + INDEX_BITS;
+    private static final int KIND_MASK = (1 << KIND_BITS) - 1, INDEX_MASK = (1 << INDEX_BITS) - 1;
+    private static final Kind[] KINDS = Kind.values();
+
+    private Action() {
+    }
+
+    /**
+     * Packs an action.
+     *
+     * @param kind        the kind of the action
+     * @param source      the index of the acting card, {@linkplain #NONE} if there is none
+     * @param target      the index of the target, {@linkplain #LEADER} for a leader or {@linkplain #NONE} if there is
+     *                    no target
+     * @param enemyTarget true if the target belongs to the opponent of the current player, false otherwise
+     * @return the packed action
+     * @throws IllegalArgumentException if an index can not be encoded
+     */
+    public static int of(Kind kind, int source, int target, boolean enemyTarget) {
+        if (source < NONE || source + 1 > INDEX_MASK || target < LEADER || target + 2 > INDEX_MASK)
+            throw new IllegalArgumentException("ACTION INDEX OUT OF RANGE");
+
+        return kind.ordinal() | (source + 1) << SOURCE_SHIFT | (target + 2) << TARGET_SHIFT |
+                (enemyTarget ? 1 << ENEMY_SHIFT : 0);
+    }
+
+    /**
+     * @param handIndex the position of the card in the current player's hand
+     * @return the action of using the card
+     */
+    public static int playCard(int handIndex) {
+        return of(Kind.PLAY_CARD, handIndex, NONE, false);
+    }
+
+    /**
+     * @param attacker the position of the attacker on the current player's field
+     * @param target   the position of the target on the opponent's field
+     * @return the action of attacking the enemy follower
+     */
+    public static int attackFollower(int attacker, int target) {
+        return of(Kind.ATTACK_FOLLOWER, attacker, target, true);
+    }
+
+    /**
+     * @param attacker the position of the attacker on the current player's field
+     * @return the action of attacking the enemy leader
+     */
+    public static int attackLeader(int attacker) {
+        return of(Kind.ATTACK_LEADER, attacker, LEADER, true);
+    }
+
+    /**
+     * @param follower the position of the follower on the current player's field
+     * @return the action of evolving the follower
+     */
+    public static int evolve(int follower) {
+        return of(Kind.EVOLVE, follower, NONE, false);
+    }
+
+    /**
+     * @return the action of ending the round
+     */
+    public static int endRound() {
+        return of(Kind.END_ROUND, NONE, NONE, false);
+    }
+
+    /**
+     * @param target      the position of the target on its field, {@linkplain #LEADER} for a leader
+     * @param enemyTarget true if the target belongs to the opponent of the current player, false otherwise
+     * @return the action of selecting the target of the pending effect
+     */
+    public static int selectTarget(int target, boolean enemyTarget) {
+        return of(Kind.SELECT_TARGET, NONE, target, enemyTarget);
+    }
+
+    /**
+     * @param action the packed action
+     * @return the kind of the action
+     * @throws IllegalArgumentException if the action has no valid kind
+     */
+    public static Kind getKind(int action) {
+        int kind = action & KIND_MASK;
+
+        if (kind >= KINDS.length)
+            throw new IllegalArgumentException("UNKNOWN ACTION " + action);
+
+        return KINDS[kind];
+    }
+
+    /**
+     * @param action the packed action
+     * @return the position of the acting card in the current player's hand or field, {@linkplain #NONE} if there is no
+     * acting card
+     */
+    public static int getSource(int action) {
+        return (action >>> SOURCE_SHIFT & INDEX_MASK) - 1;
+    }
+
+    /**
+     * @param action the packed action
+     * @return the position of the target on its field, {@linkplain #LEADER} for a leader or {@linkplain #NONE} if
+     * there is no target
+     */
+    public static int getTarget(int action) {
+        return (action >>> TARGET_SHIFT & INDEX_MASK) - 2;
+    }
+
+    /**
+     * @param action the packed action
+     * @return true if the target belongs to the opponent of the current player, false otherwise
+     */
+    public static boolean isEnemyTarget(int action) {
+        return (action >>> ENEMY_SHIFT & 1) != 0;
+    }
+
+    /**
+     * Checks that an action is encoded the one way its move is encoded by the factory method of its kind: no bits are
+     * set above the enemy bit, and the source, target and enemy bit are only set where the kind uses them. Equal moves
+     * are therefore always equal ints.
+     *
+     * @param action the packed action
+     * @return true if the action is in its canonical form, false otherwise
+     * @throws IllegalArgumentException if the action has no valid kind
+     */
+    public static boolean isCanonical(int action) {
+        int source = getSource(action), target = getTarget(action);
+
+        switch (getKind(action)) {
+            case PLAY_CARD:
+                return action == playCard(source);
+
+            case ATTACK_FOLLOWER:
+                return action == attackFollower(source, target);
+
+            case ATTACK_LEADER:
+                return action == attackLeader(source);
+
+            case EVOLVE:
+                return action == evolve(source);
+
+            case END_ROUND:
+                return action == endRound();
+
+            case SELECT_TARGET:
+                return action == selectTarget(target, isEnemyTarget(action));
+
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @param action the packed action
+     * @return a readable description of the action, e.g. {@code ATTACK_FOLLOWER 2 -> enemy 0}
+     */
+    public static String toString(int action) {
+        StringBuilder description = new StringBuilder(getKind(action).name());
+        int source = getSource(action), target = getTarget(action);
+
+        if (source != NONE)
+            description.append(' ').append(source);
+
+        if (target != NONE) {
+            description.append(" -> ").append(isEnemyTarget(action) ? "enemy " : "friendly ");
+
+            if (target == LEADER)
+                description.append("leader");
+            else
+                description.append(target);
+        }
+
+        return description.toString();
+    }
+
+    /**
+     * This enum contains all kinds of actions a player can take.
+     */
+    public enum Kind {
+        /**
+         * Use a card from hand.
+         *
+         * @see GameEngine#playCard(Card)
+         */
+        PLAY_CARD,
+        /**
+         * Attack an enemy follower.
+         *
+         * @see GameEngine#attack(Follower, Follower)
+         */
+        ATTACK_FOLLOWER,
+        /**
+         * Attack the enemy leader.
+         *
+         * @see GameEngine#attackLeader(Follower, Player)
+         */
+        ATTACK_LEADER,
+        /**
+         * Evolve a friendly follower.
+         *
+         * @see GameEngine#evolve(Follower)
+         */
+        EVOLVE,
+        /**
+         * End the current round.
+         *
+         * @see GameEngine#endRound()
+         */
+        END_ROUND,
+        /**
+         * Select the target of the pending effect.
+         *
+         * @see GameEngine#selectTarget(Card, Player)
+         */
+        SELECT_TARGET
+    }
+}
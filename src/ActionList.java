@@ -0,0 +1,93 @@
+import java.util.Arrays;
+
+/**
+ * This class is a reusable buffer of {@linkplain Action packed actions}. It is filled by {@linkplain
+ * GameEngine#getLegalActions(ActionList)} and an action in it is carried out through {@linkplain
+ * GameEngine#perform(int)}.
+ *
+ * <p>The actions are stored in a primitive array that is allocated once, so refilling the buffer does not allocate
+ * anything. The array only grows if an action is added to a full buffer.</p>
+ *
+ * @see Action
+ * @see GameEngine#getLegalActions(ActionList)
+ */
+public final class ActionList {
+    /**
+     * The number of actions the buffer holds without growing. It is more than the number of legal actions of any
+     * position: a full hand, 5 followers each attacking 5 enemy followers and the leader, evolving and ending the round.
+     */
+    private static final int DEFAULT_CAPACITY = 64;
+    private int[] actions;
+    private int size;
+
+    /**
+     * The constructor allocates an empty buffer.
+     */
+    public ActionList() {
+        actions = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds an action to the buffer.
+     *
+     * @param action the packed action
+     */
+    void add(int action) {
+        if (size == actions.length)
+            actions = Arrays.copyOf(actions, size * 2);
+
+        actions[size++] = action;
+    }
+
+    /**
+     * Removes all actions from the buffer. The array is kept for reuse.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return the number of actions in the buffer
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there is no action in the buffer, false otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @param index the index of the action
+     * @return the packed action
+     * @throws IndexOutOfBoundsException if there is no action at the index
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("ACTION " + index + " NOT FOUND");
+
+        return actions[index];
+    }
+
+    /**
+     * @param action the packed action
+     * @return true if the buffer contains the action, false otherwise
+     */
+    public boolean contains(int action) {
+        for (int n = 0; n < size; n++)
+            if (actions[n] == action)
+                return true;
+
+        return false;
+    }
+
+    /**
+     * @return a new array of all packed actions in the buffer
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(actions, size);
+    }
+}
@@ -1,5 +1,3 @@
-import java.awt.*;
-
 /**
  * This class represent an individual card of type Amulet. An amulet is a card that exists on the field. There are two
  * types of amulets - ones with a countdown and ones without. Amulets with a countdown will have its countdown decreases
@@ -11,6 +9,7 @@ import java.awt.*;
  * if the card is destroyed or not.</p>
  */
 final class Amulet extends Card {
+    private static final int COUNT_DOWN = FIRST_SUBCLASS_FIELD, ALIVE = FIRST_SUBCLASS_FIELD + 1;
     private final int ORIGINAL_COUNT_DOWN;
     private int countDown;
     private boolean isCountDown, isAlive;
@@ -18,17 +17,12 @@ final class Amulet extends Card {
     /**
      * The constructor runs the {@linkplain Card}'s constructor first and then initializes the countdown statuses.
      *
-     * @param nme      amulet's name
-     * @param lead     amulet's leader
-     * @param cst      amulet's cost
-     * @param rar      amulet's rarity
-     * @param handImg  amulet's hand image
-     * @param fieldImg amulet's field image
-     * @param cd       amulet's countdown, 0 if it does not have one
-     * @param effects  amulet's effects
+     * @param definition the definition of the amulet provided by {@linkplain CardLib}. Its countdown is 0 if it does
+     *                   not have one
      */
-    Amulet(String nme, String lead, int cst, String rar, Image handImg, Image fieldImg, int cd, String effects) {
-        super("AMULET", nme, lead, cst, rar, handImg, fieldImg, effects, false);
+    Amulet(CardDefinition definition) {
+        super(definition);
+        int cd = definition.getCountDown();
 
         if (cd <= 0) {
             isCountDown = false;
@@ -40,6 +34,25 @@ final class Amulet extends Card {
 
         ORIGINAL_COUNT_DOWN = countDown;
         isAlive = true;
+        rehash();
+    }
+
+    /**
+     * The copy constructor copies the countdown statuses of another amulet.
+     *
+     * @param other the amulet to be copied
+     */
+    private Amulet(Amulet other) {
+        super(other);
+        ORIGINAL_COUNT_DOWN = other.ORIGINAL_COUNT_DOWN;
+        countDown = other.countDown;
+        isCountDown = other.isCountDown;
+        isAlive = other.isAlive;
+    }
+
+    @Override
+    Card copy() {
+        return new Amulet(this);
     }
 
     /**
@@ -51,6 +64,7 @@ final class Amulet extends Card {
      */
     public void decreaseCountDown(int amount) {
         if (isCountDown) {
+            journal(COUNT_DOWN, countDown);
             countDown -= amount;
         } else {
             throw new IllegalStateException("Amulet is not a count down type!");
@@ -58,8 +72,11 @@ final class Amulet extends Card {
 
         if (countDown <= 0) {
             countDown = 0;
+            journal(ALIVE, isAlive ? 1 : 0);
             isAlive = false;
         }
+
+        rehash();
     }
 
     /**
@@ -94,7 +111,30 @@ final class Amulet extends Card {
      * Destroys the amulet instantly
      */
     public void destroy() {
+        journal(ALIVE, isAlive ? 1 : 0);
         isAlive = false;
+        rehash();
+    }
+
+    @Override
+    long computeHashKey() {
+        return Zobrist.key(super.computeHashKey(), (long) countDown << 1 | (isAlive ? 1 : 0));
+    }
+
+    @Override
+    void restoreField(int field, int value, Object reference) {
+        switch (field) {
+            case COUNT_DOWN:
+                countDown = value;
+                break;
+
+            case ALIVE:
+                isAlive = value != 0;
+                break;
+
+            default:
+                super.restoreField(field, value, reference);
+        }
     }
 
 }
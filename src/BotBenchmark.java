@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+
+/**
+ * This class compares the {@linkplain MctsBot.Parallelism parallelism modes} of {@linkplain MctsBot} for a number of
+ * search budgets and picks the better one for each budget.
+ *
+ * <p>The benchmark has two parts. It first measures the playouts per second of both modes at 1, 4, 16 and 64 threads,
+ * by searching the same sample of midgame positions once per mode and number of threads. It then plays matches
+ * between the two modes on all available processors, with the bots taking turns in the first seat, and picks the mode
+ * that wins more matches. A tie goes to the mode with more playouts per second. Playouts per second alone do not decide,
+ * since root parallelism repeats the work near the root on every thread and tree parallelism loses some playouts to
+ * contention and virtual loss, so a mode with fewer playouts may still play better.</p>
+ *
+ * <p>All positions and matches are seeded from the benchmark seed, but the bots search for a wall-clock budget, so the
+ * results vary with the load of the machine.</p>
+ *
+ * <p>Usage: {@code java BotBenchmark [budgets in milliseconds, comma separated] [matches per budget] [seed]}</p>
+ *
+ * @see MctsBot
+ */
+public final class BotBenchmark {
+    /**
+     * The numbers of threads the playouts per second are measured at.
+     */
+    private static final int[] THREADS = {1, 4, 16, 64};
+    /**
+     * The number of positions the playouts per second are measured on.
+     */
+    private static final int POSITIONS = 8;
+    /**
+     * The number of cards each player draws before the game starts.
+     */
+    private static final int INITIAL_HAND_SIZE = 3;
+    /**
+     * The number of random actions played before a position is sampled, at most.
+     */
+    private static final int MAX_OPENING_ACTIONS = 40;
+    /**
+     * The number of actions after which a match is abandoned. It only guards against matches that never end.
+     */
+    private static final int MAX_ACTIONS = 5000;
+    /**
+     * The search budget per position of the searches that are not measured, in milliseconds.
+     */
+    private static final long WARM_UP_BUDGET = 200;
+    private final long SEED;
+    private final ArrayList<GameEngine> SAMPLES = new ArrayList<>();
+
+    /**
+     * The constructor samples the positions the playouts per second are measured on, by playing random actions from
+     * the start of seeded matches.
+     *
+     * @param seed the seed of the benchmark
+     */
+    BotBenchmark(long seed) {
+        SEED = seed;
+        SplittableRandom random = new SplittableRandom(seed);
+        ActionList actions = new ActionList();
+
+        while (SAMPLES.size() < POSITIONS) {
+            GameEngine engine = newMatch(random.split(), SAMPLES.size());
+            int opening = random.nextInt(MAX_OPENING_ACTIONS);
+
+            for (int n = 0; n < opening && engine.getLegalActions(actions) > 0; n++)
+                engine.perform(actions.get(random.nextInt(actions.size())));
+
+            if (engine.getLegalActions(actions) > 1)
+                SAMPLES.add(engine);
+        }
+    }
+
+    /**
+     * Starts a match between the preset decks. The leaders of the match are chosen by its index, so consecutive
+     * indices cover all pairings of Forestcraft and Swordcraft.
+     *
+     * @param random the random source of the match
+     * @param index  the index of the match
+     * @return the started match
+     */
+    private static GameEngine newMatch(SplittableRandom random, int index) {
+        Player p1 = new Player(index % 2 == 0 ? "Swordcraft" : "Forestcraft", Player.RoundOrder.OFFENSIVE,
+                random.split());
+        Player p2 = new Player(index % 4 < 2 ? "Swordcraft" : "Forestcraft", Player.RoundOrder.DEFENSIVE,
+                random.split());
+        GameEngine engine = new GameEngine(p1, p2, random.split());
+
+        p1.drawCards(INITIAL_HAND_SIZE);
+        p2.drawCards(INITIAL_HAND_SIZE);
+        engine.start();
+        return engine;
+    }
+
+    /**
+     * Searches every sampled position once and measures the playouts per second.
+     *
+     * @param budget      the search budget per position, in milliseconds
+     * @param threads     the number of threads of the bot
+     * @param parallelism the parallelism mode of the bot
+     * @return the number of playouts per second
+     */
+    double measurePlayouts(long budget, int threads, MctsBot.Parallelism parallelism) {
+        MctsBot bot = new MctsBot(budget, threads, MctsBot.Information.IMPERFECT, parallelism,
+                new SplittableRandom(SEED));
+        long playouts = 0, elapsed = 0;
+
+        for (GameEngine position : SAMPLES) {
+            long start = System.nanoTime();
+            bot.chooseAction(position);
+            elapsed += System.nanoTime() - start;
+            playouts += bot.getIterations();
+        }
+
+        bot.shutdown();
+        return playouts / (elapsed / 1e9);
+    }
+
+    /**
+     * Plays one match between a bot of each parallelism mode.
+     *
+     * @param budget  the search budget per action, in milliseconds
+     * @param threads the number of threads of each bot
+     * @param index   the index of the match, tree parallelism plays first in odd matches
+     * @return the mode of the winner, null if the match has no winner
+     */
+    MctsBot.Parallelism playMatch(long budget, int threads, int index) {
+        SplittableRandom random = new SplittableRandom(SEED + index);
+        GameEngine engine = newMatch(random.split(), index);
+        MctsBot root = new MctsBot(budget, threads, MctsBot.Information.IMPERFECT, MctsBot.Parallelism.ROOT,
+                random.split());
+        MctsBot tree = new MctsBot(budget, threads, MctsBot.Information.IMPERFECT, MctsBot.Parallelism.TREE,
+                random.split());
+        Player treePlayer = index % 2 == 0 ? engine.getPlayer2() : engine.getPlayer1();
+
+        for (int n = 0; n < MAX_ACTIONS && engine.isGameAlive(); n++) {
+            MctsBot bot = engine.getCurrentPlayer() == treePlayer ? tree : root;
+            engine.perform(bot.chooseAction(engine));
+        }
+
+        root.shutdown();
+        tree.shutdown();
+
+        if (engine.getWinner() == null)
+            return null;
+
+        return engine.getWinner() == treePlayer ? MctsBot.Parallelism.TREE : MctsBot.Parallelism.ROOT;
+    }
+
+    /**
+     * Runs the benchmark and prints its result.
+     *
+     * @param args the search budgets in milliseconds, comma separated (default 20,100), the number of matches per
+     *             budget (default 10) and the seed (default 0)
+     */
+    public static void main(String[] args) {
+        String[] budgets = (args.length > 0 ? args[0] : "20,100").split(",");
+        int matches = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        int processors = Runtime.getRuntime().availableProcessors();
+        BotBenchmark benchmark = new BotBenchmark(seed);
+
+        // The first searches run before the search code is compiled, so both modes are searched once unmeasured
+        for (MctsBot.Parallelism parallelism : MctsBot.Parallelism.values())
+            benchmark.measurePlayouts(WARM_UP_BUDGET, processors, parallelism);
+
+        for (String text : budgets) {
+            long budget = Long.parseLong(text.trim());
+            double rootPlayouts = 0, treePlayouts = 0;
+
+            System.out.printf("Budget %d ms%n", budget);
+
+            for (int threads : THREADS) {
+                double root = benchmark.measurePlayouts(budget, threads, MctsBot.Parallelism.ROOT);
+                double tree = benchmark.measurePlayouts(budget, threads, MctsBot.Parallelism.TREE);
+
+                if (threads <= processors) {
+                    rootPlayouts = root;
+                    treePlayouts = tree;
+                }
+
+                System.out.printf("  %2d threads: root %9.0f playouts/s, tree %9.0f playouts/s%n", threads, root,
+                        tree);
+            }
+
+            int rootWins = 0, treeWins = 0;
+
+            for (int n = 0; n < matches; n++) {
+                MctsBot.Parallelism winner = benchmark.playMatch(budget, processors, n);
+
+                if (winner == MctsBot.Parallelism.ROOT)
+                    rootWins++;
+                else if (winner == MctsBot.Parallelism.TREE)
+                    treeWins++;
+            }
+
+            MctsBot.Parallelism pick = rootWins != treeWins ? rootWins > treeWins ? MctsBot.Parallelism.ROOT :
+                    MctsBot.Parallelism.TREE : rootPlayouts >= treePlayouts ? MctsBot.Parallelism.ROOT :
+                    MctsBot.Parallelism.TREE;
+
+            System.out.printf("  %d matches on %d threads: root won %d, tree won %d%n", matches, processors, rootWins,
+                    treeWins);
+            System.out.printf("  Better mode for %d ms: %s%n", budget, pick);
+        }
+    }
+}
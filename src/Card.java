@@ -6,18 +6,33 @@ import java.awt.*;
  *
  * @see Leader
  */
-public abstract class Card {
+public abstract class Card implements Journaled {
     private static final int MAX_COST = 20, MIN_COST = 0;
-    private final String NAME;
-    private final int ORIGINAL_COST;
-    private final boolean IS_SPELL_BOOST, BOOST_COST;
+    /**
+     * The numbers of the fields recorded in the {@linkplain Journal}. Subclasses number their own fields from
+     * {@linkplain #FIRST_SUBCLASS_FIELD} upwards.
+     */
+    private static final int COST = 0, WHEN_END = 1, BOOST_AMOUNT = 2, ENTRANCE_ROUND = 3, EFFECT_TOGGLE = 4,
+            OWNER = 5;
+    static final int FIRST_SUBCLASS_FIELD = 6;
+    /**
+     * The effect Lucifer switches its round end effect to, see {@linkplain #changeEffect()}.
+     */
+    private static final Effect LUCIFER_WHEN_END = Effect.compile("DMGENELED@4");
+    /**
+     * The ID of Lucifer, the only card that changes its own effect.
+     */
+    private static final int LUCIFER = CardLib.getId("Lucifer");
+    /**
+     * The immutable data of the card shared by every copy of it. This class only keeps the per-game state.
+     */
+    private final CardDefinition DEFINITION;
     private int cost;
-    private Leader.LeaderType leader;
-    private Rarity rarity;
-    private Type type;
-    private Image handImage, fieldImage;
-    private String fanfare = null, lastword = null, whenOtherEnter = null, whenEntranceEnd = null,
-            whenAttack = null, whenFight = null, whenStart = null, whenEnd = null, whenEvolve = null;
+    /**
+     * The card's effect that is triggered at the end of a round. It is kept per card rather than read from {@linkplain
+     * #DEFINITION} as some cards are able to change it, see {@linkplain #changeEffect()}.
+     */
+    private Effect whenEnd;
     private int boostAmount = 0;
     /**
      * This variable tells whether if the current round is the card's first round on field (entrance round). It has a
@@ -33,97 +48,65 @@ public abstract class Card {
      * switch back to true when {@linkplain #resetEffectToggle()} is triggered.
      */
     private boolean effectToggle;
+    /**
+     * The journal that records changes to the card, null if changes are not recorded. It is set when the card is added
+     * to a card list with a journal, see {@linkplain CardList#setJournal(Journal)}.
+     */
+    private Journal journal;
+    /**
+     * The card list the card is currently in, null if it is not in any list. The list is notified whenever the
+     * {@linkplain #getHashKey() hash key} of the card changes.
+     */
+    private CardList owner;
+    /**
+     * The current hash key of the card, see {@linkplain #getHashKey()}.
+     */
+    private long hashKey;
 
     /**
-     * This top-level constructor initializes the card object's basic information
+     * This top-level constructor initializes the card object's per-game state from its definition
      *
-     * @param typ           string representation of the type of the card. It must match with one of the values in
-     *                      {@linkplain Type}
-     * @param nme           name of the card
-     * @param lead          string representation of the leader of the card. It must match with one of the values in
-     *                      {@linkplain Leader.LeaderType}
-     * @param cst           cost of the card
-     * @param rar           string representation of the rarity of the card. It must match with one of the values in
-     *                      {@linkplain Rarity}
-     * @param handImg       image of the card when the card is in hand
-     * @param fieldImg      image of the card when the card is on field
-     * @param efx           effects of the card. It may contain multiple effects. They are interpreted by {@linkplain
-     *                      EffectLib} later
-     * @param hasSpellBoost true if the card is one of the spell boost type, false otherwise
-     */
-    Card(String typ, String nme, String lead, int cst, String rar, Image handImg, Image fieldImg, String efx,
-         boolean hasSpellBoost) {
-        type = Type.valueOf(typ);
-        NAME = nme;
-        leader = Leader.LeaderType.valueOf(lead);
-        rarity = Rarity.valueOf(rar);
-        cost = cst;
-        ORIGINAL_COST = cst;
-        handImage = handImg;
-        fieldImage = fieldImg;
+     * @param definition the definition of the card provided by {@linkplain CardLib}
+     */
+    Card(CardDefinition definition) {
+        DEFINITION = definition;
+        cost = definition.getCost();
+        whenEnd = definition.getWhenEnd();
         isEntranceRound = true;
         effectToggle = true;
+    }
 
-        String[] effects = efx.split("\\+");
-
-        for (String effect : effects) {
-            String[] efxInfo = effect.split("=");
-
-            switch (efxInfo[0]) {
-                case "FANFARE":
-                    fanfare = efxInfo[1];
-                    break;
-
-                case "LSTWRD":
-                    lastword = efxInfo[1];
-                    break;
-
-                case "WETR":
-                    whenOtherEnter = efxInfo[1];
-                    break;
-
-                case "WATK":
-                    whenAttack = efxInfo[1];
-                    break;
-
-                case "WFIG":
-                    whenFight = efxInfo[1];
-                    break;
-
-                case "WSTA":
-                    whenStart = efxInfo[1];
-                    break;
-
-                case "WEND":
-                    whenEnd = efxInfo[1];
-                    break;
-
-                case "WEVO":
-                    whenEvolve = efxInfo[1];
-                    break;
-
-                case "WENTEND":
-                    whenEntranceEnd = efxInfo[1];
-                    break;
-            }
-        }
-
-        if (hasSpellBoost) {
-            IS_SPELL_BOOST = true;
-
-            BOOST_COST = efx.contains("BSTCST");
-        } else {
-            IS_SPELL_BOOST = false;
-            BOOST_COST = false;
-        }
+    /**
+     * This top-level copy constructor copies the per-game state of another card.
+     *
+     * @param other the card to be copied
+     */
+    Card(Card other) {
+        DEFINITION = other.DEFINITION;
+        cost = other.cost;
+        whenEnd = other.whenEnd;
+        boostAmount = other.boostAmount;
+        isEntranceRound = other.isEntranceRound;
+        effectToggle = other.effectToggle;
+        hashKey = other.hashKey;
     }
 
+    /**
+     * Creates an independent card with the same definition and the same per-game state as this card. The copy is not
+     * on any field.
+     *
+     * @return the copy of this card
+     */
+    abstract Card copy();
+
     /**
      * Triggered when some special effects are activated on the card. It sets {@linkplain #effectToggle} to false to
      * prevent unwanted multiple executions of the effects.
      */
     public void effectActivated() {
+        journal(EFFECT_TOGGLE, effectToggle ? 1 : 0);
         effectToggle = false;
+        rehash();
     }
 
     /**
@@ -137,73 +120,75 @@ public abstract class Card {
      * Reset {@linkplain #effectToggle} to true. Triggered for some once-a-round effects.
      */
     public void resetEffectToggle() {
+        journal(EFFECT_TOGGLE, effectToggle ? 1 : 0);
         effectToggle = true;
+        rehash();
     }
 
     /**
      * @return the card's effect that is triggered when any other follower enters the field.
      */
-    public String getWhenOtherEnter() {
-        return whenOtherEnter;
+    public Effect getWhenOtherEnter() {
+        return DEFINITION.getWhenOtherEnter();
     }
 
     /**
      * @return the card's effect that is triggered when it is evolved. It is only valid for {@linkplain Follower}, as
      * only followers can evolve.
      */
-    public String getWhenEvolve() {
-        return whenEvolve;
+    public Effect getWhenEvolve() {
+        return DEFINITION.getWhenEvolve();
     }
 
     /**
      * @return the original, unchanged cost of the card
      */
     public int getOrgCost() {
-        return ORIGINAL_COST;
+        return DEFINITION.getCost();
     }
 
     /**
      * @return the card's effect that is triggered upon usage. This is the only possible effect for {@linkplain Spell}.
      */
-    public String getFanfare() {
-        return fanfare;
+    public Effect getFanfare() {
+        return DEFINITION.getFanfare();
     }
 
     /**
      * @return the card's effect that is triggered when the card is dead/destroyed.
      */
-    public String getLastword() {
-        return lastword;
+    public Effect getLastword() {
+        return DEFINITION.getLastword();
     }
 
     /**
      * @return the card's effect that is triggered when it attacks. It is only valid for {@linkplain Follower}, as only
      * followers can attack.
      */
-    public String getWhenAttack() {
-        return whenAttack;
+    public Effect getWhenAttack() {
+        return DEFINITION.getWhenAttack();
     }
 
     /**
      * @return the card's effect that is triggered when it attacks an enemy follower. It is only valid for {@linkplain
      * Follower}, as only followers can attack.
      */
-    public String getWhenFight() {
-        return whenFight;
+    public Effect getWhenFight() {
+        return DEFINITION.getWhenFight();
     }
 
     /**
      * @return the card's effect that is triggered at the beginning of a new round.
      */
-    public String getWhenStart() {
-        return whenStart;
+    public Effect getWhenStart() {
+        return DEFINITION.getWhenStart();
     }
 
     /**
      * @return the card's effect that is triggered at the end of its entrance round.
      */
-    public String getWhenEntranceEnd() {
-        return whenEntranceEnd;
+    public Effect getWhenEntranceEnd() {
+        return DEFINITION.getWhenEntranceEnd();
     }
 
     /**
@@ -213,28 +198,41 @@ public abstract class Card {
      * @throws IllegalArgumentException when the current card is unable to change its own effect.
      */
     public void changeEffect() {
-        switch (NAME) {
-            case "Lucifer":
-                whenEnd = "DMGENELED@4";
-                break;
+        if (getId() != LUCIFER)
+            throw new IllegalArgumentException("ONLY CERTAIN CARDS ALLOW EFFECT CHANGE");
 
-            default:
-                throw new IllegalArgumentException("ONLY CERTAIN CARDS ALLOW EFFECT CHANGE");
-        }
+        journal(WHEN_END, whenEnd);
+        whenEnd = LUCIFER_WHEN_END;
+        rehash();
     }
 
     /**
      * @return the card's effect that is triggered at the end of a round.
      */
-    public String getWhenEnd() {
+    public Effect getWhenEnd() {
         return whenEnd;
     }
 
+    /**
+     * @return the immutable definition of the card shared by every copy of it
+     */
+    CardDefinition getDefinition() {
+        return DEFINITION;
+    }
+
+    /**
+     * @return the ID of the card in {@linkplain CardLib}. Two cards are copies of the same card if and only if their
+     * IDs are equal
+     */
+    public int getId() {
+        return DEFINITION.getId();
+    }
+
     /**
      * @return name of the card
      */
     public String getName() {
-        return NAME;
+        return DEFINITION.getName();
     }
 
     /**
@@ -248,21 +246,21 @@ public abstract class Card {
      * @return rarity of the card
      */
     public Rarity getRarity() {
-        return rarity;
+        return DEFINITION.getRarity();
     }
 
     /**
      * @return the leader type of the card
      */
     public Leader.LeaderType getLeader() {
-        return leader;
+        return DEFINITION.getLeader();
     }
 
     /**
      * @return the type of the card
      */
     public Type getType() {
-        return type;
+        return DEFINITION.getType();
     }
 
     /**
@@ -271,8 +269,10 @@ public abstract class Card {
      * @param change the amount of cost to be reduced
      */
     private void reduceCost(int change) {
+        journal(COST, cost);
         cost -= change;
         if (cost < MIN_COST) cost = MIN_COST;
+        rehash();
     }
 
     /**
@@ -284,9 +284,11 @@ public abstract class Card {
      * @see #MAX_COST
      */
     public void changeCost(int target_cost) {
-        if (target_cost <= MAX_COST && target_cost >= MIN_COST)
+        if (target_cost <= MAX_COST && target_cost >= MIN_COST) {
+            journal(COST, cost);
             cost = target_cost;
-        else
+            rehash();
+        } else
             throw new IllegalArgumentException("COST EXCEEDED MAXIMUM RANGE");
     }
 
@@ -294,14 +296,14 @@ public abstract class Card {
      * @return image of the card when it is in hand
      */
     public Image getHandImage() {
-        return handImage;
+        return DEFINITION.getHandImage();
     }
 
     /**
      * @return image of the card when it is on field
      */
     public Image getFieldImage() {
-        return fieldImage;
+        return DEFINITION.getFieldImage();
     }
 
     /**
@@ -311,12 +313,15 @@ public abstract class Card {
      * @throws IllegalStateException if the card is not spell-boost type
      */
     public void boost() {
-        if (IS_SPELL_BOOST) {
+        if (DEFINITION.isSpellBoost()) {
 
-            if (BOOST_COST)
+            if (DEFINITION.isBoostCost())
                 reduceCost(1);
-            else
+            else {
+                journal(BOOST_AMOUNT, boostAmount);
                 boostAmount++;
+                rehash();
+            }
 
         } else {
             throw new IllegalStateException("YOU CAN ONLY BOOST SPELLBOOST CARDS");
@@ -327,7 +332,7 @@ public abstract class Card {
      * @return true if the card is spell-boost type, false otherwise
      */
     public boolean isSpellBoost() {
-        return IS_SPELL_BOOST;
+        return DEFINITION.isSpellBoost();
     }
 
     /**
@@ -336,7 +341,7 @@ public abstract class Card {
      * @throws IllegalStateException if the card is boost-cost type or the card is not spell-boost type
      */
     public int getBoostAmount() {
-        if (IS_SPELL_BOOST && !BOOST_COST)
+        if (DEFINITION.isSpellBoost() && !DEFINITION.isBoostCost())
             return boostAmount;
         else
             throw new IllegalStateException("Only non-cost boost spellboost cards are allowed to have boost amount");
@@ -348,7 +353,9 @@ public abstract class Card {
      * @see #isEntranceRound
      */
     public void passEntranceRound() {
+        journal(ENTRANCE_ROUND, isEntranceRound ? 1 : 0);
         isEntranceRound = false;
+        rehash();
     }
 
     /**
@@ -366,6 +373,140 @@ public abstract class Card {
      */
     abstract boolean isAlive();
 
+    /**
+     * The hash key of a card covers its identity and all of its state that matters for the rest of the game. Cards
+     * whose keys are equal are interchangeable.
+     *
+     * @return the {@linkplain Zobrist} key of the card's current state
+     */
+    final long getHashKey() {
+        return hashKey;
+    }
+
+    /**
+     * Computes the hash key from the current state. Subclasses combine the key of this method with their own state.
+     * Besides cost and boost amount it covers the effect toggle, the entrance round and whether the round end effect
+     * has been changed, as all of them decide which effects the card triggers.
+     *
+     * @return the {@linkplain Zobrist} key of the card's current state
+     * @see #getHashKey()
+     */
+    long computeHashKey() {
+        long stats = Zobrist.key(getId(), (long) cost << 32 | boostAmount & 0xFFFFFFFFL);
+        return Zobrist.key(stats, (effectToggle ? 1 : 0) | (isEntranceRound ? 2 : 0) |
+                (whenEnd != DEFINITION.getWhenEnd() ? 4 : 0));
+    }
+
+    /**
+     * Updates the hash key and reports the change to the list the card is in. Every change to the state covered by
+     * {@linkplain #computeHashKey()} is to be followed by this method, and every constructor that does not copy
+     * another card ends with it.
+     */
+    final void rehash() {
+        long key = computeHashKey();
+
+        if (owner != null)
+            owner.rehash(hashKey, key);
+
+        hashKey = key;
+    }
+
+    /**
+     * @return the card list the card is currently in, null if it is not in any list
+     */
+    final CardList getOwner() {
+        return owner;
+    }
+
+    /**
+     * Changes the list the card reports its hash key changes to. The change is recorded in the journal, so a rollback
+     * hands the card back to the exact list it belonged to, even while the card is briefly in two lists.
+     *
+     * @param list the list the card has entered, null if it has left its list
+     */
+    final void setOwner(CardList list) {
+        journal(OWNER, owner);
+        owner = list;
+    }
+
+    /**
+     * @param journal the journal to record changes to the card, null to stop recording
+     */
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Records the old value of an int field in the journal of the card, if there is one.
+     *
+     * @param field the number of the field
+     * @param value the value before the change
+     */
+    final void journal(int field, int value) {
+        if (journal != null)
+            journal.record(this, field, value);
+    }
+
+    /**
+     * Records the old value of a reference field in the journal of the card, if there is one.
+     *
+     * @param field     the number of the field
+     * @param reference the value before the change
+     */
+    final void journal(int field, Object reference) {
+        if (journal != null)
+            journal.record(this, field, 0, reference);
+    }
+
+    /**
+     * Restores a field and updates the hash of the list the card is in.
+     */
+    @Override
+    public final void restore(int field, int value, Object reference) {
+        restoreField(field, value, reference);
+        rehash();
+    }
+
+    /**
+     * Writes the recorded value back to a field. Subclasses restore their own fields and leave the others to this
+     * method.
+     *
+     * @param field     the number of the field
+     * @param value     the recorded int value
+     * @param reference the recorded reference value
+     * @see Journaled#restore(int, int, Object)
+     */
+    void restoreField(int field, int value, Object reference) {
+        switch (field) {
+            case COST:
+                cost = value;
+                break;
+
+            case WHEN_END:
+                whenEnd = (Effect) reference;
+                break;
+
+            case BOOST_AMOUNT:
+                boostAmount = value;
+                break;
+
+            case ENTRANCE_ROUND:
+                isEntranceRound = value != 0;
+                break;
+
+            case EFFECT_TOGGLE:
+                effectToggle = value != 0;
+                break;
+
+            case OWNER:
+                owner = (CardList) reference;
+                break;
+
+            default:
+                throw new IllegalArgumentException("UNKNOWN CARD FIELD " + field);
+        }
+    }
+
     /**
      * This enum contains all possible rarities for a card. It also provides the string name for each rarity.
      */
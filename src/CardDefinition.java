@@ -0,0 +1,324 @@
+import java.awt.*;
+
+/**
+ * This class holds the immutable data of one card in the library: its name, leader, cost, rarity, base stats, compiled
+ * effects and image keys. There is exactly one definition per card, parsed from allCards.txt by {@linkplain CardLib}
+ * when the library is loaded.
+ *
+ * <p>Card objects are created from their definition through {@linkplain #newInstance()}. A card only stores the state
+ * that can change during a game (current cost, health, attack, keywords, ...) and refers back to its definition for
+ * everything else, so creating a card does no string parsing and every copy of a card shares the same data.</p>
+ *
+ * @see CardLib#getDefinition(int)
+ * @see Card
+ */
+final class CardDefinition {
+    /**
+     * The dense ID of the card assigned by {@linkplain CardLib}. Cards are compared by this ID rather than by name.
+     */
+    private final int ID;
+    private final String NAME;
+    private final Card.Type TYPE;
+    private final Leader.LeaderType LEADER;
+    private final int COST;
+    private final Card.Rarity RARITY;
+    private final boolean IS_SPELL_BOOST, BOOST_COST;
+    private final Effect FANFARE, LASTWORD, WHEN_OTHER_ENTER, WHEN_ENTRANCE_END, WHEN_ATTACK, WHEN_FIGHT, WHEN_START,
+            WHEN_END, WHEN_EVOLVE;
+    /**
+     * The keys of the card images in {@linkplain ImageLib}. They are null for cards that have no image. The images are
+     * only looked up when they are requested, so a game without GUI never touches {@linkplain ImageLib}.
+     */
+    private final String HAND_IMAGE_KEY, FIELD_IMAGE_KEY, EVOLVED_IMAGE_KEY;
+    private final Trait.SwordCraftTrait SWORD_CRAFT_TRAIT;
+    private final int HEALTH, ATTACK, EVOLVE_HEALTH_ADD, EVOLVE_ATTACK_ADD;
+    private final AttackStatus ATTACK_STATUS;
+    /**
+     * The keywords of the follower as a combination of {@linkplain Follower.SimpleEffects#MASK simple effect masks}.
+     */
+    private final int KEYWORDS;
+    private final int COUNT_DOWN;
+
+    /**
+     * The constructor interprets one line of allCards.txt, which has been split into its attributes. The columns are
+     * {@code ID Kind Name Class Cost Rarity} followed by the kind specific ones:
+     *
+     * <ul>
+     * <li>{@code F}: {@code Sword DEF ATK EVODEF EVOATK atkstat bane ward drain ambush untargetable efx spellboost}</li>
+     * <li>{@code A}: {@code countdown efx}</li>
+     * <li>{@code S}: {@code efx spellboost}</li>
+     * </ul>
+     *
+     * <p>An ID of {@code *} means that the card has no images. All effects of the card must have been compiled by
+     * {@linkplain CardLib} already.</p>
+     *
+     * @param cardId the dense ID assigned to the card
+     * @param info   the card line split into its attributes
+     * @throws IllegalArgumentException if the kind of the card does not exist
+     */
+    CardDefinition(int cardId, String[] info) {
+        String id = info[0].equals("*") ? null : info[0];
+        ID = cardId;
+        NAME = info[2];
+        LEADER = Leader.LeaderType.valueOf(info[3]);
+        COST = Integer.parseInt(info[4]);
+        RARITY = Card.Rarity.valueOf(info[5]);
+        String efx;
+        boolean hasSpellBoost;
+
+        switch (info[1]) {
+            case "F":
+                TYPE = Card.Type.FOLLOWER;
+                HAND_IMAGE_KEY = id == null ? null : id + "A";
+                FIELD_IMAGE_KEY = HAND_IMAGE_KEY;
+                EVOLVED_IMAGE_KEY = id == null ? null : id + "B";
+                SWORD_CRAFT_TRAIT = Trait.SwordCraftTrait.valueOf(info[6]);
+                HEALTH = Integer.parseInt(info[7]);
+                ATTACK = Integer.parseInt(info[8]);
+                EVOLVE_HEALTH_ADD = Integer.parseInt(info[9]);
+                EVOLVE_ATTACK_ADD = Integer.parseInt(info[10]);
+                ATTACK_STATUS = AttackStatus.valueOf(info[11]);
+                KEYWORDS = (Boolean.parseBoolean(info[12]) ? Follower.SimpleEffects.BANE.MASK : 0) |
+                        (Boolean.parseBoolean(info[13]) ? Follower.SimpleEffects.WARD.MASK : 0) |
+                        (Boolean.parseBoolean(info[14]) ? Follower.SimpleEffects.DRAIN.MASK : 0) |
+                        (Boolean.parseBoolean(info[15]) ? Follower.SimpleEffects.AMBUSH.MASK : 0) |
+                        (Boolean.parseBoolean(info[16]) ? Follower.SimpleEffects.UNTARGETABLE.MASK : 0) |
+                        (ATTACK_STATUS == AttackStatus.STORM ? Follower.SimpleEffects.STORM.MASK : 0) |
+                        (ATTACK_STATUS == AttackStatus.RUSH ? Follower.SimpleEffects.RUSH.MASK : 0);
+                COUNT_DOWN = 0;
+                efx = info[17];
+                hasSpellBoost = Boolean.parseBoolean(info[18]);
+                break;
+
+            case "A":
+                TYPE = Card.Type.AMULET;
+                HAND_IMAGE_KEY = id;
+                FIELD_IMAGE_KEY = id;
+                EVOLVED_IMAGE_KEY = null;
+                SWORD_CRAFT_TRAIT = null;
+                HEALTH = ATTACK = EVOLVE_HEALTH_ADD = EVOLVE_ATTACK_ADD = 0;
+                ATTACK_STATUS = null;
+                KEYWORDS = 0;
+                COUNT_DOWN = Integer.parseInt(info[6]);
+                efx = info[7];
+                hasSpellBoost = false;
+                break;
+
+            case "S":
+                TYPE = Card.Type.SPELL;
+                HAND_IMAGE_KEY = id;
+                FIELD_IMAGE_KEY = id;
+                EVOLVED_IMAGE_KEY = null;
+                SWORD_CRAFT_TRAIT = null;
+                HEALTH = ATTACK = EVOLVE_HEALTH_ADD = EVOLVE_ATTACK_ADD = 0;
+                ATTACK_STATUS = null;
+                KEYWORDS = 0;
+                COUNT_DOWN = 0;
+                efx = info[6];
+                hasSpellBoost = Boolean.parseBoolean(info[7]);
+                break;
+
+            default:
+                throw new IllegalArgumentException("CARD TYPE " + info[1] + " NOT FOUND");
+        }
+
+        Effect fanfare = null, lastword = null, whenOtherEnter = null, whenEntranceEnd = null, whenAttack = null,
+                whenFight = null, whenStart = null, whenEnd = null, whenEvolve = null;
+
+        for (String effect : efx.split("\\+")) {
+            String[] efxInfo = effect.split("=");
+
+            switch (efxInfo[0]) {
+                case "FANFARE":
+                    fanfare = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "LSTWRD":
+                    lastword = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WETR":
+                    whenOtherEnter = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WATK":
+                    whenAttack = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WFIG":
+                    whenFight = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WSTA":
+                    whenStart = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WEND":
+                    whenEnd = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WEVO":
+                    whenEvolve = CardLib.getEffect(efxInfo[1]);
+                    break;
+
+                case "WENTEND":
+                    whenEntranceEnd = CardLib.getEffect(efxInfo[1]);
+                    break;
+            }
+        }
+
+        FANFARE = fanfare;
+        LASTWORD = lastword;
+        WHEN_OTHER_ENTER = whenOtherEnter;
+        WHEN_ENTRANCE_END = whenEntranceEnd;
+        WHEN_ATTACK = whenAttack;
+        WHEN_FIGHT = whenFight;
+        WHEN_START = whenStart;
+        WHEN_END = whenEnd;
+        WHEN_EVOLVE = whenEvolve;
+        IS_SPELL_BOOST = hasSpellBoost;
+        BOOST_COST = hasSpellBoost && efx.contains("BSTCST");
+    }
+
+    /**
+     * This method creates a new, independent card object of this definition.
+     *
+     * @return a new card of this definition
+     */
+    Card newInstance() {
+        switch (TYPE) {
+            case FOLLOWER:
+                return new Follower(this);
+
+            case AMULET:
+                return new Amulet(this);
+
+            case SPELL:
+                return new Spell(this);
+
+            default:
+                throw new IllegalStateException("CARD TYPE " + TYPE + " NOT FOUND");
+        }
+    }
+
+    int getId() {
+        return ID;
+    }
+
+    String getName() {
+        return NAME;
+    }
+
+    Card.Type getType() {
+        return TYPE;
+    }
+
+    Leader.LeaderType getLeader() {
+        return LEADER;
+    }
+
+    int getCost() {
+        return COST;
+    }
+
+    Card.Rarity getRarity() {
+        return RARITY;
+    }
+
+    boolean isSpellBoost() {
+        return IS_SPELL_BOOST;
+    }
+
+    boolean isBoostCost() {
+        return BOOST_COST;
+    }
+
+    Effect getFanfare() {
+        return FANFARE;
+    }
+
+    Effect getLastword() {
+        return LASTWORD;
+    }
+
+    Effect getWhenOtherEnter() {
+        return WHEN_OTHER_ENTER;
+    }
+
+    Effect getWhenEntranceEnd() {
+        return WHEN_ENTRANCE_END;
+    }
+
+    Effect getWhenAttack() {
+        return WHEN_ATTACK;
+    }
+
+    Effect getWhenFight() {
+        return WHEN_FIGHT;
+    }
+
+    Effect getWhenStart() {
+        return WHEN_START;
+    }
+
+    Effect getWhenEnd() {
+        return WHEN_END;
+    }
+
+    Effect getWhenEvolve() {
+        return WHEN_EVOLVE;
+    }
+
+    /**
+     * @return the hand image of the card, null if the card has no image
+     */
+    Image getHandImage() {
+        return HAND_IMAGE_KEY == null ? null : ImageLib.getHandImage(HAND_IMAGE_KEY);
+    }
+
+    /**
+     * @return the field image of the card, null if the card has no image
+     */
+    Image getFieldImage() {
+        return FIELD_IMAGE_KEY == null ? null : ImageLib.getFieldImage(FIELD_IMAGE_KEY);
+    }
+
+    /**
+     * @return the field image of the evolved follower, null if the card has no image or is not a follower
+     */
+    Image getEvolvedImage() {
+        return EVOLVED_IMAGE_KEY == null ? null : ImageLib.getFieldImage(EVOLVED_IMAGE_KEY);
+    }
+
+    Trait.SwordCraftTrait getSwordCraftTrait() {
+        return SWORD_CRAFT_TRAIT;
+    }
+
+    int getHealth() {
+        return HEALTH;
+    }
+
+    int getAttack() {
+        return ATTACK;
+    }
+
+    int getEvolveHealthAdd() {
+        return EVOLVE_HEALTH_ADD;
+    }
+
+    int getEvolveAttackAdd() {
+        return EVOLVE_ATTACK_ADD;
+    }
+
+    AttackStatus getAttackStatus() {
+        return ATTACK_STATUS;
+    }
+
+    int getKeywords() {
+        return KEYWORDS;
+    }
+
+    int getCountDown() {
+        return COUNT_DOWN;
+    }
+}
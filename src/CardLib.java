@@ -1,3 +1,4 @@
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Scanner;
 
@@ -5,8 +6,9 @@ import java.util.Scanner;
  * This class contains detailed information for every card in the game. All card attributes are stored in allCards.txt
  * in a special format and is to be interpreted by the static initializer of this class.
  *
- * <p>This class only to be accessed in a static way. The card objects provided by this class are individually created
- * and initialized upon request, which makes every card object completely independent.</p>
+ * <p>This class only to be accessed in a static way. Each card line is parsed once into a {@linkplain CardDefinition}
+ * when the class is loaded. The card objects provided by this class are individually created from their definition upon
+ * request, which makes every card object completely independent while the immutable card data is shared.</p>
  *
  * @see Card
  */
@@ -17,10 +19,24 @@ public abstract class CardLib {
      * be fetched and passed to the {@linkplain EffectLib}.
      */
     public static final Card CARD_REPRESENT_LEADER;
-    private static final HashMap<String, String> allCardInfo = new HashMap<>();
+    /**
+     * The definitions of all cards, indexed by their ID. IDs are assigned densely from 0 in the order the cards appear
+     * in allCards.txt.
+     */
+    private static final CardDefinition[] allCardInfo;
+    /**
+     * The perfect hash index from card names to card IDs.
+     */
+    private static final NameIndex nameIndex;
+    /**
+     * Every effect string that appears in allCards.txt, compiled once when this class is loaded. Cards with the same
+     * effect share the same {@linkplain Effect} object.
+     */
+    private static final HashMap<String, Effect> allEffects = new HashMap<>();
 
     static {
         Scanner scanner = new Scanner(CardLib.class.getResourceAsStream("allCards.txt"));
+        ArrayList<String[]> cardData = new ArrayList<>();
 
         while (scanner.hasNextLine()) {
             String nextCardData = scanner.nextLine();
@@ -30,58 +46,254 @@ public abstract class CardLib {
                 continue;
             }
 
-            allCardInfo.put(nextCardData.split(" ")[2], nextCardData);
+            String[] info = nextCardData.split(" ");
+
+            //  skip the column header
+            if (info[0].equals("ID")) {
+                continue;
+            }
+
+            cardData.add(info);
         }
 
-        CARD_REPRESENT_LEADER = new Follower("LEADER", "NEUTRAL", 0, "LEGENDARY", null,
-                null, "COMMANDER", 100, 100, 100, 100, null,
-                "STORM", true, true, true, true, true, "",
-                false);
-    }
+        //  all IDs must be known before effects are compiled, as effects refer to cards by ID
+        String[] names = new String[cardData.size()];
+
+        for (int id = 0; id < names.length; id++)
+            names[id] = cardData.get(id)[2];
 
+        nameIndex = new NameIndex(names);
+        allCardInfo = new CardDefinition[names.length];
+
+        for (int id = 0; id < names.length; id++) {
+            compileEffects(cardData.get(id));
+            allCardInfo[id] = new CardDefinition(id, cardData.get(id));
+        }
+
+        CARD_REPRESENT_LEADER = new CardDefinition(-1, ("* F LEADER NEUTRAL 0 LEGENDARY COMMANDER 100 100 100 100 " +
+                "STORM true true true true true * false").split(" ")).newInstance();
+    }
 
     /**
-     * This method provides independent card objects according to the given name of the card.
+     * This method compiles all effects of a card line read from allCards.txt into {@linkplain #allEffects}.
      *
-     * @param cardName the name of the card
-     * @return an independent card object of the requested card
-     * @throws IllegalArgumentException when the card name provided does not exist, or an error occurred when reading
-     *                                  the file
+     * @param info the card line split into its attributes
      */
-    public static Card getCard(String cardName) {
-        if (!allCardInfo.containsKey(cardName))
-            throw new IllegalArgumentException("NO SUCH CARD FOUND IN THE LIBRARY: " + cardName);
-
-        String[] info = allCardInfo.get(cardName).split(" ");
-        Card card;
+    private static void compileEffects(String[] info) {
+        String efx;
 
         switch (info[1]) {
             case "F":
-                card = new Follower(info[2], info[3], Integer.parseInt(info[4]), info[5],
-                        ImageLib.getHandImage(info[0] + "A"), ImageLib.getFieldImage(info[0] + "A"), info[6],
-                        Integer.parseInt(info[7]), Integer.parseInt(info[8]), Integer.parseInt(info[9]),
-                        Integer.parseInt(info[10]), ImageLib.getFieldImage(info[0] + "B"), info[11],
-                        Boolean.parseBoolean(info[12]), Boolean.parseBoolean(info[13]),
-                        Boolean.parseBoolean(info[14]), Boolean.parseBoolean(info[15]), Boolean.parseBoolean(info[16]),
-                        info[17], Boolean.parseBoolean(info[18])
-                );
+                efx = info[17];
                 break;
 
             case "A":
-                card = new Amulet(info[2], info[3], Integer.parseInt(info[4]), info[5], ImageLib.getHandImage(info[0]),
-                        ImageLib.getFieldImage(info[0]), Integer.parseInt(info[6]), info[7]);
+                efx = info[7];
                 break;
 
             case "S":
-                card = new Spell(info[2], info[3], Integer.parseInt(info[4]), info[5], ImageLib.getHandImage(info[0]),
-                        ImageLib.getFieldImage(info[0]), info[6], Boolean.parseBoolean(info[7]));
+                efx = info[6];
                 break;
 
             default:
-                throw new IllegalArgumentException("CARD TYPE " + info[1] + " NOT FOUND");
+                return;
         }
 
-        return card;
+        for (String effect : efx.split("\\+")) {
+            String[] efxInfo = effect.split("=");
+
+            if (efxInfo.length > 1 && !allEffects.containsKey(efxInfo[1]))
+                allEffects.put(efxInfo[1], Effect.compile(efxInfo[1]));
+        }
+    }
+
+    /**
+     * This method provides the compiled form of an effect string that appears in allCards.txt.
+     *
+     * @param effect the effect string
+     * @return the compiled effect
+     * @throws IllegalArgumentException when the effect does not appear in the library
+     */
+    static Effect getEffect(String effect) {
+        Effect compiled = allEffects.get(effect);
+
+        if (compiled == null)
+            throw new IllegalArgumentException("NO SUCH EFFECT FOUND IN THE LIBRARY: " + effect);
+
+        return compiled;
+    }
+
+    /**
+     * This method provides independent card objects according to the given name of the card.
+     *
+     * @param cardName the name of the card
+     * @return an independent card object of the requested card
+     * @throws IllegalArgumentException when the card name provided does not exist
+     */
+    public static Card getCard(String cardName) {
+        return allCardInfo[getId(cardName)].newInstance();
+    }
+
+    /**
+     * This method provides independent card objects according to the given ID of the card.
+     *
+     * @param cardId the ID of the card
+     * @return an independent card object of the requested card
+     * @throws IllegalArgumentException when the card ID provided does not exist
+     */
+    public static Card getCard(int cardId) {
+        return getDefinition(cardId).newInstance();
+    }
+
+    /**
+     * This method provides the shared, immutable definition of a card.
+     *
+     * @param cardId the ID of the card
+     * @return the definition of the requested card
+     * @throws IllegalArgumentException when the card ID provided does not exist
+     */
+    static CardDefinition getDefinition(int cardId) {
+        if (cardId < 0 || cardId >= allCardInfo.length)
+            throw new IllegalArgumentException("NO SUCH CARD ID FOUND IN THE LIBRARY: " + cardId);
+
+        return allCardInfo[cardId];
+    }
+
+    /**
+     * This method looks up the ID of a card. Cards are to be referred to by their ID wherever possible, so this method
+     * is mostly used when card names are read from text, e.g. when effects are compiled.
+     *
+     * @param cardName the name of the card
+     * @return the ID of the card
+     * @throws IllegalArgumentException when the card name provided does not exist
+     */
+    public static int getId(String cardName) {
+        int id = nameIndex.get(cardName);
+
+        if (id < 0)
+            throw new IllegalArgumentException("NO SUCH CARD FOUND IN THE LIBRARY: " + cardName);
+
+        return id;
+    }
+
+    /**
+     * @return the number of cards in the library. Valid card IDs range from 0 to this value exclusively
+     */
+    public static int getCardCount() {
+        return allCardInfo.length;
+    }
+
+    /**
+     * This class is a static perfect hash table from card names to card IDs, built with the hash-and-displace method.
+     * Names are first hashed into small buckets. Each bucket then gets its own displacement value, chosen so that the
+     * second hash of every name in the table lands in a distinct slot. A lookup is therefore two hash mixes, one array
+     * read and a single string comparison to reject unknown names, with no probing and no collisions.
+     */
+    private static final class NameIndex {
+        private static final int MAX_DISPLACEMENT = 1 << 20;
+        private final String[] KEYS;
+        private final int[] IDS;
+        private final int[] DISPLACEMENTS;
+        private final int SLOT_MASK, BUCKET_MASK;
+
+        /**
+         * @param names the card names, indexed by card ID
+         * @throws IllegalArgumentException if there are duplicate names
+         * @throws IllegalStateException    if no displacement could be found for a bucket
+         */
+        NameIndex(String[] names) {
+            int slots = Integer.highestOneBit(Math.max(1, names.length) * 2 - 1) << 1;
+            int buckets = Integer.highestOneBit(Math.max(1, names.length / 4) * 2 - 1);
+            SLOT_MASK = slots - 1;
+            BUCKET_MASK = buckets - 1;
+            KEYS = new String[slots];
+            IDS = new int[slots];
+            DISPLACEMENTS = new int[buckets];
+
+            ArrayList<ArrayList<Integer>> bucketList = new ArrayList<>();
+
+            for (int n = 0; n < buckets; n++)
+                bucketList.add(new ArrayList<>());
+
+            for (int id = 0; id < names.length; id++)
+                bucketList.get(mix(names[id].hashCode(), 0) & BUCKET_MASK).add(id);
+
+            //  place the largest buckets first while the table is still empty
+            ArrayList<Integer> order = new ArrayList<>();
+
+            for (int n = 0; n < buckets; n++)
+                order.add(n);
+
+            order.sort((a, b) -> bucketList.get(b).size() - bucketList.get(a).size());
+
+            for (int bucket : order) {
+                ArrayList<Integer> ids = bucketList.get(bucket);
+
+                if (ids.isEmpty())
+                    break;
+
+                int displacement = 1;
+
+                while (!tryPlace(names, ids, displacement)) {
+                    if (++displacement > MAX_DISPLACEMENT)
+                        throw new IllegalStateException("NO PERFECT HASH FOUND FOR CARD NAMES");
+                }
+
+                DISPLACEMENTS[bucket] = displacement;
+            }
+        }
+
+        /**
+         * Tries to place all names of one bucket with the given displacement. Nothing is placed if any of them collides.
+         */
+        private boolean tryPlace(String[] names, ArrayList<Integer> ids, int displacement) {
+            int[] placed = new int[ids.size()];
+
+            for (int n = 0; n < ids.size(); n++) {
+                int id = ids.get(n);
+                int slot = mix(names[id].hashCode(), displacement) & SLOT_MASK;
+
+                if (KEYS[slot] != null) {
+                    if (KEYS[slot].equals(names[id]))
+                        throw new IllegalArgumentException("DUPLICATE CARD NAME: " + names[id]);
+
+                    for (int m = 0; m < n; m++)
+                        KEYS[placed[m]] = null;
+
+                    return false;
+                }
+
+                KEYS[slot] = names[id];
+                IDS[slot] = id;
+                placed[n] = slot;
+            }
+
+            return true;
+        }
+
+        /**
+         * @param name the card name
+         * @return the ID of the card, -1 if the name is not in the table
+         */
+        int get(String name) {
+            int hash = name.hashCode();
+            int slot = mix(hash, DISPLACEMENTS[mix(hash, 0) & BUCKET_MASK]) & SLOT_MASK;
+
+            return name.equals(KEYS[slot]) ? IDS[slot] : -1;
+        }
+
+        /**
+         * The finalizer of MurmurHash3, seeded with the displacement.
+         */
+        private static int mix(int hash, int seed) {
+            int h = hash ^ (seed * 0x9E3779B9);
+            h ^= h >>> 16;
+            h *= 0x85EBCA6B;
+            h ^= h >>> 13;
+            h *= 0xC2B2AE35;
+            h ^= h >>> 16;
+            return h;
+        }
     }
 
 }
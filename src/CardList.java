@@ -1,11 +1,35 @@
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.SplittableRandom;
 
 /**
  * This class is the parent class of all classes that contains a list of cards. It provides default initializer and a
  * card search method.
+ *
+ * <p>The list keeps the sum of the {@linkplain Card#getHashKey() hash keys} of its cards as its {@linkplain
+ * #getHash() hash}. The cards report their own changes through {@linkplain #rehash(long, long)}, so the hash is always
+ * up to date without scanning the list.</p>
+ *
+ * <p>If the list has a {@linkplain Journal}, every card added, removed or replaced is recorded together with its
+ * position, and the cards entering the list start recording their own changes in the same journal. Cards must
+ * therefore only enter or leave the list through {@linkplain #add(Card)}, {@linkplain #add(int, Card)}, {@linkplain
+ * #remove(int)}, {@linkplain #remove(Object)}, {@linkplain #set(int, Card)} or {@linkplain #clear()}.</p>
  */
-public abstract class CardList extends ArrayList<Card> {
+public abstract class CardList extends ArrayList<Card> implements Journaled {
+    /**
+     * The numbers of the changes recorded in the {@linkplain Journal}. Subclasses number their own fields from
+     * {@linkplain #FIRST_SUBCLASS_FIELD} upwards.
+     */
+    private static final int ADD = 0, REMOVE = 1, SET = 2, SWAP = 3;
+    static final int FIRST_SUBCLASS_FIELD = 4;
+    /**
+     * The journal that records changes to the list, null if changes are not recorded.
+     */
+    private Journal journal;
+    /**
+     * The sum of the hash keys of all cards in the list. It is not recorded in the journal, as undoing a change to the
+     * list or to a card in it updates the sum as well.
+     */
+    private long hash;
 
     /**
      * This constructor takes the max capacity of the list and sets default size of the ArrayList to the designated
@@ -24,35 +48,251 @@ public abstract class CardList extends ArrayList<Card> {
      */
     CardList(ArrayList<Card> initialCards) {
         super(initialCards);
+
+        for (Card c : this)
+            enter(c);
+    }
+
+    /**
+     * Appends a copy of every card of another list, in the same order. The cards are added directly to the underlying
+     * list, so none of the additional rules of the subclasses apply.
+     *
+     * @param other the list to copy the cards from
+     * @see Card#copy()
+     */
+    final void addCopies(CardList other) {
+        ensureCapacity(size() + other.size());
+
+        for (Card c : other) {
+            Card copy = c.copy();
+            super.add(copy);
+            enter(copy);
+        }
+    }
+
+    /**
+     * @return the sum of the {@linkplain Card#getHashKey() hash keys} of all cards in the list, regardless of their
+     * order
+     */
+    final long getHash() {
+        return hash;
+    }
+
+    /**
+     * Updates the hash after the hash key of a card in the list has changed.
+     *
+     * @param oldKey the hash key of the card before the change
+     * @param newKey the hash key of the card after the change
+     */
+    final void rehash(long oldKey, long newKey) {
+        hash += newKey - oldKey;
+    }
+
+    /**
+     * Takes a card that has just been put into the list into account.
+     */
+    private void enter(Card card) {
+        card.setOwner(this);
+        hash += card.getHashKey();
+    }
+
+    /**
+     * Takes a card that has just been taken out of the list out of account. The card keeps its owner if it has already
+     * entered another list.
+     *
+     * <p>Rollbacks do not go through this method and {@linkplain #enter(Card)}, as the card restores its owner from its
+     * own journal entries and only the hash of the list is to be updated.</p>
+     */
+    private void leave(Card card) {
+        if (card.getOwner() == this)
+            card.setOwner(null);
+
+        hash -= card.getHashKey();
+    }
+
+    /**
+     * Starts or stops recording the changes to the list and to every card in it.
+     *
+     * @param journal the journal to record the changes, null to stop recording
+     */
+    void setJournal(Journal journal) {
+        this.journal = journal;
+
+        for (int n = 0; n < size(); n++)
+            get(n).setJournal(journal);
+    }
+
+    /**
+     * Records the old value of an int field of a subclass in the journal of the list, if there is one.
+     *
+     * @param field the number of the field
+     * @param value the value before the change
+     */
+    final void journal(int field, int value) {
+        if (journal != null)
+            journal.record(this, field, value);
+    }
+
+    @Override
+    public boolean add(Card card) {
+        if (journal != null) {
+            journal.record(this, ADD, size());
+            card.setJournal(journal);
+        }
+
+        super.add(card);
+        enter(card);
+        return true;
+    }
+
+    @Override
+    public void add(int index, Card card) {
+        if (journal != null) {
+            journal.record(this, ADD, index);
+            card.setJournal(journal);
+        }
+
+        super.add(index, card);
+        enter(card);
+    }
+
+    @Override
+    public Card remove(int index) {
+        return removeAt(index);
+    }
+
+    /**
+     * Removes the first occurrence of a card. Unlike {@linkplain ArrayList#remove(Object)}, the removal is recorded in
+     * the journal.
+     *
+     * @param card the card to be removed
+     * @return true if the card was in the list, false otherwise
+     */
+    @Override
+    public boolean remove(Object card) {
+        int index = indexOf(card);
+
+        if (index < 0)
+            return false;
+
+        removeAt(index);
+        return true;
+    }
+
+    /**
+     * Removes the card at a position without going through the overrides of {@linkplain #remove(int)}.
+     */
+    private Card removeAt(int index) {
+        Card card = get(index);
+
+        if (journal != null)
+            journal.record(this, REMOVE, index, card);
+
+        super.remove(index);
+        leave(card);
+        return card;
+    }
+
+    @Override
+    public Card set(int index, Card card) {
+        if (journal != null) {
+            journal.record(this, SET, index, get(index));
+            card.setJournal(journal);
+        }
+
+        Card replaced = super.set(index, card);
+        leave(replaced);
+        enter(card);
+        return replaced;
+    }
+
+    /**
+     * Swaps the cards at two positions. Unlike replacing them through {@linkplain #set(int, Card)}, no card is ever in
+     * the list twice.
+     *
+     * @param first  the position of a card
+     * @param second the position of the other card
+     */
+    final void swap(int first, int second) {
+        super.set(first, super.set(second, get(first)));
+
+        if (journal != null)
+            journal.record(this, SWAP, first << 16 | second);
+    }
+
+    @Override
+    public void clear() {
+        for (int n = size() - 1; n >= 0; n--) {
+            Card card = get(n);
+
+            if (journal != null)
+                journal.record(this, REMOVE, n, card);
+
+            leave(card);
+        }
+
+        super.clear();
+    }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        switch (field) {
+            case ADD:
+                hash -= super.remove(value).getHashKey();
+                break;
+
+            case REMOVE:
+                super.add(value, (Card) reference);
+                hash += ((Card) reference).getHashKey();
+                break;
+
+            case SET:
+                hash += ((Card) reference).getHashKey() - super.set(value, (Card) reference).getHashKey();
+                break;
+
+            case SWAP:
+                super.set(value >>> 16, super.set(value & 0xFFFF, get(value >>> 16)));
+                break;
+
+            default:
+                throw new IllegalArgumentException("UNKNOWN CARD LIST FIELD " + field);
+        }
     }
 
     /**
      * This methods fetches a random selected card from all possible cards in the current card list that meets all the
      * requirements given
      *
+     * <p>The card is chosen by reservoir sampling in a single pass, so every matching card is equally likely to be
+     * picked and the order of the list is left untouched.</p>
+     *
      * @param leader  the leader of the wanted card, set to null if not required
      * @param trait   the trait of the card, set to null if not required
      * @param type    type of the wanted card, set to null if not required
      * @param maxCost maximum cost of the card(inclusive), set to {@linkplain Card#MAX_COST} if not required
      * @param minCost minimum cost of the card(inclusive), set to {@linkplain Card#MIN_COST} if not required
      * @param remove  true if the acquired card has to be removed from the list, false otherwise
+     * @param random  the random source of the selection
      * @return a random selected card from all possible cards in the current card list that meets all the requirements
      * given
      */
-    public Card getRandomRequestedCard(Leader.LeaderType leader, Trait.SwordCraftTrait trait, Card.Type type, int maxCost, int minCost, boolean remove) {
-        Collections.shuffle(this);
+    public Card getRandomRequestedCard(Leader.LeaderType leader, Trait.SwordCraftTrait trait, Card.Type type,
+                                       int maxCost, int minCost, boolean remove, SplittableRandom random) {
+        int chosen = -1, matches = 0;
+
+        for (int n = 0; n < size(); n++) {
+            Card c = get(n);
 
-        for (Card c : this) {
             if ((type == null || c.getType() == type) && (leader == null || leader == c.getLeader()) &&
                     (trait == null || (c instanceof Follower && ((Follower) c).getSwordCraftTrait() == trait)) &&
-                    c.getCost() >= minCost && c.getCost() <= maxCost) {
-                if (remove)
-                    remove(c);
-                return c;
-            }
+                    c.getCost() >= minCost && c.getCost() <= maxCost && random.nextInt(++matches) == 0)
+                chosen = n;
         }
 
-        return null;
+        if (chosen < 0)
+            return null;
+        else
+            return remove ? remove(chosen) : get(chosen);
     }
 
 }
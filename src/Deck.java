@@ -1,64 +1,70 @@
-import java.util.Arrays;
-import java.util.Collections;
+import java.util.SplittableRandom;
 
 /**
  * This class is the representation of the player's deck. It also contains preset decks that are available for the
  * players to use. Some players may not have a preset deck available to be used yet. Currently only Fairycraft and
  * Swordcraft have available decks.
+ *
+ * <p>The top of the deck is the end of the underlying list, so drawing a card never shifts the remaining cards. All
+ * shuffles use the random source given to the deck, so the order of the deck is reproducible from its seed.</p>
+ *
+ * <p>The preset decks only hold card IDs. Every deck creates its own card objects from them, so no card object is
+ * shared between players or games.</p>
  */
 public final class Deck extends CardList {
     public static final int DEFAULT_DECK_SIZE = 40;
     /**
      * The apocalypse deck. Only used when Prince of Darkness is played.
      */
-    private static final Card[] APOCALYPSE;
+    private static final int[] APOCALYPSE;
     /**
      * The preset deck for Swordcraft
      */
-    private static final Card[] SPEED_SWORD;
+    private static final int[] SPEED_SWORD;
     /**
      * The preset deck for Forestcraft
      */
-    private static final Card[] PURGATORY_FOREST;
+    private static final int[] PURGATORY_FOREST;
+    private final SplittableRandom RANDOM;
 
     static {
-        APOCALYPSE = new Card[]{CardLib.getCard("Servant_of_Darkness"), CardLib.getCard("Servant_of_Darkness"),
-                CardLib.getCard("Servant_of_Darkness"), CardLib.getCard("Silent_Rider"),
-                CardLib.getCard("Silent_Rider"), CardLib.getCard("Silent_Rider"),
-                CardLib.getCard("Dis's_Damnation"), CardLib.getCard("Dis's_Damnation"),
-                CardLib.getCard("Dis's_Damnation"), CardLib.getCard("Astaroth's_Reckoning")};
-
-        PURGATORY_FOREST = new Card[]{
-                CardLib.getCard("Water_Fairy"), CardLib.getCard("Water_Fairy"), CardLib.getCard("Water_Fairy"),
-                CardLib.getCard("Elf_Child_May"), CardLib.getCard("Elf_Child_May"), CardLib.getCard("Elf_Child_May"),
-                CardLib.getCard("Nature's_Guidance"), CardLib.getCard("Nature's_Guidance"), CardLib.getCard("Nature's_Guidance"),
-                CardLib.getCard("Fairy_Circle"), CardLib.getCard("Fairy_Circle"), CardLib.getCard("Fairy_Circle"),
-                CardLib.getCard("Woodland_Refuge"), CardLib.getCard("Woodland_Refuge"),
-                CardLib.getCard("Altered_Fate"), CardLib.getCard("Altered_Fate"), CardLib.getCard("Altered_Fate"),
-                CardLib.getCard("Fairy_Whisperer"), CardLib.getCard("Fairy_Whisperer"), CardLib.getCard("Fairy_Whisperer"),
-                CardLib.getCard("Rhinoceroach"), CardLib.getCard("Rhinoceroach"), CardLib.getCard("Rhinoceroach"),
-                CardLib.getCard("Sylvan_Justice"), CardLib.getCard("Sylvan_Justice"), CardLib.getCard("Sylvan_Justice"),
-                CardLib.getCard("Pixie_Mischief"), CardLib.getCard("Pixie_Mischief"), CardLib.getCard("Pixie_Mischief"),
-                CardLib.getCard("Ancient_Elf"), CardLib.getCard("Ancient_Elf"), CardLib.getCard("Ancient_Elf"),
-                CardLib.getCard("Path_to_Purgatory"), CardLib.getCard("Path_to_Purgatory"), CardLib.getCard("Path_to_Purgatory"),
-                CardLib.getCard("Will_of_the_Forest"), CardLib.getCard("Will_of_the_Forest"), CardLib.getCard("Will_of_the_Forest"),
-                CardLib.getCard("Homecoming"), CardLib.getCard("Homecoming")};
-
-        SPEED_SWORD = new Card[]{
-                CardLib.getCard("Quickblader"), CardLib.getCard("Quickblader"), CardLib.getCard("Quickblader"),
-                CardLib.getCard("Ninja_Trainee"), CardLib.getCard("Ninja_Trainee"), CardLib.getCard("Ninja_Trainee"),
-                CardLib.getCard("Vanguard"), CardLib.getCard("Vanguard"), CardLib.getCard("Vanguard"),
-                CardLib.getCard("Keen_Enchantment"), CardLib.getCard("Keen_Enchantment"), CardLib.getCard("Keen_Enchantment"),
-                CardLib.getCard("Oathless_Knight"), CardLib.getCard("Oathless_Knight"), CardLib.getCard("Oathless_Knight"),
-                CardLib.getCard("Kunoichi_Trainee"), CardLib.getCard("Kunoichi_Trainee"), CardLib.getCard("Kunoichi_Trainee"),
-                CardLib.getCard("Palace_Fencer"), CardLib.getCard("Palace_Fencer"), CardLib.getCard("Palace_Fencer"),
-                CardLib.getCard("Centaur_Vanguard"), CardLib.getCard("Centaur_Vanguard"), CardLib.getCard("Centaur_Vanguard"),
-                CardLib.getCard("Princess_Vanguard"), CardLib.getCard("Princess_Vanguard"), CardLib.getCard("Princess_Vanguard"),
-                CardLib.getCard("Novice_Trooper"), CardLib.getCard("Novice_Trooper"), CardLib.getCard("Novice_Trooper"),
-                CardLib.getCard("Demonic_Strike"), CardLib.getCard("Demonic_Strike"), CardLib.getCard("Demonic_Strike"),
-                CardLib.getCard("White_General"), CardLib.getCard("White_General"), CardLib.getCard("White_General"),
-                CardLib.getCard("Tsubaki"), CardLib.getCard("Tsubaki"), CardLib.getCard("Alwida's_Command"),
-                CardLib.getCard("Alwida's_Command")};
+        APOCALYPSE = new int[]{CardLib.getId("Servant_of_Darkness"), CardLib.getId("Servant_of_Darkness"),
+                CardLib.getId("Servant_of_Darkness"), CardLib.getId("Silent_Rider"),
+                CardLib.getId("Silent_Rider"), CardLib.getId("Silent_Rider"),
+                CardLib.getId("Dis's_Damnation"), CardLib.getId("Dis's_Damnation"),
+                CardLib.getId("Dis's_Damnation"), CardLib.getId("Astaroth's_Reckoning")};
+
+        PURGATORY_FOREST = new int[]{
+                CardLib.getId("Water_Fairy"), CardLib.getId("Water_Fairy"), CardLib.getId("Water_Fairy"),
+                CardLib.getId("Elf_Child_May"), CardLib.getId("Elf_Child_May"), CardLib.getId("Elf_Child_May"),
+                CardLib.getId("Nature's_Guidance"), CardLib.getId("Nature's_Guidance"), CardLib.getId("Nature's_Guidance"),
+                CardLib.getId("Fairy_Circle"), CardLib.getId("Fairy_Circle"), CardLib.getId("Fairy_Circle"),
+                CardLib.getId("Woodland_Refuge"), CardLib.getId("Woodland_Refuge"),
+                CardLib.getId("Altered_Fate"), CardLib.getId("Altered_Fate"), CardLib.getId("Altered_Fate"),
+                CardLib.getId("Fairy_Whisperer"), CardLib.getId("Fairy_Whisperer"), CardLib.getId("Fairy_Whisperer"),
+                CardLib.getId("Rhinoceroach"), CardLib.getId("Rhinoceroach"), CardLib.getId("Rhinoceroach"),
+                CardLib.getId("Sylvan_Justice"), CardLib.getId("Sylvan_Justice"), CardLib.getId("Sylvan_Justice"),
+                CardLib.getId("Pixie_Mischief"), CardLib.getId("Pixie_Mischief"), CardLib.getId("Pixie_Mischief"),
+                CardLib.getId("Ancient_Elf"), CardLib.getId("Ancient_Elf"), CardLib.getId("Ancient_Elf"),
+                CardLib.getId("Path_to_Purgatory"), CardLib.getId("Path_to_Purgatory"), CardLib.getId("Path_to_Purgatory"),
+                CardLib.getId("Will_of_the_Forest"), CardLib.getId("Will_of_the_Forest"), CardLib.getId("Will_of_the_Forest"),
+                CardLib.getId("Homecoming"), CardLib.getId("Homecoming")};
+
+        SPEED_SWORD = new int[]{
+                CardLib.getId("Quickblader"), CardLib.getId("Quickblader"), CardLib.getId("Quickblader"),
+                CardLib.getId("Ninja_Trainee"), CardLib.getId("Ninja_Trainee"), CardLib.getId("Ninja_Trainee"),
+                CardLib.getId("Vanguard"), CardLib.getId("Vanguard"), CardLib.getId("Vanguard"),
+                CardLib.getId("Keen_Enchantment"), CardLib.getId("Keen_Enchantment"), CardLib.getId("Keen_Enchantment"),
+                CardLib.getId("Oathless_Knight"), CardLib.getId("Oathless_Knight"), CardLib.getId("Oathless_Knight"),
+                CardLib.getId("Kunoichi_Trainee"), CardLib.getId("Kunoichi_Trainee"), CardLib.getId("Kunoichi_Trainee"),
+                CardLib.getId("Palace_Fencer"), CardLib.getId("Palace_Fencer"), CardLib.getId("Palace_Fencer"),
+                CardLib.getId("Centaur_Vanguard"), CardLib.getId("Centaur_Vanguard"), CardLib.getId("Centaur_Vanguard"),
+                CardLib.getId("Princess_Vanguard"), CardLib.getId("Princess_Vanguard"), CardLib.getId("Princess_Vanguard"),
+                CardLib.getId("Novice_Trooper"), CardLib.getId("Novice_Trooper"), CardLib.getId("Novice_Trooper"),
+                CardLib.getId("Demonic_Strike"), CardLib.getId("Demonic_Strike"), CardLib.getId("Demonic_Strike"),
+                CardLib.getId("White_General"), CardLib.getId("White_General"), CardLib.getId("White_General"),
+                CardLib.getId("Tsubaki"), CardLib.getId("Tsubaki"), CardLib.getId("Alwida's_Command"),
+                CardLib.getId("Alwida's_Command")};
     }
 
     /**
@@ -66,35 +72,83 @@ public final class Deck extends CardList {
      * will be shuffled after initialization.
      *
      * @param leader the leader to initialize from
+     * @param random the random source of all shuffles of this deck
      */
-    Deck(Leader leader) {
+    Deck(Leader leader, SplittableRandom random) {
         super(DEFAULT_DECK_SIZE);
+        RANDOM = random;
 
-        switch (leader.getLeaderType()) {
+        int[] preset = getPreset(leader.getLeaderType());
+
+        if (preset == null)
+            throw new IllegalStateException("NO PRESET DECK FOUND");
+
+        addPreset(preset);
+        shuffle();
+    }
+
+    /**
+     * The copy constructor creates a deck holding copies of the cards of another deck, in the same order.
+     *
+     * @param other  the deck to be copied
+     * @param random the random source of all shuffles of the copy
+     */
+    Deck(Deck other, SplittableRandom random) {
+        super(Math.max(DEFAULT_DECK_SIZE, other.size()));
+        RANDOM = random;
+        addCopies(other);
+    }
+
+    /**
+     * @param leaderType the type of the leader
+     * @return the preset deck of the leader, null if the leader has no preset deck yet
+     */
+    private static int[] getPreset(Leader.LeaderType leaderType) {
+        switch (leaderType) {
             case FORESTCRAFT:
-                addAll(Arrays.asList(PURGATORY_FOREST));
-                break;
+                return PURGATORY_FOREST;
 
             case SWORDCRAFT:
-                addAll(Arrays.asList(SPEED_SWORD));
-                break;
+                return SPEED_SWORD;
 
             default:
-                throw new IllegalStateException("NO PRESET DECK FOUND");
+                return null;
         }
+    }
 
-        Collections.shuffle(this);
+    /**
+     * @param leaderType the type of the leader
+     * @return true if a deck can be created for the leader, false otherwise
+     */
+    static boolean hasPreset(Leader.LeaderType leaderType) {
+        return getPreset(leaderType) != null;
     }
 
     /**
-     * Add a card to the deck and then shuffles it
+     * @param leaderType the type of the leader
+     * @return a copy of the card IDs of the preset deck of the leader, null if the leader has no preset deck yet
+     */
+    static int[] getPresetIds(Leader.LeaderType leaderType) {
+        int[] preset = getPreset(leaderType);
+        return preset == null ? null : preset.clone();
+    }
+
+    /**
+     * Add a card to a random position of the deck. The card is appended and then swapped with a uniformly chosen
+     * position, which is one step of the inside-out Fisher-Yates shuffle. As the rest of the deck is already shuffled,
+     * the resulting order is as random as shuffling the whole deck again, without touching every other card.
      *
      * @param card the card to be added
      * @return true if the card is successfully added
      */
     public boolean add(Card card) {
         super.add(card);
-        Collections.shuffle(this);
+
+        int last = size() - 1, position = RANDOM.nextInt(size());
+
+        if (position != last)
+            swap(position, last);
+
         return true;
     }
 
@@ -106,7 +160,7 @@ public final class Deck extends CardList {
      */
     public void replaceDeck(String deckCode) {
         clear();
-        Card[] target;
+        int[] target;
 
         switch (deckCode) {
             case "APOCALYPSE":
@@ -117,23 +171,38 @@ public final class Deck extends CardList {
                 throw new IllegalArgumentException("NO SUCH PRESET DECK FOUND");
         }
 
-        addAll(Arrays.asList(target));
-        Collections.shuffle(this);
+        addPreset(target);
+        shuffle();
+    }
+
+    /**
+     * Shuffles the whole deck with the Fisher-Yates shuffle.
+     */
+    void shuffle() {
+        for (int n = size() - 1; n > 0; n--)
+            swap(RANDOM.nextInt(n + 1), n);
+    }
+
+    /**
+     * Add a new card object of every card ID in the given preset deck, without shuffling.
+     *
+     * @param preset the preset deck
+     */
+    private void addPreset(int[] preset) {
+        for (int cardId : preset)
+            super.add(CardLib.getCard(cardId));
     }
 
     /**
-     * Draw a card from the deck.
+     * Draw a card from the top of the deck.
      *
      * @return the card drawn from the deck. Null if there is no card left in the deck.
      */
     public Card drawCard() {
-        if (size() > 0) {
-            Card next = get(0);
-            remove(0);
-            return next;
-        } else {
+        if (size() > 0)
+            return remove(size() - 1);
+        else
             return null;
-        }
     }
 
 }
@@ -0,0 +1,395 @@
+import java.util.ArrayList;
+
+/**
+ * This class is the compiled form of one effect string from allCards.txt, such as {@code DMGENEFOL@3} or {@code
+ * BUFSLFCOND@2@0@OVRFLW}. The effect code is resolved to a {@linkplain Code} and every argument is converted to its
+ * final type once, when the effect is compiled, so {@linkplain EffectLib} never has to split or parse strings while a
+ * game is running.
+ *
+ * <p>Arguments are stored by kind in the order they appear in the effect string. For example, the arguments of
+ * {@code DMGENEFOLPUTFOL@2@Fairy@1} are available as {@code getInt(0) == 2},
+ * {@code getCard(0) == CardLib.getId("Fairy")} and {@code getInt(1) == 1}. Card names are resolved to card IDs when the
+ * effect is compiled. Objects of this class are immutable and are shared by every card that carries the same effect.
+ * </p>
+ *
+ * @see CardLib#getEffect(String)
+ * @see EffectLib
+ */
+public final class Effect {
+    private static final int[] NO_INTS = new int[0];
+    private static final String[] NO_NAMES = new String[0];
+    private static final Variable[] NO_VARIABLES = new Variable[0];
+
+    private final String TEXT;
+    private final Code CODE;
+    private final int[] INTS, CARDS;
+    private final String[] NAMES;
+    private final Variable[] VARIABLES;
+    private final Follower.SimpleEffects SIMPLE_EFFECT;
+    private final Condition CONDITION;
+
+    private Effect(String text, Code code, int[] ints, int[] cards, String[] names, Variable[] variables,
+                   Follower.SimpleEffects simpleEffect, Condition condition) {
+        TEXT = text;
+        CODE = code;
+        INTS = ints;
+        CARDS = cards;
+        NAMES = names;
+        VARIABLES = variables;
+        SIMPLE_EFFECT = simpleEffect;
+        CONDITION = condition;
+    }
+
+    /**
+     * This method compiles the given effect string. The arguments are checked against the signature of the effect
+     * code, see {@linkplain Code}.
+     *
+     * @param text the effect string, e.g. {@code DMGENEFOL@3}
+     * @return the compiled effect
+     * @throws IllegalArgumentException if the effect code does not exist, the arguments do not match its signature or
+     *                                  a card argument is not in {@linkplain CardLib}
+     */
+    static Effect compile(String text) {
+        String[] info = text.split("@");
+        Code code;
+
+        try {
+            code = Code.valueOf(info[0]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("NO EFX FOUND: " + info[0]);
+        }
+
+        String signature = code.SIGNATURE;
+        boolean variadic = signature.endsWith("*");
+        int fixedArgs = variadic ? signature.length() - 1 : signature.length();
+
+        if (variadic ? info.length - 1 < fixedArgs + 1 : info.length - 1 != fixedArgs)
+            throw new IllegalArgumentException("INVALID ARGUMENTS FOR EFX: " + text);
+
+        ArrayList<Integer> ints = new ArrayList<>();
+        ArrayList<Integer> cards = new ArrayList<>();
+        ArrayList<String> names = new ArrayList<>();
+        ArrayList<Variable> variables = new ArrayList<>();
+        Follower.SimpleEffects simpleEffect = null;
+        Condition condition = null;
+
+        for (int n = 1; n < info.length; n++) {
+            char kind = n - 1 < fixedArgs ? signature.charAt(n - 1) : 'K';
+
+            switch (kind) {
+                case 'I':
+                    ints.add(Integer.parseInt(info[n]));
+                    break;
+
+                case 'K':
+                    cards.add(CardLib.getId(info[n]));
+                    break;
+
+                case 'N':
+                    names.add(info[n]);
+                    break;
+
+                case 'E':
+                    simpleEffect = Follower.SimpleEffects.valueOf(info[n]);
+                    break;
+
+                case 'C':
+                    condition = Condition.compile(info[n]);
+                    break;
+
+                case 'V':
+                    variables.add(Variable.compile(info[n]));
+                    break;
+
+                case 'W':
+                    variables.add(Variable.compile(info[n]));
+                    condition = Condition.compile(info[n]);
+                    break;
+
+                default:
+                    throw new IllegalStateException("UNKNOWN ARGUMENT KIND: " + kind);
+            }
+        }
+
+        return new Effect(text, code, toIntArray(ints), toIntArray(cards),
+                names.isEmpty() ? NO_NAMES : names.toArray(new String[0]),
+                variables.isEmpty() ? NO_VARIABLES : variables.toArray(new Variable[0]), simpleEffect, condition);
+    }
+
+    private static int[] toIntArray(ArrayList<Integer> list) {
+        if (list.isEmpty())
+            return NO_INTS;
+
+        int[] array = new int[list.size()];
+
+        for (int n = 0; n < array.length; n++)
+            array[n] = list.get(n);
+
+        return array;
+    }
+
+    /**
+     * @return the effect code
+     */
+    Code getCode() {
+        return CODE;
+    }
+
+    /**
+     * @param index the index among the integer arguments of the effect
+     * @return the integer argument
+     */
+    int getInt(int index) {
+        return INTS[index];
+    }
+
+    /**
+     * @param index the index among the card arguments of the effect
+     * @return the ID of the card argument
+     */
+    int getCard(int index) {
+        return CARDS[index];
+    }
+
+    /**
+     * @return the number of card arguments of the effect
+     */
+    int getCardCount() {
+        return CARDS.length;
+    }
+
+    /**
+     * @param index the index among the name arguments of the effect
+     * @return the name argument, e.g. a deck code
+     */
+    String getName(int index) {
+        return NAMES[index];
+    }
+
+    /**
+     * @param index the index among the variable arguments of the effect
+     * @return the variable argument
+     */
+    Variable getVariable(int index) {
+        return VARIABLES[index];
+    }
+
+    /**
+     * @return the simple effect argument of the effect, null if it has none
+     */
+    Follower.SimpleEffects getSimpleEffect() {
+        return SIMPLE_EFFECT;
+    }
+
+    /**
+     * @return the activation condition of the effect, null if it has none
+     */
+    Condition getCondition() {
+        return CONDITION;
+    }
+
+    /**
+     * @return the original effect string this effect was compiled from
+     */
+    @Override
+    public String toString() {
+        return TEXT;
+    }
+
+    /**
+     * All effect codes known to {@linkplain EffectLib}. Each code carries the signature of its arguments, one
+     * character per argument:
+     *
+     * <ul>
+     * <li>{@code I} an integer</li>
+     * <li>{@code K} a card, given by name and stored as its ID</li>
+     * <li>{@code N} a name other than a card name, e.g. a deck code</li>
+     * <li>{@code E} a {@linkplain Follower.SimpleEffects}</li>
+     * <li>{@code C} a {@linkplain Condition}</li>
+     * <li>{@code V} a {@linkplain Variable}</li>
+     * <li>{@code W} an argument used as both a {@linkplain Variable} and a {@linkplain Condition}</li>
+     * <li>{@code *} one or more cards, only allowed at the end</li>
+     * </ul>
+     */
+    enum Code {
+        DMGENEFOL("I"), DRWCRD("I"), RDMBUFFRIFOL("II"), DMGENELED("I"), DMGALLENEFOL("I"), PUTFOL("KI"),
+        GVEEFXBUFSLFCOND("EIIC"), DMGENEFOLCOND("IC"), DMGENEFOLPUTFOL("IKI"), BUFSLF("II"), RTNFOL(""),
+        BUFSLFCOND("IIC"), DMGRDMMULENEFOL("II"), BUFFRIFOLCOND("IIC"), SUMFOL("*"), DMGENEFOLVAR("V"),
+        BUFFRIFOL("II"), BUFFRIOFF("II"), BUFFRIOFFETR("II"), BUFALLFRIOFF("II"), BUFALLFRIFOL("II"),
+        BTHDRWCRD("I"), DMGENEFOLDRWCRD("II"), DMGENEFOLBSTDMG("I"), SUMFOLBSTNUM("K"), KILENEFOLBSTCST(""),
+        SUMMULFOL("KI"), BSTCST(""), INCCSTDRWCRDCOND("IC"), GVEEFXCOND("EC"), DMGALLFOL("I"), ADDNEC("I"),
+        SUMFOLCOND("KC"), SLFBAN(""), KILENEFOLSUMFOLCOND("KC"), GVERDMFRIFOLEFX("E"), DMGSLFLEDDRWCRD("II"),
+        DMGSLFLEDDMGENETAR("II"), DMGSLFLED("I"), DMGENEFOLHELSLFLED("II"), DMGSLFLEDKILENEFOL("I"), DMGALL("I"),
+        DECCDDRWCRD("II"), BANENEFOLHPLES("I"), DECCDALL("I"), BANENEFOL(""), HELSLFLED("I"), DISHNDDRWHND(""),
+        DMGENEALL("I"), KILFOLREVFOL(""), DMGENEALLCOND("IC"), DMGALLFRIFOL("I"), KILENEFOLAMU(""),
+        BUFSLFVARDISHND("IIV"), DMGENETARHELSLFLED("II"), LUCIFER(""), DMGENELEDVAR("V"), REPDEK("N"),
+        DMGRDMENEFOL("I"), RTNFRIFOLAMUDRWCRD("I"), BUFRDMFRIFOLCOND("IIC"), RTNFRIFOLAMU(""), CHGCST("KI"),
+        DRWCRDCOND("IC"), GVEALLFRIFOLEFX("E"), REVALLFRIFOLEFX("E"), GVEEFX("E"), BUFSLFVAR("VV"),
+        CHGSLFATKVAR("V"), RTNFRIFOLRDMRTNENEFOL(""), CHGENEFOLHP("I"), GVERDMENEFOLEFX("E"), GVEENEFOLEFX("E"),
+        KILENEAMUCOND("C"), BUFSLFVARRTNALLFRIFOL("V"), PUTFOLCHGCST("KII"), CHGETRCRD("KK"),
+        CHGENEFLDHPCOND("IC"), DMGFIGENEFOL("I"), DMGRDMMULENEFOLVAR("IV"), FREEVOFOL("K"), EVOSLFCOND("C"),
+        HELSLFLEDVAR("V"), PUTHNDFULFOL("K"), GVEALLENEFOLEFX("E"), RTNALLFOL(""), TRAALLHNDCRD("KK"),
+        DRWCRDDMGENETARVAR("IV"), DMGENETAR("I"), BUFRDMFRIOFF("II"), BUFSLFCOMETR("II"), GVESLFEFXCOND("EC"),
+        DRWRDMCOM("I"), GVEFRICOMEFX("E"), BUFALLFRIFOLCOND("IIC"), BUFONECSTFRIFOL("II"), DRWRDMOFFVAR("V"),
+        SUMFOLCOMETR("*"), GVEALLFRIOFFEFX("E"), SUMCSTDEKFOL("II"), KILENEATKFOL("I"), GVEETROFFEFX("E"),
+        DRWCRDVAR("V"), BUFSLFGVESLFEFXVARCOND("EW"), GVEETRFRIFOLEFXCOND("EC"), SUMEFXFOL("KE"),
+        SUMFULFLDFOL("K");
+
+        private final String SIGNATURE;
+
+        Code(String signature) {
+            SIGNATURE = signature;
+        }
+    }
+
+    /**
+     * This class is the compiled form of a condition string such as {@code USDCRD?2}, which has to be met for an effect
+     * to activate. It is evaluated by {@linkplain EffectLib}.
+     */
+    static final class Condition {
+        private final Type TYPE;
+        private final int VALUE;
+
+        private Condition(Type type, int value) {
+            TYPE = type;
+            VALUE = value;
+        }
+
+        /**
+         * @param text the condition string
+         * @return the compiled condition
+         * @throws IllegalArgumentException if the condition does not exist or its value is missing
+         */
+        static Condition compile(String text) {
+            String[] cond = text.split("\\?");
+            Type type;
+
+            try {
+                type = Type.valueOf(cond[0]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("CONDITION NOT FOUND: " + text);
+            }
+
+            if (!type.HAS_VALUE)
+                return new Condition(type, 0);
+            else if (cond.length > 1)
+                return new Condition(type, Integer.parseInt(cond[1]));
+            else
+                throw new IllegalArgumentException("CONDITION VALUE MISSING: " + text);
+        }
+
+        /**
+         * @return the type of the condition
+         */
+        Type getType() {
+            return TYPE;
+        }
+
+        /**
+         * @return the value the condition is checked against, 0 if the condition takes no value
+         */
+        int getValue() {
+            return VALUE;
+        }
+
+        /**
+         * All condition types. {@linkplain #CST} is checked against the card the effect is applied to rather than the
+         * origin card.
+         */
+        enum Type {
+            USDCRD(true), OVRFLW(false), ATKED(false), NEC(true), VENG(false), GRAVE(true), CONATK(true),
+            COMFLD(false), ACTIVATED(false), ENEFOL(true), CST(true);
+
+            private final boolean HAS_VALUE;
+
+            Type(boolean hasValue) {
+                HAS_VALUE = hasValue;
+            }
+        }
+    }
+
+    /**
+     * This class is the compiled form of a variable string such as {@code HND} or {@code NEC?2?4?2}, whose actual value
+     * depends on the game status when the effect is processed. Plain integers are compiled to {@linkplain
+     * Type#CONSTANT} variables. It is evaluated by {@linkplain EffectLib}.
+     */
+    static final class Variable {
+        private final Type TYPE;
+        private final int[] VALUES;
+        private final Condition CONDITION;
+
+        private Variable(Type type, int[] values, Condition condition) {
+            TYPE = type;
+            VALUES = values;
+            CONDITION = condition;
+        }
+
+        /**
+         * @param text the variable string
+         * @return the compiled variable
+         * @throws IllegalArgumentException if the variable does not exist
+         */
+        static Variable compile(String text) {
+            try {
+                return new Variable(Type.CONSTANT, new int[]{Integer.parseInt(text)}, null);
+            } catch (NumberFormatException e) {
+                // Not a number, so the text names a variable type and is compiled below
+            }
+
+            String[] variable = text.split("\\?");
+            Type type;
+
+            try {
+                type = Type.valueOf(variable[0]);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("VARIABLE NOT FOUND: " + text);
+            }
+
+            switch (type) {
+                case NEC:
+                    return new Variable(type, new int[]{Integer.parseInt(variable[1]), Integer.parseInt(variable[2]),
+                            Integer.parseInt(variable[3])}, null);
+
+                case COND:
+                    return new Variable(type, new int[]{Integer.parseInt(variable[3]), Integer.parseInt(variable[4])},
+                            Condition.compile(variable[1] + "?" + variable[2]));
+
+                default:
+                    return new Variable(type, NO_INTS, null);
+            }
+        }
+
+        /**
+         * @return the type of the variable
+         */
+        Type getType() {
+            return TYPE;
+        }
+
+        /**
+         * The values of the variable are the constant for {@linkplain Type#CONSTANT}; the necromancy cost, the
+         * necromancy value and the original value for {@linkplain Type#NEC}; and the value when the condition is not
+         * met followed by the value when it is met for {@linkplain Type#COND}.
+         *
+         * @param index the index of the value
+         * @return the value
+         */
+        int getValue(int index) {
+            return VALUES[index];
+        }
+
+        /**
+         * @return the condition of a {@linkplain Type#COND} variable, null for other types
+         */
+        Condition getCondition() {
+            return CONDITION;
+        }
+
+        /**
+         * All variable types.
+         */
+        enum Type {
+            CONSTANT, FRIFOLONFLD, NEC, HND, ENELEDONE, USDCRD, ORGATK, COND, FRIOFFONFLD, ENEFOL
+        }
+    }
+}
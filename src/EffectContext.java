@@ -0,0 +1,133 @@
+import java.util.SplittableRandom;
+
+/**
+ * This class holds everything {@linkplain EffectLib} needs to resolve one effect: the effect itself, the game it takes
+ * place in, the origin card and both players. A new context is created for every effect sent to {@linkplain
+ * EffectLib#processEffect(EffectContext)}, and the same context is passed to {@linkplain
+ * EffectLib#proceedEffect(EffectContext, Card, Player)} once a target has been selected.
+ *
+ * <p>Since no effect state is shared between contexts, effects of different games can be resolved concurrently on
+ * different threads.</p>
+ *
+ * @see EffectLib
+ * @see GameEngine
+ */
+final class EffectContext implements Journaled {
+    /**
+     * The number of {@linkplain #parameter} in the {@linkplain Journal}.
+     */
+    private static final int PARAMETER = 0;
+    private final Effect EFFECT;
+    private final GameEngine GAME;
+    private final Player SOURCE_PLAYER, OPPONENT_PLAYER;
+    private final Card SOURCE_CARD;
+    /**
+     * The extra requirement value of the target selection, e.g. the health limit of {@linkplain
+     * EffectLib.Response#ENEMY_FOLLOWER_HP_LESS}. {@linkplain Integer#MIN_VALUE} represents that it is not set.
+     */
+    private int parameter = Integer.MIN_VALUE;
+
+    /**
+     * The constructor initializes the context of an effect.
+     *
+     * @param effect       the compiled effect to be processed
+     * @param source       the origin card of the effect
+     * @param game         the game engine reference
+     * @param originPlayer the player that owns the origin card
+     * @param oppoPlayer   the opponent player to the origin player
+     */
+    EffectContext(Effect effect, Card source, GameEngine game, Player originPlayer, Player oppoPlayer) {
+        EFFECT = effect;
+        SOURCE_CARD = source;
+        GAME = game;
+        SOURCE_PLAYER = originPlayer;
+        OPPONENT_PLAYER = oppoPlayer;
+    }
+
+    /**
+     * The copy constructor moves the context of an effect to a copy of its game.
+     *
+     * @param other        the context to be copied
+     * @param source       the copy of the origin card
+     * @param game         the copy of the game
+     * @param originPlayer the copy of the player that owns the origin card
+     * @param oppoPlayer   the copy of the opponent player
+     */
+    EffectContext(EffectContext other, Card source, GameEngine game, Player originPlayer, Player oppoPlayer) {
+        this(other.EFFECT, source, game, originPlayer, oppoPlayer);
+        parameter = other.parameter;
+    }
+
+    /**
+     * @return the compiled effect being processed
+     */
+    Effect getEffect() {
+        return EFFECT;
+    }
+
+    /**
+     * @return the game engine the effect takes place in
+     */
+    GameEngine getGame() {
+        return GAME;
+    }
+
+    /**
+     * @return the random source of the game the effect takes place in
+     */
+    SplittableRandom getRandom() {
+        return GAME.getRandom();
+    }
+
+    /**
+     * @return the player that owns the origin card
+     */
+    Player getSourcePlayer() {
+        return SOURCE_PLAYER;
+    }
+
+    /**
+     * @return the opponent player to the origin player
+     */
+    Player getOpponentPlayer() {
+        return OPPONENT_PLAYER;
+    }
+
+    /**
+     * @return the origin card of the effect
+     */
+    Card getSourceCard() {
+        return SOURCE_CARD;
+    }
+
+    /**
+     * @return the extra requirement value of the target selection
+     * @throws IllegalStateException if the parameter has not been set by the effect
+     */
+    int getParameter() {
+        if (parameter != Integer.MIN_VALUE)
+            return parameter;
+        else
+            throw new IllegalStateException("PARAMETER NOT INITIALIZED!");
+    }
+
+    /**
+     * @param para the extra requirement value of the target selection
+     */
+    void setParameter(int para) {
+        Journal journal = GAME.getJournal();
+
+        if (journal != null)
+            journal.record(this, PARAMETER, parameter);
+
+        parameter = para;
+    }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        if (field == PARAMETER)
+            parameter = value;
+        else
+            throw new IllegalArgumentException("UNKNOWN EFFECT CONTEXT FIELD " + field);
+    }
+}
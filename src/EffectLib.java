@@ -1,20 +1,18 @@
 /**
- * This class collaborates with {@linkplain Game} class and processes all effects. It also provides target selection
+ * This class collaborates with {@linkplain GameEngine} class and processes all effects. It also provides target selection
  * requirements for targeting effect and string descriptions for all effects. This class is only to be accessed the
  * static way.
  *
+ * <p>This class keeps no state of its own. Everything about the effect being processed is carried by an {@linkplain
+ * EffectContext}, so the methods are re-entrant and safe to use from several games at once.</p>
+ *
  * <p>All uncommented methods are functional methods for different effects to actually execute. They are basic
- * individual simple effects and are invoked through and only through {@linkplain #processEffect(String, Card, Game,
- * Player, Player)} and {@linkplain #proceedEffect(Card, Player)}.</p>
+ * individual simple effects and are invoked through and only through {@linkplain #processEffect(EffectContext)} and
+ * {@linkplain #proceedEffect(EffectContext, Card, Player)}.</p>
  *
- * @see Game#sendEffect(String, Card, Player, Card, Player)
+ * @see GameEngine#sendEffect(Effect, Card, Player, Card, Player)
  */
 public final class EffectLib {
-    private static String[] efxInfo;
-    private static Game game;
-    private static Player sourcePlayer, opponentPlayer;
-    private static Card sourceCard;
-
     private EffectLib() {
 
     }
@@ -26,8 +24,8 @@ public final class EffectLib {
      * @param source the origin card of the effect
      * @return the string description of the card
      */
-    public static String getEffectDescription(String effect, Card source) {
-        String[] effectInfo = effect.split("@");
+    public static String getEffectDescription(Effect effect, Card source) {
+        String[] effectInfo = effect.toString().split("@");
 
         switch (effectInfo[0]) {
             case "DMGENEFOL":
@@ -48,7 +46,7 @@ public final class EffectLib {
             case "PUTFOL":
                 return "Put " + effectInfo[2] + " " + effectInfo[1] + " into your hand";
 
-            case "GVEEFXBUFSLFFCOND":
+            case "GVEEFXBUFSLFCOND":
                 return getConditionString(effectInfo[4]) +
                         "gain +" + effectInfo[2] + "/+" + effectInfo[3] + " and " + effectInfo[1];
 
@@ -59,7 +57,7 @@ public final class EffectLib {
             case "BUFSLF":
                 return "Gain +" + effectInfo[1] + "/+" + effectInfo[2];
 
-            case "RTNFOLTOHND":
+            case "RTNFOL":
                 return "Return another follower to its owner's hand";
 
             case "BUFSLFCOND":
@@ -370,760 +368,764 @@ public final class EffectLib {
 
     }
 
-    /**
-     * This methods cleans up all effect variables so that the next effect will not be affected
-     */
-    private static void reset() {
-        game = null;
-        sourcePlayer = null;
-        opponentPlayer = null;
-        efxInfo = null;
-    }
-
     /**
      * This methods processes the effect. All effects must be passed to this method first. It returns the result of the
-     * process for the {@linkplain Game} class to further process. The method will call {@linkplain #reset()} if the
-     * effect is completely processed.
+     * process for the {@linkplain GameEngine} class to further process. If further target selection is required, the
+     * same context is to be passed to {@linkplain #proceedEffect(EffectContext, Card, Player)} afterwards.
      *
-     * @param effect       effect to be processed
-     * @param source       the origin card of the effect
-     * @param g            the game object reference
-     * @param originPlayer the player that owns the origin card
-     * @param oppoPlayer   the opponent player to the origin player
+     * @param context the context of the effect to be processed
      * @return the response of the effect process. {@linkplain Response#DONE} if the effect is successfully processed.
      * {@linkplain Response#FAIL} if the effect failed to execute(due to unmet effect activation requirements). All
      * other return values indicates that further target selection is required to proceed the effect.
      * @see Response
      */
-    public static Response processEffect(String effect, Card source, Game g, Player originPlayer, Player oppoPlayer) {
-        game = g;
-        sourcePlayer = originPlayer;
-        opponentPlayer = oppoPlayer;
-        sourceCard = source;
-        efxInfo = effect.split("@");
+    public static Response processEffect(EffectContext context) {
+        Effect effect = context.getEffect();
+        Player sourcePlayer = context.getSourcePlayer();
+        Player opponentPlayer = context.getOpponentPlayer();
+        Card sourceCard = context.getSourceCard();
         sourceCard.effectActivated();
 
-        switch (efxInfo[0]) {
-            case "DMGENEFOL":
+        switch (effect.getCode()) {
+            case DMGENEFOL:
                 return Response.ENEMY_FOLLOWER;
 
-            case "DRWCRD":
-                drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[1]));
+            case DRWCRD:
+                drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(0));
                 break;
 
-            case "RDMBUFFRIFOL":
-                randomBuffFriendlyFollower(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case RDMBUFFRIFOL:
+                randomBuffFriendlyFollower(context, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "DMGENELED":
-                damageEnemyLeader(Integer.parseInt(efxInfo[1]));
+            case DMGENELED:
+                damageEnemyLeader(context, effect.getInt(0));
                 break;
 
-            case "DMGALLENEFOL":
-                damagePlayerFollowers(Integer.parseInt(efxInfo[1]), opponentPlayer);
+            case DMGALLENEFOL:
+                damagePlayerFollowers(effect.getInt(0), opponentPlayer);
                 break;
 
-            case "PUTFOL":
-                putFollower(efxInfo[1], Integer.parseInt(efxInfo[2]));
+            case PUTFOL:
+                putFollower(context, effect.getCard(0), effect.getInt(0));
                 break;
 
-            case "GVEEFXBUFSLFCOND":
-                if (willActivate(efxInfo[4])) {
-                    grantSimpleEffect((Follower) sourceCard, efxInfo[1]);
-                    buffFollower((Follower) sourceCard, Integer.parseInt(efxInfo[2]), Integer.parseInt(efxInfo[3]));
+            case GVEEFXBUFSLFCOND:
+                if (willActivate(context, effect.getCondition())) {
+                    grantSimpleEffect((Follower) sourceCard, effect.getSimpleEffect());
+                    buffFollower(context, (Follower) sourceCard, effect.getInt(0), effect.getInt(1));
                 } else
                     return Response.FAIL;
                 break;
 
-            case "DMGENEFOLCOND":
-                if (willActivate(efxInfo[2]))
+            case DMGENEFOLCOND:
+                if (willActivate(context, effect.getCondition()))
                     return Response.ENEMY_FOLLOWER;
                 else
                     return Response.FAIL;
 
-            case "DMGENEFOLPUTFOL":
+            case DMGENEFOLPUTFOL:
                 return Response.ENEMY_FOLLOWER;
 
-            case "BUFSLF":
-                buffFollower((Follower) sourceCard, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case BUFSLF:
+                buffFollower(context, (Follower) sourceCard, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "RTNFOLTOHND":
+            case RTNFOL:
                 return Response.ANY_FOLLOWER;
 
-            case "BUFSLFCOND":
-                if (willActivate(efxInfo[3]))
-                    buffFollower((Follower) sourceCard, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case BUFSLFCOND:
+                if (willActivate(context, effect.getCondition()))
+                    buffFollower(context, (Follower) sourceCard, effect.getInt(0), effect.getInt(1));
                 else
                     return Response.FAIL;
                 break;
 
-            case "DMGRDMMULENEFOL":
-                for (int n = 0; n < Integer.parseInt(efxInfo[2]); n++)
-                    randomDamageEnemyFollower(Integer.parseInt(efxInfo[1]));
+            case DMGRDMMULENEFOL:
+                for (int n = 0; n < effect.getInt(1); n++)
+                    randomDamageEnemyFollower(context, effect.getInt(0));
                 break;
 
-            case "BUFFFRIFOLCOND":
-                if (willActivate(efxInfo[3]))
+            case BUFFRIFOLCOND:
+                if (willActivate(context, effect.getCondition()))
                     return Response.FRIENDLY_FOLLOWER;
                 else
                     return Response.FAIL;
 
-            case "SUMFOL":
-                for (int n = 1; n < efxInfo.length; n++)
-                    summonFollower(efxInfo[n]);
+            case SUMFOL:
+                for (int n = 0; n < effect.getCardCount(); n++)
+                    summonFollower(context, effect.getCard(n));
                 break;
 
-            case "DMGENEFOLVAR":
+            case DMGENEFOLVAR:
                 return Response.ENEMY_FOLLOWER;
 
-            case "BUFFRIFOL":
+            case BUFFRIFOL:
                 return Response.FRIENDLY_FOLLOWER;
 
-            case "BUFFRIOFF":
+            case BUFFRIOFF:
                 return Response.FRIENDLY_OFFICER;
 
-            case "BUFFRIOFFETR":
+            case BUFFRIOFFETR:
                 return Response.FRIENDLY_OFFICER_ENTRANCE;
 
-            case "BUFALLFRIOFF":
-                buffAllFriendlyOfficer(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case BUFALLFRIOFF:
+                buffAllFriendlyOfficer(context, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "BUFALLFRIFOL":
-                buffAllFriendlyFollower(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case BUFALLFRIFOL:
+                buffAllFriendlyFollower(context, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "BTHDRWCRD":
-                if (drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[1])))
-                    drawCard(opponentPlayer, sourcePlayer, Integer.parseInt(efxInfo[1]));
+            case BTHDRWCRD:
+                if (drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(0)))
+                    drawCard(context, opponentPlayer, sourcePlayer, effect.getInt(0));
                 break;
 
-            case "DMGENEFOLDRWCRD":
+            case DMGENEFOLDRWCRD:
                 return Response.ENEMY_FOLLOWER;
 
-            case "DMGENEFOLBSTDMG":
+            case DMGENEFOLBSTDMG:
                 return Response.ENEMY_FOLLOWER;
 
-            case "SUMFOLBSTNUM":
+            case SUMFOLBSTNUM:
                 for (int n = 0; n < 1 + sourceCard.getBoostAmount(); n++)
-                    summonFollower(efxInfo[1]);
+                    summonFollower(context, effect.getCard(0));
                 break;
 
-            case "KILENEFOLBSTCST":
+            case KILENEFOLBSTCST:
                 return Response.ENEMY_FOLLOWER;
 
-            case "SUMMULFOL":
-                for (int n = 0; n < Integer.parseInt(efxInfo[2]); n++)
-                    summonFollower(efxInfo[1]);
+            case SUMMULFOL:
+                for (int n = 0; n < effect.getInt(0); n++)
+                    summonFollower(context, effect.getCard(0));
                 break;
 
-            case "BSTCST":
+            case BSTCST:
                 break;
 
-            case "INCCSTDRWCRDCOND":
-                if (willActivate(efxInfo[2]))
-                    drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[1]));
-                increaseMaxCost();
+            case INCCSTDRWCRDCOND:
+                if (willActivate(context, effect.getCondition()))
+                    drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(0));
+                increaseMaxCost(context);
                 break;
 
-            case "GVEEFXCOND":
-                if (willActivate(efxInfo[2]))
-                    grantSimpleEffect((Follower) sourceCard, efxInfo[1]);
+            case GVEEFXCOND:
+                if (willActivate(context, effect.getCondition()))
+                    grantSimpleEffect((Follower) sourceCard, effect.getSimpleEffect());
                 else
                     return Response.FAIL;
                 break;
 
-            case "DMGALLFOL":
-                damagePlayerFollowers(Integer.parseInt(efxInfo[1]), opponentPlayer);
-                damagePlayerFollowers(Integer.parseInt(efxInfo[1]), sourcePlayer);
+            case DMGALLFOL:
+                damagePlayerFollowers(effect.getInt(0), opponentPlayer);
+                damagePlayerFollowers(effect.getInt(0), sourcePlayer);
                 break;
 
-            case "ADDNEC":
-                addNecromancy(sourcePlayer.getGrave(), Integer.parseInt(efxInfo[1]));
+            case ADDNEC:
+                addNecromancy(sourcePlayer.getGrave(), effect.getInt(0));
                 break;
 
-            case "SUMFOLCOND":
-                if (willActivate(efxInfo[2]))
-                    summonFollower(efxInfo[1]);
+            case SUMFOLCOND:
+                if (willActivate(context, effect.getCondition()))
+                    summonFollower(context, effect.getCard(0));
                 else
                     return Response.FAIL;
                 break;
 
-            case "SLFBAN":
-                banishFollower((Follower) sourceCard, sourcePlayer);
+            case SLFBAN:
+                banishFollower(context, (Follower) sourceCard, sourcePlayer);
                 break;
 
-            case "KILENEFOLSUMFOLCOND":
+            case KILENEFOLSUMFOLCOND:
                 return Response.ENEMY_FOLLOWER;
 
-            case "GVERDMFRIFOLEFX":
-                grantRandomPlayerFollowerSimpleEffect(sourcePlayer, efxInfo[1]);
+            case GVERDMFRIFOLEFX:
+                grantRandomPlayerFollowerSimpleEffect(context, sourcePlayer, effect.getSimpleEffect());
                 break;
 
-            case "DMGSLFLEDDRWCRD":
-                if (damageSelfLeader(Integer.parseInt(efxInfo[1])))
-                    drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[2]));
+            case DMGSLFLEDDRWCRD:
+                if (damageSelfLeader(context, effect.getInt(0)))
+                    drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(1));
                 break;
 
-            case "DMGSLFLEDDMGENETAR":
+            case DMGSLFLEDDMGENETAR:
                 return Response.ENEMY_FOLLOWER_OR_LEADER;
 
-            case "DMGSLFLED":
-                damageSelfLeader(Integer.parseInt(efxInfo[1]));
+            case DMGSLFLED:
+                damageSelfLeader(context, effect.getInt(0));
                 break;
 
-            case "DMGENEFOLHELSLFLED":
-                healSelfLeader(Integer.parseInt(efxInfo[2]));
+            case DMGENEFOLHELSLFLED:
+                healSelfLeader(context, effect.getInt(1));
                 return Response.ENEMY_FOLLOWER;
 
-            case "DMGSLFLEDKILENEFOL":
+            case DMGSLFLEDKILENEFOL:
                 return Response.ENEMY_FOLLOWER;
 
-            case "DMGALL":
-                damageAll(Integer.parseInt(efxInfo[1]));
+            case DMGALL:
+                damageAll(context, effect.getInt(0));
                 break;
 
-            case "DECCDDRWCRD":
-                if (drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[2])))
+            case DECCDDRWCRD:
+                if (drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(1)))
                     return Response.FRIENDLY_CD_AMULET;
                 break;
 
-            case "BANENEFOLHPLES":
-                Response.setParameter(Integer.parseInt(efxInfo[1]));
+            case BANENEFOLHPLES:
+                context.setParameter(effect.getInt(0));
                 return Response.ENEMY_FOLLOWER_HP_LESS;
 
-            case "DECCDALL":
-                decreaseAllCountDown(Integer.parseInt(efxInfo[1]));
+            case DECCDALL:
+                decreaseAllCountDown(context, effect.getInt(0));
                 break;
 
-            case "BANENEFOL":
+            case BANENEFOL:
                 return Response.ENEMY_FOLLOWER;
 
-            case "HELSLFLED":
-                healSelfLeader(Integer.parseInt(efxInfo[1]));
+            case HELSLFLED:
+                healSelfLeader(context, effect.getInt(0));
                 break;
 
-            case "DISHNDDRWHND":
+            case DISHNDDRWHND:
                 int amount = sourcePlayer.getHand().size();
-                discardHand();
-                drawCard(sourcePlayer, opponentPlayer, amount);
+                discardHand(context);
+                drawCard(context, sourcePlayer, opponentPlayer, amount);
                 break;
 
-            case "DMGENEALL":
-                damageAllEnemy(Integer.parseInt(efxInfo[1]));
+            case DMGENEALL:
+                damageAllEnemy(context, effect.getInt(0));
                 break;
 
-            case "KILFOLREVFOL":
+            case KILFOLREVFOL:
                 return Response.ANY_FOLLOWER;
 
-            case "DMGENEALLCOND":
-                if (willActivate(efxInfo[2]))
-                    damageAllEnemy(Integer.parseInt(efxInfo[1]));
+            case DMGENEALLCOND:
+                if (willActivate(context, effect.getCondition()))
+                    damageAllEnemy(context, effect.getInt(0));
                 break;
 
-            case "DMGALLFRIFOL":
-                damagePlayerFollowers(Integer.parseInt(efxInfo[1]), sourcePlayer);
+            case DMGALLFRIFOL:
+                damagePlayerFollowers(effect.getInt(0), sourcePlayer);
                 break;
 
-            case "KILENEFOLAMU":
+            case KILENEFOLAMU:
                 return Response.ENEMY_FOLLOWER_OR_AMULET;
 
-            case "BUFSLFVARDISHND":
-                for (int n = 0; n < getVariable(efxInfo[3]); n++)
-                    buffFollower((Follower) sourceCard, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
-                discardHand();
+            case BUFSLFVARDISHND:
+                for (int n = 0; n < getVariable(context, effect.getVariable(0)); n++)
+                    buffFollower(context, (Follower) sourceCard, effect.getInt(0), effect.getInt(1));
+                discardHand(context);
                 break;
 
-            case "DMGENETARHELSLFLED":
+            case DMGENETARHELSLFLED:
                 return Response.ENEMY_FOLLOWER_OR_LEADER;
 
-            case "LUCIFER":
+            case LUCIFER:
                 sourceCard.changeEffect();
                 break;
 
-            case "DMGENELEDVAR":
-                damageEnemyLeader(getVariable(efxInfo[1]));
+            case DMGENELEDVAR:
+                damageEnemyLeader(context, getVariable(context, effect.getVariable(0)));
                 break;
 
-            case "REPDEK":
-                replaceDeck(efxInfo[1]);
+            case REPDEK:
+                replaceDeck(context, effect.getName(0));
                 break;
 
-            case "DMGRDMENEFOL":
-                randomDamageEnemyFollower(Integer.parseInt(efxInfo[1]));
+            case DMGRDMENEFOL:
+                randomDamageEnemyFollower(context, effect.getInt(0));
                 break;
 
-            case "RTNFRIFOLAMUDRWCRD":
+            case RTNFRIFOLAMUDRWCRD:
                 return Response.FRIENDLY_FOLLOWER_OR_AMULET;
 
-            case "BUFRDMFRIFOLCOND":
-                if (willActivate(efxInfo[3])) {
+            case BUFRDMFRIFOLCOND:
+                if (willActivate(context, effect.getCondition())) {
                     Card randomSelection;
                     Field targetField = sourcePlayer.getField();
 
                     if (targetField.size() > 1) {
                         do {
-                            randomSelection = targetField.get((int) (Math.random() * targetField.size()));
+                            randomSelection = targetField.get(context.getRandom().nextInt(targetField.size()));
                         }
                         while (!(randomSelection instanceof Follower) || ((Follower) randomSelection).getAttack() != 1);
 
-                        ((Follower) randomSelection).buff(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]), sourceCard);
+                        ((Follower) randomSelection).buff(effect.getInt(0), effect.getInt(1), sourceCard);
                     }
                 }
                 break;
 
-            case "RTNFRIFOLAMU":
+            case RTNFRIFOLAMU:
                 return Response.FRIENDLY_FOLLOWER_OR_AMULET;
 
-            case "CHGCST":
-                changeCost(sourcePlayer, efxInfo[1], Integer.parseInt(efxInfo[2]));
+            case CHGCST:
+                changeCost(sourcePlayer, effect.getCard(0), effect.getInt(0));
                 break;
 
-            case "DRWCRDCOND":
-                if (willActivate(efxInfo[2]))
-                    drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[1]));
+            case DRWCRDCOND:
+                if (willActivate(context, effect.getCondition()))
+                    drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(0));
                 break;
 
-            case "GVEALLFRIFOLEFX":
-                grantAllPlayerFollowerSimpleEffect(sourcePlayer, efxInfo[1]);
+            case GVEALLFRIFOLEFX:
+                grantAllPlayerFollowerSimpleEffects(sourcePlayer, effect.getSimpleEffect().MASK);
                 break;
 
-            case "REVALLFRIFOLEFX":
-                revokeAllPlayerFollowerSimpleEffect(sourcePlayer, efxInfo[1]);
+            case REVALLFRIFOLEFX:
+                revokeAllPlayerFollowerSimpleEffects(sourcePlayer, effect.getSimpleEffect().MASK);
                 break;
 
-            case "GVEEFX":
-                grantSimpleEffect((Follower) sourceCard, efxInfo[1]);
+            case GVEEFX:
+                grantSimpleEffect((Follower) sourceCard, effect.getSimpleEffect());
                 break;
 
-            case "BUFSLFVAR":
-                buffFollower((Follower) sourceCard, getVariable(efxInfo[1]), getVariable(efxInfo[2]));
+            case BUFSLFVAR:
+                buffFollower(context, (Follower) sourceCard, getVariable(context, effect.getVariable(0)),
+                        getVariable(context, effect.getVariable(1)));
                 break;
 
-            case "CHGSLFATKVAR":
-                changeFollowerAttack((Follower) sourceCard, getVariable(efxInfo[1]));
+            case CHGSLFATKVAR:
+                changeFollowerAttack((Follower) sourceCard, getVariable(context, effect.getVariable(0)));
                 break;
 
-            case "RTNFRIFOLRDMRTNENEFOL":
+            case RTNFRIFOLRDMRTNENEFOL:
                 return Response.FRIENDLY_FOLLOWER_OR_AMULET;
 
-            case "CHGENEFOLHP":
+            case CHGENEFOLHP:
                 return Response.ENEMY_FOLLOWER;
 
-            case "GVERDMENEFOLEFX":
-                grantRandomPlayerFollowerSimpleEffect(opponentPlayer, efxInfo[1]);
+            case GVERDMENEFOLEFX:
+                grantRandomPlayerFollowerSimpleEffect(context, opponentPlayer, effect.getSimpleEffect());
                 break;
 
-            case "GVEENEFOLEFX":
+            case GVEENEFOLEFX:
                 return Response.ENEMY_FOLLOWER;
 
-            case "KILENEAMUCOND":
-                if (willActivate(efxInfo[1]))
+            case KILENEAMUCOND:
+                if (willActivate(context, effect.getCondition()))
                     return Response.ENEMY_AMULET;
                 break;
 
-            case "BUFSLFVARRTNALLFRIFOL":
-                buffFollower((Follower) sourceCard, getVariable(efxInfo[1]), getVariable(efxInfo[1]));
+            case BUFSLFVARRTNALLFRIFOL:
+                buffFollower(context, (Follower) sourceCard, getVariable(context, effect.getVariable(0)),
+                        getVariable(context, effect.getVariable(0)));
                 returnPlayerFollowersToHand(sourcePlayer);
                 break;
 
-            case "PUTFOLCHGCST":
-                putChangedCostFollower(efxInfo[1], Integer.parseInt(efxInfo[2]), Integer.parseInt(efxInfo[3]));
+            case PUTFOLCHGCST:
+                putChangedCostFollower(context, effect.getCard(0), effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "CHGETRCRD":
+            case CHGETRCRD:
                 return Response.FRIENDLY_FOLLOWER_ENTRANCE;
 
-            case "CHGENEFLDHPCOND":
-                if (willActivate(efxInfo[2]))
+            case CHGENEFLDHPCOND:
+                if (willActivate(context, effect.getCondition()))
                     for (Card c : opponentPlayer.getField())
                         if (c instanceof Follower)
-                            changeFollowerHealth((Follower) c, Integer.parseInt(efxInfo[1]));
+                            changeFollowerHealth((Follower) c, effect.getInt(0));
                 break;
 
-            case "DMGFIGENEFOL":
+            case DMGFIGENEFOL:
                 return Response.FIGHTING_ENEMY;
 
-            case "DMGRDMMULENEFOLVAR":
-                int damage = Integer.parseInt(efxInfo[1]);
-                for (int n = 0; n < getVariable(efxInfo[2]); n++)
-                    randomDamageEnemyFollower(damage);
+            case DMGRDMMULENEFOLVAR:
+                int damage = effect.getInt(0);
+                for (int n = 0; n < getVariable(context, effect.getVariable(0)); n++)
+                    randomDamageEnemyFollower(context, damage);
                 break;
 
-            case "FREEVOFOL":
+            case FREEVOFOL:
                 return Response.FRIENDLY_FOLLOWER_ENTRANCE;
 
-            case "EVOSLFCOND":
-                if (willActivate(efxInfo[1]))
+            case EVOSLFCOND:
+                if (willActivate(context, effect.getCondition()))
                     ((Follower) sourceCard).evolve();
                 break;
 
-            case "HELSLFLEDVAR":
-                healSelfLeader(getVariable(efxInfo[1]));
+            case HELSLFLEDVAR:
+                healSelfLeader(context, getVariable(context, effect.getVariable(0)));
                 break;
 
-            case "PUTHNDFULFOL":
+            case PUTHNDFULFOL:
                 while (true)
-                    if (!(sourcePlayer.getHand().add(CardLib.getCard(efxInfo[1])))) break;
+                    if (!(sourcePlayer.getHand().add(CardLib.getCard(effect.getCard(0))))) break;
                 break;
 
-            case "GVEALLENEFOLEFX":
-                grantAllPlayerFollowerSimpleEffect(opponentPlayer, efxInfo[1]);
+            case GVEALLENEFOLEFX:
+                grantAllPlayerFollowerSimpleEffects(opponentPlayer, effect.getSimpleEffect().MASK);
                 break;
 
-            case "RTNALLFOL":
+            case RTNALLFOL:
                 returnPlayerFollowersToHand(sourcePlayer);
                 returnPlayerFollowersToHand(opponentPlayer);
                 break;
 
-            case "TRAALLHNDCRD":
-                transformHandCard(sourcePlayer, efxInfo[1], efxInfo[2]);
+            case TRAALLHNDCRD:
+                transformHandCard(sourcePlayer, effect.getCard(0), effect.getCard(1));
                 break;
 
-            case "DRWCRDDMGENETARVAR":
-                if (drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[1])))
+            case DRWCRDDMGENETARVAR:
+                if (drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(0)))
                     return Response.ENEMY_FOLLOWER_OR_LEADER;
                 break;
 
-            case "DMGENETAR":
+            case DMGENETAR:
                 return Response.ENEMY_FOLLOWER_OR_LEADER;
 
-            case "BUFRDMFRIOFF":
-                randomBuffFriendlyOfficer(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case BUFRDMFRIOFF:
+                randomBuffFriendlyOfficer(context, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "BUFSLFCOMETR":
+            case BUFSLFCOMETR:
                 return Response.FRIENDLY_COMMANDER_ENTRANCE;
 
-            case "GVESLFEFXCOND":
-                if (willActivate(efxInfo[2]))
-                    grantSimpleEffect((Follower) sourceCard, efxInfo[1]);
+            case GVESLFEFXCOND:
+                if (willActivate(context, effect.getCondition()))
+                    grantSimpleEffect((Follower) sourceCard, effect.getSimpleEffect());
                 break;
 
-            case "DRWRDMCOM":
-                drawRandomSwordCraft(Trait.SwordCraftTrait.COMMANDER, Integer.parseInt(efxInfo[1]));
+            case DRWRDMCOM:
+                drawRandomSwordCraft(context, Trait.SwordCraftTrait.COMMANDER, effect.getInt(0));
                 break;
 
-            case "GVEFRICOMEFX":
+            case GVEFRICOMEFX:
                 return Response.FRIENDLY_COMMANDER;
 
-            case "BUFALLFRIFOLCOND":
-                if (willActivate(efxInfo[3]))
-                    buffAllFriendlyFollower(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case BUFALLFRIFOLCOND:
+                if (willActivate(context, effect.getCondition()))
+                    buffAllFriendlyFollower(context, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "BUFONECSTFRIFOL":
+            case BUFONECSTFRIFOL:
                 return Response.FRIENDLY_COST_ONE_FOLLOWER;
 
-            case "DRWRDMOFFVAR":
-                drawRandomSwordCraft(Trait.SwordCraftTrait.OFFICER, getVariable(efxInfo[1]));
+            case DRWRDMOFFVAR:
+                drawRandomSwordCraft(context, Trait.SwordCraftTrait.OFFICER,
+                        getVariable(context, effect.getVariable(0)));
                 break;
 
-            case "SUMFOLCOMETR":
+            case SUMFOLCOMETR:
                 return Response.FRIENDLY_COMMANDER_ENTRANCE;
 
-            case "GVEALLFRIOFFEFX":
-                grantAllOfficerSimpleEffect(efxInfo[1]);
+            case GVEALLFRIOFFEFX:
+                grantAllOfficerSimpleEffect(context, effect.getSimpleEffect());
                 break;
 
-            case "SUMCSTDEKFOL":
-                summonGivenCostRandomFollower(Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+            case SUMCSTDEKFOL:
+                summonGivenCostRandomFollower(context, effect.getInt(0), effect.getInt(1));
                 break;
 
-            case "KILENEATKFOL":
-                Response.setParameter(Integer.parseInt(efxInfo[1]));
+            case KILENEATKFOL:
+                context.setParameter(effect.getInt(0));
                 return Response.ENEMY_FOLLOWER_ATK_MORE;
 
-            case "GVEETROFFEFX":
+            case GVEETROFFEFX:
                 return Response.FRIENDLY_OFFICER_ENTRANCE;
 
-            case "DRWCRDVAR":
-                drawCard(sourcePlayer, opponentPlayer, getVariable(efxInfo[1]));
+            case DRWCRDVAR:
+                drawCard(context, sourcePlayer, opponentPlayer, getVariable(context, effect.getVariable(0)));
                 break;
 
-            case "BUFSLFGVESLFEFXVARCOND":
-                buffFollower((Follower) sourceCard, getVariable(efxInfo[2]), 0);
-                if (willActivate(efxInfo[2]))
-                    grantSimpleEffect((Follower) sourceCard, efxInfo[1]);
+            case BUFSLFGVESLFEFXVARCOND:
+                buffFollower(context, (Follower) sourceCard, getVariable(context, effect.getVariable(0)), 0);
+                if (willActivate(context, effect.getCondition()))
+                    grantSimpleEffect((Follower) sourceCard, effect.getSimpleEffect());
                 break;
 
-            case "GVEETRFRIFOLEFXCOND":
+            case GVEETRFRIFOLEFXCOND:
                 return Response.FRIENDLY_FOLLOWER_ENTRANCE;
 
-            case "SUMEFXFOL":
-                Follower follower = (Follower) CardLib.getCard(efxInfo[1]);
-                grantSimpleEffect(follower, efxInfo[2]);
+            case SUMEFXFOL:
+                Follower follower = (Follower) CardLib.getCard(effect.getCard(0));
+                grantSimpleEffect(follower, effect.getSimpleEffect());
                 sourcePlayer.getField().add(follower);
                 break;
 
-            case "SUMFULFLDFOL":
+            case SUMFULFLDFOL:
                 while (sourcePlayer.getField().size() < Field.MAXIMUM_FIELD_SIZE - 1)
-                    summonFollower(efxInfo[1]);
+                    summonFollower(context, effect.getCard(0));
                 break;
 
             default:
-                throw new IllegalArgumentException("NO EFX FOUND: " + efxInfo[0]);
+                throw new IllegalArgumentException("NO EFX FOUND: " + effect);
 
         }
 
-        reset();
         return Response.DONE;
     }
 
     /**
      * This method takes the card player selected as effect target and proceeds the unfinished effect processing.
-     * {@linkplain #reset()} is called at the end to clear up.
      *
-     * @param card  the selected card target
-     * @param owner the owner of the card target
+     * @param context the context of the unfinished effect, as previously passed to {@linkplain
+     *                #processEffect(EffectContext)}
+     * @param card    the selected card target
+     * @param owner   the owner of the card target
      */
-    public static void proceedEffect(Card card, Player owner) {
-
-        if (efxInfo != null && card != null) {
-            switch (efxInfo[0]) {
-                case "DMGENEFOL":
-                    damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+    public static void proceedEffect(EffectContext context, Card card, Player owner) {
+        Effect effect = context.getEffect();
+        Player sourcePlayer = context.getSourcePlayer();
+        Player opponentPlayer = context.getOpponentPlayer();
+        Card sourceCard = context.getSourceCard();
+
+        if (card != null) {
+            switch (effect.getCode()) {
+                case DMGENEFOL:
+                    damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "DMGENEFOLCOND":
-                    damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+                case DMGENEFOLCOND:
+                    damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "DMGENEFOLPUTFOL":
-                    putFollower(efxInfo[2], Integer.parseInt(efxInfo[3]));
-                    damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+                case DMGENEFOLPUTFOL:
+                    putFollower(context, effect.getCard(0), effect.getInt(1));
+                    damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "RTNFOL":
+                case RTNFOL:
                     returnCardToHand(card, owner);
                     break;
 
-                case "BUFFRIFOLCOND":
-                    buffFollower((Follower) card, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+                case BUFFRIFOLCOND:
+                    buffFollower(context, (Follower) card, effect.getInt(0), effect.getInt(1));
                     break;
 
-                case "DMGENEFOLVAR":
-                    damageEnemyFollower((Follower) card, getVariable(efxInfo[1]));
+                case DMGENEFOLVAR:
+                    damageEnemyFollower((Follower) card, getVariable(context, effect.getVariable(0)));
                     break;
 
-                case "BUFFRIFOL":
-                    buffFollower((Follower) card, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+                case BUFFRIFOL:
+                    buffFollower(context, (Follower) card, effect.getInt(0), effect.getInt(1));
                     break;
 
-                case "BUFFRIOFF":
-                    buffFollower((Follower) card, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+                case BUFFRIOFF:
+                    buffFollower(context, (Follower) card, effect.getInt(0), effect.getInt(1));
                     break;
 
-                case "BUFFRIOFFETR":
-                    buffFollower((Follower) card, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+                case BUFFRIOFFETR:
+                    buffFollower(context, (Follower) card, effect.getInt(0), effect.getInt(1));
                     break;
 
-                case "DMGENEFOLDRWCRD":
-                    if (drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[2])))
-                        damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+                case DMGENEFOLDRWCRD:
+                    if (drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(1)))
+                        damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "DMGENEFOLBSTDMG":
-                    damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]) +
+                case DMGENEFOLBSTDMG:
+                    damageEnemyFollower((Follower) card, effect.getInt(0) +
                             sourceCard.getBoostAmount());
                     break;
 
-                case "KILENEFOLBSTCST":
+                case KILENEFOLBSTCST:
                     killFollowerOrAmulet(card);
                     break;
 
-                case "KILENEFOLSUMFOLCOND":
-                    if (willActivate(efxInfo[2]))
-                        summonFollower(efxInfo[1]);
+                case KILENEFOLSUMFOLCOND:
+                    if (willActivate(context, effect.getCondition()))
+                        summonFollower(context, effect.getCard(0));
                     killFollowerOrAmulet(card);
                     break;
 
-                case "DMGSLFLEDDMGENETAR":
-                    if (damageSelfLeader(Integer.parseInt(efxInfo[1]))) {
+                case DMGSLFLEDDMGENETAR:
+                    if (damageSelfLeader(context, effect.getInt(0))) {
                         if (card == CardLib.CARD_REPRESENT_LEADER)
-                            damageEnemyLeader(Integer.parseInt(efxInfo[2]));
+                            damageEnemyLeader(context, effect.getInt(1));
                         else
-                            damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[2]));
+                            damageEnemyFollower((Follower) card, effect.getInt(1));
                     }
                     break;
 
-                case "DMGENEFOLHELSLFLED":
-                    damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+                case DMGENEFOLHELSLFLED:
+                    damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "DMGSLFLEDKILENEFOL":
-                    if (damageSelfLeader(Integer.parseInt(efxInfo[1])))
+                case DMGSLFLEDKILENEFOL:
+                    if (damageSelfLeader(context, effect.getInt(0)))
                         killFollowerOrAmulet(card);
                     break;
 
-                case "DECCDDRWCRD":
-                    decreaseCountdown((Amulet) card, Integer.parseInt(efxInfo[1]));
+                case DECCDDRWCRD:
+                    decreaseCountdown((Amulet) card, effect.getInt(0));
                     break;
 
-                case "BANENEFOLHPLES":
-                    banishFollower((Follower) card, opponentPlayer);
+                case BANENEFOLHPLES:
+                    banishFollower(context, (Follower) card, opponentPlayer);
                     break;
 
-                case "BANENEFOL":
-                    banishFollower((Follower) card, opponentPlayer);
+                case BANENEFOL:
+                    banishFollower(context, (Follower) card, opponentPlayer);
                     break;
 
-                case "KILFOLREVFOL":
+                case KILFOLREVFOL:
                     killReturnFollower((Follower) card, owner);
                     break;
 
-                case "KILENEFOLAMU":
+                case KILENEFOLAMU:
                     killFollowerOrAmulet(card);
                     break;
 
-                case "DMGENETARHELSLFLED":
+                case DMGENETARHELSLFLED:
                     if (card == CardLib.CARD_REPRESENT_LEADER)
-                        damageEnemyLeader(Integer.parseInt(efxInfo[1]));
+                        damageEnemyLeader(context, effect.getInt(0));
                     else
-                        damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
-                    healSelfLeader(Integer.parseInt(efxInfo[2]));
+                        damageEnemyFollower((Follower) card, effect.getInt(0));
+                    healSelfLeader(context, effect.getInt(1));
 
-                case "RTNFRIFOLAMUDRWCRD":
+                case RTNFRIFOLAMUDRWCRD:
                     returnCardToHand(card, sourcePlayer);
-                    drawCard(sourcePlayer, opponentPlayer, Integer.parseInt(efxInfo[1]));
+                    drawCard(context, sourcePlayer, opponentPlayer, effect.getInt(0));
                     break;
 
-                case "RTNFRIFOLAMU":
+                case RTNFRIFOLAMU:
                     returnCardToHand(card, sourcePlayer);
                     break;
 
-                case "RTNFRIFOLRDMRTNENEFOL":
+                case RTNFRIFOLRDMRTNENEFOL:
                     returnCardToHand(card, sourcePlayer);
-                    returnRandomCardToHand(opponentPlayer);
+                    returnRandomCardToHand(context, opponentPlayer);
                     break;
 
-                case "CHGENEFOLHP":
-                    changeFollowerHealth((Follower) card, Integer.parseInt(efxInfo[1]));
+                case CHGENEFOLHP:
+                    changeFollowerHealth((Follower) card, effect.getInt(0));
                     break;
 
-                case "GVEENEFOLEFX":
-                    grantSimpleEffect((Follower) card, efxInfo[1]);
+                case GVEENEFOLEFX:
+                    grantSimpleEffect((Follower) card, effect.getSimpleEffect());
                     break;
 
-                case "KILENEAMUCOND":
+                case KILENEAMUCOND:
                     killFollowerOrAmulet(card);
                     break;
 
-                case "CHGETRCRD":
-                    if (card instanceof Follower && card.isAlive() && efxInfo[1].equals(card.getName())) {
+                case CHGETRCRD:
+                    if (card instanceof Follower && card.isAlive() && effect.getCard(0) == card.getId()) {
                         ((Follower) card).kill();
-                        sourcePlayer.getField().add(CardLib.getCard(efxInfo[2]));
+                        sourcePlayer.getField().add(CardLib.getCard(effect.getCard(1)));
                     }
                     break;
 
-                case "DMGFIGENEFOL":
-                    damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+                case DMGFIGENEFOL:
+                    damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "DRWCRDDMGENETARVAR":
+                case DRWCRDDMGENETARVAR:
                     if (card == CardLib.CARD_REPRESENT_LEADER)
-                        damageEnemyLeader(getVariable(efxInfo[2]));
+                        damageEnemyLeader(context, getVariable(context, effect.getVariable(0)));
                     else
-                        damageEnemyFollower((Follower) card, getVariable(efxInfo[2]));
+                        damageEnemyFollower((Follower) card, getVariable(context, effect.getVariable(0)));
                     break;
 
-                case "FREEVOFOL":
-                    if (card.getName().equals(efxInfo[1]) && sourcePlayer.evolve(null))
+                case FREEVOFOL:
+                    if (card.getId() == effect.getCard(0) && sourcePlayer.evolve(null))
                         ((Follower) card).evolve();
                     break;
 
-                case "DMGENETAR":
+                case DMGENETAR:
                     if (card == CardLib.CARD_REPRESENT_LEADER)
-                        damageEnemyLeader(Integer.parseInt(efxInfo[1]));
+                        damageEnemyLeader(context, effect.getInt(0));
                     else
-                        damageEnemyFollower((Follower) card, Integer.parseInt(efxInfo[1]));
+                        damageEnemyFollower((Follower) card, effect.getInt(0));
                     break;
 
-                case "BUFSLFCOMETR":
-                    buffFollower((Follower) sourceCard, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+                case BUFSLFCOMETR:
+                    buffFollower(context, (Follower) sourceCard, effect.getInt(0), effect.getInt(1));
                     break;
 
-                case "GVEFRICOMEFX":
-                    grantSimpleEffect((Follower) card, efxInfo[1]);
+                case GVEFRICOMEFX:
+                    grantSimpleEffect((Follower) card, effect.getSimpleEffect());
                     break;
 
-                case "BUFONECSTFRIFOL":
-                    buffFollower((Follower) card, Integer.parseInt(efxInfo[1]), Integer.parseInt(efxInfo[2]));
+                case BUFONECSTFRIFOL:
+                    buffFollower(context, (Follower) card, effect.getInt(0), effect.getInt(1));
                     break;
 
-                case "SUMFOLCOMETR":
-                    for (int n = 1; n < efxInfo.length; n++)
-                        summonFollower(efxInfo[n]);
+                case SUMFOLCOMETR:
+                    for (int n = 0; n < effect.getCardCount(); n++)
+                        summonFollower(context, effect.getCard(n));
                     break;
 
-                case "KILENEATKFOL":
+                case KILENEATKFOL:
                     killFollowerOrAmulet(card);
                     break;
 
-                case "GVEETROFFEFX":
-                    grantSimpleEffect((Follower) card, efxInfo[1]);
+                case GVEETROFFEFX:
+                    grantSimpleEffect((Follower) card, effect.getSimpleEffect());
                     break;
 
-                case "GVEETRFRIFOLEFXCOND":
-                    if (willActivate(efxInfo[2] + "?" + card.getName()))
-                        grantSimpleEffect((Follower) card, efxInfo[1]);
+                case GVEETRFRIFOLEFXCOND:
+                    if (willActivate(context, effect.getCondition(), card))
+                        grantSimpleEffect((Follower) card, effect.getSimpleEffect());
                     break;
 
                 default:
-                    throw new IllegalArgumentException("NO EFX FOUND: " + efxInfo[0]);
+                    throw new IllegalArgumentException("NO EFX FOUND: " + effect);
             }
         }
 
-        reset();
-        Response.resetParameter();
     }
 
     /**
      * This method determines whether a method with prerequisites can be activated or not.
      *
-     * @param condition the condition string from the effect. It is later interpreted as conditions to be checked
+     * @param context   the context of the effect being processed
+     * @param condition the compiled condition from the effect
      * @return true if the effect can be activated, false otherwise
      */
-    private static boolean willActivate(String condition) {
-        String[] cond = condition.split("\\?");
+    private static boolean willActivate(EffectContext context, Effect.Condition condition) {
+        return willActivate(context, condition, null);
+    }
 
-        switch (cond[0]) {
-            case "USDCRD":
-                return sourcePlayer.getUsedCardCount() >= Integer.parseInt(cond[1]);
+    /**
+     * This method determines whether a method with prerequisites can be activated or not.
+     *
+     * @param context   the context of the effect being processed
+     * @param condition the compiled condition from the effect
+     * @param subject   the card the effect is about to be applied to. It is only required by {@linkplain
+     *                  Effect.Condition.Type#CST}
+     * @return true if the effect can be activated, false otherwise
+     */
+    private static boolean willActivate(EffectContext context, Effect.Condition condition, Card subject) {
+        switch (condition.getType()) {
+            case USDCRD:
+                return context.getSourcePlayer().getUsedCardCount() >= condition.getValue();
 
-            case "OVRFLW":
-                return sourcePlayer.isOverflow();
+            case OVRFLW:
+                return context.getSourcePlayer().isOverflow();
 
-            case "ATKED":
-                return ((Follower) sourceCard).getAtkStatus() == AttackStatus.ATTACKED;
+            case ATKED:
+                return ((Follower) context.getSourceCard()).getAtkStatus() == AttackStatus.ATTACKED;
 
-            case "NEC":
-                return sourcePlayer.getGrave().useNecromancy(Integer.parseInt(cond[1]));
+            case NEC:
+                return context.getSourcePlayer().getGrave().useNecromancy(condition.getValue());
 
-            case "VENG":
-                return sourcePlayer.isVengeance();
+            case VENG:
+                return context.getSourcePlayer().isVengeance();
 
-            case "GRAVE":
-                return sourcePlayer.getGrave().size() >= Integer.parseInt(cond[1]);
+            case GRAVE:
+                return context.getSourcePlayer().getGrave().size() >= condition.getValue();
 
-            case "CONATK":
-                for (Card c : sourcePlayer.getField())
-                    if (c instanceof Follower && ((Follower) c).getAttack() == Integer.parseInt(cond[1]))
+            case CONATK:
+                for (Card c : context.getSourcePlayer().getField())
+                    if (c instanceof Follower && ((Follower) c).getAttack() == condition.getValue())
                         return true;
                 return false;
 
-            case "COMFLD":
-                return sourcePlayer.getField().hasSwordTraitFollower(Trait.SwordCraftTrait.COMMANDER);
+            case COMFLD:
+                return context.getSourcePlayer().getField().hasSwordTraitFollower(Trait.SwordCraftTrait.COMMANDER);
 
-            case "ACTIVATED":
-                return sourceCard.getEffectToggle();
+            case ACTIVATED:
+                return context.getSourceCard().getEffectToggle();
 
-            case "ENEFOL":
-                return opponentPlayer.getField().followerCount() >= Integer.parseInt(cond[1]);
+            case ENEFOL:
+                return context.getOpponentPlayer().getField().followerCount() >= condition.getValue();
 
-            case "CST":
-                return CardLib.getCard(cond[2]).getCost() <= Integer.parseInt(cond[1]);
+            case CST:
+                if (subject == null)
+                    throw new IllegalArgumentException("CONDITION SUBJECT REQUIRED");
+                return subject.getOrgCost() <= condition.getValue();
 
             default:
                 throw new IllegalArgumentException("CONDITION NOT FOUND");
@@ -1184,65 +1186,58 @@ public final class EffectLib {
     /**
      * This method provide actual values for effects that are dependent on real-time game status.
      *
-     * @param var the variable string. It is later to be interpreted to variable to be checked in game
+     * @param context  the context of the effect being processed
+     * @param variable the compiled variable from the effect
      * @return the actual value for the effect
      */
-    private static int getVariable(String var) {
-        try {
-            return Integer.parseInt(var);
-        } catch (NumberFormatException e) {
-            e.getMessage();
-        }
+    private static int getVariable(EffectContext context, Effect.Variable variable) {
+        switch (variable.getType()) {
+            case CONSTANT:
+                return variable.getValue(0);
 
-        String[] variable = var.split("\\?");
+            case FRIFOLONFLD:
+                return context.getSourcePlayer().getField().followerCount();
 
-        switch (variable[0]) {
-            case "FRIFOLONFLD":
-                return sourcePlayer.getField().followerCount();
-
-            case "NEC":
-                int necroCost = Integer.parseInt(variable[1]),
-                        necroEffect = Integer.parseInt(variable[2]),
-                        originalEffect = Integer.parseInt(variable[3]);
-                if (sourcePlayer.getGrave().useNecromancy(necroCost))
-                    return necroEffect;
+            case NEC:
+                if (context.getSourcePlayer().getGrave().useNecromancy(variable.getValue(0)))
+                    return variable.getValue(1);
                 else
-                    return originalEffect;
+                    return variable.getValue(2);
 
-            case "HND":
-                return sourcePlayer.getHand().size();
+            case HND:
+                return context.getSourcePlayer().getHand().size();
 
-            case "ENELEDONE":
-                return opponentPlayer.getLeader().getHealth() - 1;
+            case ENELEDONE:
+                return context.getOpponentPlayer().getLeader().getHealth() - 1;
 
-            case "USDCRD":
-                return sourcePlayer.getUsedCardCount();
+            case USDCRD:
+                return context.getSourcePlayer().getUsedCardCount();
 
-            case "ORGATK":
-                if (sourceCard instanceof Follower) {
-                    if (((Follower) sourceCard).hasEvolved())
-                        return ((Follower) sourceCard).getOrgEvoAttack();
+            case ORGATK:
+                if (context.getSourceCard() instanceof Follower) {
+                    if (((Follower) context.getSourceCard()).hasEvolved())
+                        return ((Follower) context.getSourceCard()).getOrgEvoAttack();
                     else
-                        return ((Follower) sourceCard).getOrgAttack();
+                        return ((Follower) context.getSourceCard()).getOrgAttack();
                 } else {
                     return 0;
                 }
 
-            case "COND":
-                if (willActivate(variable[1] + "?" + variable[2]))
-                    return Integer.parseInt(variable[4]);
+            case COND:
+                if (willActivate(context, variable.getCondition()))
+                    return variable.getValue(1);
                 else
-                    return Integer.parseInt(variable[3]);
+                    return variable.getValue(0);
 
-            case "FRIOFFONFLD":
+            case FRIOFFONFLD:
                 int count = 0;
-                for (Card c : sourcePlayer.getField())
+                for (Card c : context.getSourcePlayer().getField())
                     if (c instanceof Follower && ((Follower) c).getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER)
                         count++;
                 return count;
 
-            case "ENEFOL":
-                return opponentPlayer.getField().followerCount();
+            case ENEFOL:
+                return context.getOpponentPlayer().getField().followerCount();
 
             default:
                 return 0;
@@ -1305,47 +1300,47 @@ public final class EffectLib {
         follower.takeDamage(damage);
     }
 
-    private static boolean drawCard(Player player, Player opponent, int amount) {
+    private static boolean drawCard(EffectContext context, Player player, Player opponent, int amount) {
         if (!player.drawCards(amount)) {
-            game.endGame(opponent);
+            context.getGame().endGame(opponent);
             return false;
         }
         return true;
     }
 
-    private static void randomBuffFriendlyFollower(int attack, int health) {
+    private static void randomBuffFriendlyFollower(EffectContext context, int attack, int health) {
         Card randomSelection;
-        Field targetField = sourcePlayer.getField();
+        Field targetField = context.getSourcePlayer().getField();
 
         if (targetField.followerCount() > 0) {
             do {
-                randomSelection = targetField.get((int) (Math.random() * targetField.size()));
+                randomSelection = targetField.get(context.getRandom().nextInt(targetField.size()));
             } while (!(randomSelection instanceof Follower) || !randomSelection.isAlive());
 
-            ((Follower) randomSelection).buff(attack, health, sourceCard);
+            ((Follower) randomSelection).buff(attack, health, context.getSourceCard());
         }
     }
 
-    private static void randomBuffFriendlyOfficer(int attack, int health) {
+    private static void randomBuffFriendlyOfficer(EffectContext context, int attack, int health) {
         Card randomSelection;
-        Field targetField = sourcePlayer.getField();
+        Field targetField = context.getSourcePlayer().getField();
 
         if (targetField.hasSwordTraitFollower(Trait.SwordCraftTrait.OFFICER)) {
             do {
-                randomSelection = targetField.get((int) (Math.random() * targetField.size()));
+                randomSelection = targetField.get(context.getRandom().nextInt(targetField.size()));
             } while (!(randomSelection instanceof Follower &&
                     ((Follower) randomSelection).getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER) ||
                     !randomSelection.isAlive());
 
-            ((Follower) randomSelection).buff(attack, health, sourceCard);
+            ((Follower) randomSelection).buff(attack, health, context.getSourceCard());
         }
     }
 
-    private static boolean damageEnemyLeader(int damage) {
-        opponentPlayer.getLeader().takeDamage(damage);
+    private static boolean damageEnemyLeader(EffectContext context, int damage) {
+        context.getOpponentPlayer().getLeader().takeDamage(damage);
 
-        if (!opponentPlayer.getLeader().isAlive()) {
-            game.endGame(sourcePlayer);
+        if (!context.getOpponentPlayer().getLeader().isAlive()) {
+            context.getGame().endGame(context.getSourcePlayer());
             return false;
         }
 
@@ -1358,85 +1353,85 @@ public final class EffectLib {
                 ((Follower) c).takeDamage(damage);
     }
 
-    private static void putFollower(String followerName, int amount) {
+    private static void putFollower(EffectContext context, int followerId, int amount) {
         for (int n = 0; n < amount; n++) {
-            sourcePlayer.getHand().add(CardLib.getCard(followerName));
+            context.getSourcePlayer().getHand().add(CardLib.getCard(followerId));
         }
     }
 
     private static void returnCardToHand(Card card, Player owner) {
         if (owner.getField().remove(card))
-            owner.getHand().add(CardLib.getCard(card.getName()));
+            owner.getHand().add(CardLib.getCard(card.getId()));
     }
 
-    private static void randomDamageEnemyFollower(int damage) {
+    private static void randomDamageEnemyFollower(EffectContext context, int damage) {
         Card randomSelection;
-        Field targetField = opponentPlayer.getField();
+        Field targetField = context.getOpponentPlayer().getField();
 
         if (targetField.followerCount() > 0) {
             do
-                randomSelection = targetField.get((int) (Math.random() * targetField.size()));
+                randomSelection = targetField.get(context.getRandom().nextInt(targetField.size()));
             while (!(randomSelection instanceof Follower) || !randomSelection.isAlive());
 
             ((Follower) randomSelection).takeDamage(damage);
         }
     }
 
-    private static void buffFollower(Follower follower, int attack, int health) {
-        follower.buff(attack, health, sourceCard);
+    private static void buffFollower(EffectContext context, Follower follower, int attack, int health) {
+        follower.buff(attack, health, context.getSourceCard());
     }
 
-    private static void summonFollower(String followerName) {
-        sourcePlayer.getField().add(CardLib.getCard(followerName));
+    private static void summonFollower(EffectContext context, int followerId) {
+        context.getSourcePlayer().getField().add(CardLib.getCard(followerId));
     }
 
-    private static void buffAllFriendlyOfficer(int atk, int def) {
-        for (Card c : sourcePlayer.getField())
+    private static void buffAllFriendlyOfficer(EffectContext context, int atk, int def) {
+        for (Card c : context.getSourcePlayer().getField())
             if (c instanceof Follower && ((Follower) c).getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER)
-                ((Follower) c).buff(atk, def, sourceCard);
+                ((Follower) c).buff(atk, def, context.getSourceCard());
     }
 
-    private static void buffAllFriendlyFollower(int atk, int def) {
-        for (Card c : sourcePlayer.getField())
+    private static void buffAllFriendlyFollower(EffectContext context, int atk, int def) {
+        for (Card c : context.getSourcePlayer().getField())
             if (c instanceof Follower)
-                ((Follower) c).buff(atk, def, sourceCard);
+                ((Follower) c).buff(atk, def, context.getSourceCard());
     }
 
-    private static void increaseMaxCost() {
-        sourcePlayer.increaseMaxCost();
+    private static void increaseMaxCost(EffectContext context) {
+        context.getSourcePlayer().increaseMaxCost();
     }
 
-    private static void grantSimpleEffect(Follower follower, String effect) {
-        follower.grantSimpleEffect(Follower.SimpleEffects.valueOf(effect));
+    private static void grantSimpleEffect(Follower follower, Follower.SimpleEffects effect) {
+        follower.grantSimpleEffect(effect);
     }
 
     private static void addNecromancy(Grave grave, int amount) {
         grave.addNecromancy(amount);
     }
 
-    private static void banishFollower(Follower follower, Player player) {
-        game.processCardExit(follower, player, true);
+    private static void banishFollower(EffectContext context, Follower follower, Player player) {
+        context.getGame().processCardExit(follower, player, true);
     }
 
-    private static boolean damageSelfLeader(int damage) {
-        sourcePlayer.getLeader().takeDamage(damage);
+    private static boolean damageSelfLeader(EffectContext context, int damage) {
+        context.getSourcePlayer().getLeader().takeDamage(damage);
 
-        if (!sourcePlayer.getLeader().isAlive()) {
-            game.endGame(opponentPlayer);
+        if (!context.getSourcePlayer().getLeader().isAlive()) {
+            context.getGame().endGame(context.getOpponentPlayer());
             return false;
         }
 
         return true;
     }
 
-    private static void healSelfLeader(int amount) {
-        sourcePlayer.getLeader().heal(amount);
+    private static void healSelfLeader(EffectContext context, int amount) {
+        context.getSourcePlayer().getLeader().heal(amount);
     }
 
-    private static void damageAll(int amount) {
-        if (damageSelfLeader(amount) && damageEnemyLeader(amount)) {
-            damagePlayerFollowers(amount, sourcePlayer);
-            damagePlayerFollowers(amount, opponentPlayer);
+    private static void damageAll(EffectContext context, int amount) {
+        if (damageSelfLeader(context, amount) && damageEnemyLeader(context, amount)) {
+            damagePlayerFollowers(amount, context.getSourcePlayer());
+            damagePlayerFollowers(amount, context.getOpponentPlayer());
         }
     }
 
@@ -1444,29 +1439,29 @@ public final class EffectLib {
         amulet.decreaseCountDown(amount);
     }
 
-    private static void decreaseAllCountDown(int amount) {
-        for (Card c : sourcePlayer.getField())
+    private static void decreaseAllCountDown(EffectContext context, int amount) {
+        for (Card c : context.getSourcePlayer().getField())
             if (c instanceof Amulet && ((Amulet) c).isCountDown())
                 ((Amulet) c).decreaseCountDown(amount);
     }
 
-    private static void discardHand() {
-        for (Card c : sourcePlayer.getHand())
-            sourcePlayer.getGrave().add(c);
-        sourcePlayer.getHand().clear();
+    private static void discardHand(EffectContext context) {
+        for (Card c : context.getSourcePlayer().getHand())
+            context.getSourcePlayer().getGrave().add(c);
+        context.getSourcePlayer().getHand().clear();
     }
 
-    private static void damageAllEnemy(int damage) {
-        damageEnemyLeader(damage);
+    private static void damageAllEnemy(EffectContext context, int damage) {
+        damageEnemyLeader(context, damage);
 
-        for (Card c : opponentPlayer.getField())
+        for (Card c : context.getOpponentPlayer().getField())
             if (c instanceof Follower)
                 ((Follower) c).takeDamage(damage);
     }
 
     private static void killReturnFollower(Follower follower, Player owner) {
         follower.kill();
-        owner.getField().add(CardLib.getCard(follower.getName()));
+        owner.getField().add(CardLib.getCard(follower.getId()));
     }
 
     private static void killFollowerOrAmulet(Card card) {
@@ -1478,38 +1473,39 @@ public final class EffectLib {
             throw new IllegalArgumentException("MUST BE Follower type or Amulet type");
     }
 
-    private static void replaceDeck(String deckCode) {
-        sourcePlayer.getDeck().replaceDeck(deckCode);
+    private static void replaceDeck(EffectContext context, String deckCode) {
+        context.getSourcePlayer().getDeck().replaceDeck(deckCode);
     }
 
-    private static void changeCost(Player player, String cardName, int targetCost) {
+    private static void changeCost(Player player, int cardId, int targetCost) {
         for (Card c : player.getHand()) {
-            if (c.getName().equals(cardName)) {
+            if (c.getId() == cardId) {
                 c.changeCost(targetCost);
                 break;
             }
         }
     }
 
-    private static void grantAllPlayerFollowerSimpleEffect(Player player, String effect) {
+    private static void grantAllPlayerFollowerSimpleEffects(Player player, int effects) {
         for (Card c : player.getField())
             if (c instanceof Follower)
-                ((Follower) c).grantSimpleEffect(Follower.SimpleEffects.valueOf(effect));
+                ((Follower) c).grantSimpleEffects(effects);
     }
 
-    private static void revokeAllPlayerFollowerSimpleEffect(Player player, String effect) {
+    private static void revokeAllPlayerFollowerSimpleEffects(Player player, int effects) {
         for (Card c : player.getField())
             if (c instanceof Follower)
-                ((Follower) c).revokeSimpleEffect(Follower.SimpleEffects.valueOf(effect));
+                ((Follower) c).revokeSimpleEffects(effects);
     }
 
-    private static void grantRandomPlayerFollowerSimpleEffect(Player player, String effect) {
+    private static void grantRandomPlayerFollowerSimpleEffect(EffectContext context, Player player,
+                                                              Follower.SimpleEffects effect) {
         Card randomSelection;
         Field targetField = player.getField();
 
         if (targetField.followerCount() > 0) {
             do
-                randomSelection = targetField.get((int) (Math.random() * targetField.size()));
+                randomSelection = targetField.get(context.getRandom().nextInt(targetField.size()));
             while (!(randomSelection instanceof Follower) || !randomSelection.isAlive());
 
             grantSimpleEffect((Follower) randomSelection, effect);
@@ -1520,8 +1516,9 @@ public final class EffectLib {
         follower.changeAttack(targetAttack);
     }
 
-    private static void returnRandomCardToHand(Player player) {
-        returnCardToHand(player.getField().get((int) (Math.random() * player.getField().size())), player);
+    private static void returnRandomCardToHand(EffectContext context, Player player) {
+        if (!player.getField().isEmpty())
+            returnCardToHand(player.getField().get(context.getRandom().nextInt(player.getField().size())), player);
     }
 
     private static void changeFollowerHealth(Follower follower, int targetHealth) {
@@ -1541,49 +1538,50 @@ public final class EffectLib {
         }
     }
 
-    private static void putChangedCostFollower(String cardName, int amount, int targetCost) {
+    private static void putChangedCostFollower(EffectContext context, int cardId, int amount, int targetCost) {
         for (int n = 0; n < amount; n++) {
-            Card c = CardLib.getCard(cardName);
+            Card c = CardLib.getCard(cardId);
             c.changeCost(targetCost);
-            sourcePlayer.getHand().add(c);
+            context.getSourcePlayer().getHand().add(c);
         }
     }
 
-    private static void transformHandCard(Player player, String org, String dest) {
+    private static void transformHandCard(Player player, int org, int dest) {
         Hand targetHand = player.getHand();
 
         for (int n = 0; n < targetHand.size(); n++) {
             Card c = targetHand.get(n);
 
-            if (c.getName().equals(org))
+            if (c.getId() == org)
                 targetHand.set(n, CardLib.getCard(dest));
         }
     }
 
-    private static void drawRandomSwordCraft(Trait.SwordCraftTrait trait, int amount) {
+    private static void drawRandomSwordCraft(EffectContext context, Trait.SwordCraftTrait trait, int amount) {
         for (int n = 0; n < amount; n++) {
-            Card drawnCard = sourcePlayer.getDeck().
-                    getRandomRequestedCard(Leader.LeaderType.SWORDCRAFT, trait, Card.Type.FOLLOWER, 0, 10, true);
+            Card drawnCard = context.getSourcePlayer().getDeck().
+                    getRandomRequestedCard(Leader.LeaderType.SWORDCRAFT, trait, Card.Type.FOLLOWER, 10, 0, true,
+                            context.getRandom());
 
             if (drawnCard != null)
-                sourcePlayer.getHand().add(drawnCard);
+                context.getSourcePlayer().getHand().add(drawnCard);
             else
                 break;
         }
     }
 
-    private static void grantAllOfficerSimpleEffect(String effect) {
-        for (Card c : sourcePlayer.getField())
+    private static void grantAllOfficerSimpleEffect(EffectContext context, Follower.SimpleEffects effect) {
+        for (Card c : context.getSourcePlayer().getField())
             if (c instanceof Follower && ((Follower) c).getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER)
-                ((Follower) c).grantSimpleEffect(Follower.SimpleEffects.valueOf(effect));
+                ((Follower) c).grantSimpleEffect(effect);
     }
 
-    private static void summonGivenCostRandomFollower(int max_cost, int min_cost) {
-        Card drawnCard = sourcePlayer.getDeck().
-                getRandomRequestedCard(null, null, Card.Type.FOLLOWER, max_cost, min_cost, true);
+    private static void summonGivenCostRandomFollower(EffectContext context, int max_cost, int min_cost) {
+        Card drawnCard = context.getSourcePlayer().getDeck().
+                getRandomRequestedCard(null, null, Card.Type.FOLLOWER, max_cost, min_cost, true, context.getRandom());
 
         if (drawnCard != null)
-            sourcePlayer.getField().add(drawnCard);
+            context.getSourcePlayer().getField().add(drawnCard);
     }
 
     public enum Response {
@@ -1592,24 +1590,6 @@ public final class EffectLib {
         ENEMY_FOLLOWER_OR_AMULET, FRIENDLY_FOLLOWER_OR_AMULET, ENEMY_AMULET, FRIENDLY_FOLLOWER_ENTRANCE,
         FIGHTING_ENEMY, FRIENDLY_COMMANDER_ENTRANCE, FRIENDLY_COMMANDER, FRIENDLY_COST_ONE_FOLLOWER,
         ENEMY_FOLLOWER_ATK_MORE, DONE, FAIL;
-
-        private static int parameter = Integer.MIN_VALUE;
-
-        static void resetParameter() {
-            parameter = Integer.MIN_VALUE;
-        }
-
-        public static int getParameter() {
-            if (parameter != Integer.MIN_VALUE)
-                return parameter;
-            else
-                throw new IllegalStateException("PARAMETER NOT INITIALIZED!");
-        }
-
-        static void setParameter(int para) {
-            parameter = para;
-        }
-
     }
 
 }
@@ -1,14 +1,47 @@
 /**
  * This class is the representation of one player's field. It contains all cards on field and methods needed for field
  * processes.
+ *
+ * <p>The field keeps live counters of the cards on it, so that the frequent queries like {@linkplain #haveNoWard()} or
+ * {@linkplain #followerCount()} never scan the field. The counters are updated when a card is added or removed, and
+ * each {@linkplain Follower} on the field reports the changes of its {@linkplain Follower#getFieldStatus() field
+ * status} through {@linkplain #updateFollower(int, int)}. Cards must therefore only enter or leave the field through
+ * {@linkplain #add(Card)}, {@linkplain #remove(Object)}, {@linkplain #remove(int)}, {@linkplain #set(int, Card)} or
+ * {@linkplain #clear()}.</p>
  */
 public final class Field extends CardList {
     public static final int MAXIMUM_FIELD_SIZE = 5;
+    /**
+     * The bits of a follower's field status.
+     *
+     * @see Follower#getFieldStatus()
+     */
+    static final int ALIVE = 1, WARD = 1 << 1, TARGETABLE = 1 << 2;
+
+    /**
+     * The positions of the counters in {@linkplain #COUNTERS}. The followers of each swordcraft trait are counted from
+     * {@linkplain #TRAIT_FOLLOWERS} on, in the order of the traits.
+     */
+    private static final int ALIVE_FOLLOWERS = 0, WARD_FOLLOWERS = 1, TARGETABLE_FOLLOWERS = 2, AMULETS = 3,
+            COUNTDOWN_AMULETS = 4, TRAIT_FOLLOWERS = 5;
+    private final int[] COUNTERS = new int[TRAIT_FOLLOWERS + Trait.SwordCraftTrait.values().length];
 
     Field() {
         super(MAXIMUM_FIELD_SIZE);
     }
 
+    /**
+     * The copy constructor creates a field holding copies of the cards of another field, in the same order.
+     *
+     * @param other the field to be copied
+     */
+    Field(Field other) {
+        super(MAXIMUM_FIELD_SIZE);
+
+        for (Card c : other)
+            add(c.copy());
+    }
+
     /**
      * This method adds a card to the field if there is space left on field.
      *
@@ -21,6 +54,7 @@ public final class Field extends CardList {
         if (size() < MAXIMUM_FIELD_SIZE) {
             if (card instanceof Follower || card instanceof Amulet) {
                 super.add(card);
+                attach(card);
                 return true;
             } else {
                 throw new IllegalArgumentException("Not a valid type of card to be on the field");
@@ -30,6 +64,153 @@ public final class Field extends CardList {
         }
     }
 
+    /**
+     * Removes a card from the field.
+     *
+     * @param card the card to be removed
+     * @return true if the card was on the field, false otherwise
+     */
+    @Override
+    public boolean remove(Object card) {
+        if (super.remove(card)) {
+            detach((Card) card);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Removes the card at a specific position of the field.
+     *
+     * @param index the position of the card
+     * @return the removed card
+     */
+    @Override
+    public Card remove(int index) {
+        Card card = super.remove(index);
+        detach(card);
+        return card;
+    }
+
+    /**
+     * Replaces the card at a specific position of the field.
+     *
+     * @param index the position of the card
+     * @param card  the new card
+     * @return the replaced card
+     * @throws IllegalArgumentException if the card is not a valid type of card to be on the field
+     */
+    @Override
+    public Card set(int index, Card card) {
+        if (!(card instanceof Follower || card instanceof Amulet))
+            throw new IllegalArgumentException("Not a valid type of card to be on the field");
+
+        Card replaced = super.set(index, card);
+        detach(replaced);
+        attach(card);
+        return replaced;
+    }
+
+    /**
+     * Removes all cards from the field.
+     */
+    @Override
+    public void clear() {
+        super.clear();
+
+        for (int n = 0; n < COUNTERS.length; n++)
+            count(n, -COUNTERS[n]);
+    }
+
+    /**
+     * Counts a card that has just entered the field.
+     *
+     * @param card the card that entered the field
+     */
+    private void attach(Card card) {
+        if (card instanceof Follower) {
+            Follower follower = (Follower) card;
+
+            updateFollower(0, follower.getFieldStatus());
+            updateTrait(follower.getSwordCraftTrait(), 1);
+        } else {
+            count(AMULETS, 1);
+
+            if (((Amulet) card).isCountDown())
+                count(COUNTDOWN_AMULETS, 1);
+        }
+    }
+
+    /**
+     * Discounts a card that has just left the field.
+     *
+     * @param card the card that left the field
+     */
+    private void detach(Card card) {
+        if (card instanceof Follower) {
+            Follower follower = (Follower) card;
+
+            updateFollower(follower.getFieldStatus(), 0);
+            updateTrait(follower.getSwordCraftTrait(), -1);
+        } else {
+            count(AMULETS, -1);
+
+            if (((Amulet) card).isCountDown())
+                count(COUNTDOWN_AMULETS, -1);
+        }
+    }
+
+    private void updateTrait(Trait.SwordCraftTrait trait, int change) {
+        if (trait != null)
+            count(TRAIT_FOLLOWERS + trait.ordinal(), change);
+    }
+
+    /**
+     * Changes a counter, recording its old value in the journal of the field.
+     *
+     * @param counter the position of the counter
+     * @param change  the amount to be added to the counter
+     */
+    private void count(int counter, int change) {
+        if (change != 0) {
+            journal(FIRST_SUBCLASS_FIELD + counter, COUNTERS[counter]);
+            COUNTERS[counter] += change;
+        }
+    }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        if (field >= FIRST_SUBCLASS_FIELD)
+            COUNTERS[field - FIRST_SUBCLASS_FIELD] = value;
+        else
+            super.restore(field, value, reference);
+    }
+
+    /**
+     * Updates the counters after the field status of a follower on this field has changed. Followers call this method
+     * themselves whenever their health or keywords change.
+     *
+     * @param oldStatus the field status before the change
+     * @param newStatus the field status after the change
+     * @see Follower#getFieldStatus()
+     */
+    void updateFollower(int oldStatus, int newStatus) {
+        int changed = oldStatus ^ newStatus;
+
+        if (changed == 0)
+            return;
+
+        if ((changed & ALIVE) != 0)
+            count(ALIVE_FOLLOWERS, (newStatus & ALIVE) != 0 ? 1 : -1);
+
+        if ((changed & WARD) != 0)
+            count(WARD_FOLLOWERS, (newStatus & WARD) != 0 ? 1 : -1);
+
+        if ((changed & TARGETABLE) != 0)
+            count(TARGETABLE_FOLLOWERS, (newStatus & TARGETABLE) != 0 ? 1 : -1);
+    }
+
     /**
      * Checks if current field has no follower with WARD effect
      *
@@ -37,13 +218,7 @@ public final class Field extends CardList {
      * @see Follower.SimpleEffects#WARD
      */
     public boolean haveNoWard() {
-        for (Card c : this) {
-            if (c instanceof Follower && ((Follower) c).hasWard()) {
-                return false;
-            }
-        }
-
-        return true;
+        return COUNTERS[WARD_FOLLOWERS] == 0;
     }
 
     /**
@@ -52,15 +227,7 @@ public final class Field extends CardList {
      * @return the number of followers on current field
      */
     public int followerCount() {
-        int count = 0;
-
-        for (Card c : this) {
-            if (c instanceof Follower && c.isAlive()) {
-                count++;
-            }
-        }
-
-        return count;
+        return COUNTERS[ALIVE_FOLLOWERS];
     }
 
     /**
@@ -69,15 +236,7 @@ public final class Field extends CardList {
      * @return the number of amulets on current field
      */
     public int amuletCount() {
-        int count = 0;
-
-        for (Card c : this) {
-            if (c instanceof Amulet) {
-                count++;
-            }
-        }
-
-        return count;
+        return COUNTERS[AMULETS];
     }
 
     /**
@@ -87,17 +246,7 @@ public final class Field extends CardList {
      * @see Follower#canBeTargeted()
      */
     public boolean hasTargetableFollower() {
-        for (Card c : this) {
-            if (c instanceof Follower) {
-                Follower follower = (Follower) c;
-
-                if (follower.canBeTargeted()) {
-                    return true;
-                }
-            }
-        }
-
-        return false;
+        return COUNTERS[TARGETABLE_FOLLOWERS] > 0;
     }
 
     /**
@@ -106,10 +255,7 @@ public final class Field extends CardList {
      * @return true if there is countdown amulet on current field, false otherwise
      */
     public boolean hasCountdownAmulet() {
-        for (Card c : this)
-            if (c instanceof Amulet && ((Amulet) c).isCountDown())
-                return true;
-        return false;
+        return COUNTERS[COUNTDOWN_AMULETS] > 0;
     }
 
     /**
@@ -120,12 +266,7 @@ public final class Field extends CardList {
      * @see Follower.SwordCraftTrait
      */
     public boolean hasSwordTraitFollower(Trait.SwordCraftTrait targetTrait) {
-        for (Card c : this) {
-            if (c instanceof Follower && ((Follower) c).getSwordCraftTrait() == targetTrait)
-                return true;
-        }
-
-        return false;
+        return COUNTERS[TRAIT_FOLLOWERS + targetTrait.ordinal()] > 0;
     }
 
     /**
@@ -5,77 +5,60 @@ import java.awt.*;
  * {@linkplain CardLib#getCard(String)}.
  */
 public final class Follower extends Card implements Attackable, Trait {
+    private static final int HEALTH = FIRST_SUBCLASS_FIELD, ATTACK = FIRST_SUBCLASS_FIELD + 1,
+            EVOLVED = FIRST_SUBCLASS_FIELD + 2, KEYWORDS = FIRST_SUBCLASS_FIELD + 3,
+            ATTACK_STATUS = FIRST_SUBCLASS_FIELD + 4, BUFF_LIST = FIRST_SUBCLASS_FIELD + 5;
 
-    private final int ORIGINAL_HEALTH, ORIGINAL_ATTACK, ORIGINAL_EVOLVE_ATTACK, ORIGINAL_EVOLVE_HEALTH;
     private int health, attack;
-    private int evoHpAdd, evoAtkAdd;
-    private boolean isEvolved, hasBane, hasWard, hasDrain, hasAmbush, hasRush, hasStorm, hasUntargetable,
-            hasDamageImmune, hasWardPierce;
-    private Image evoImage;
+    private boolean isEvolved;
+    /**
+     * The simple effects the follower currently has, as a combination of their {@linkplain SimpleEffects#MASK masks}.
+     * Only the {@linkplain SimpleEffects#KEYWORDS keywords} are kept here, the effects that change the attack status
+     * are reflected by {@linkplain #atkStatus}.
+     */
+    private int keywords;
     private AttackStatus atkStatus;
-    private SwordCraftTrait swordCraftTrait;
     private StringBuilder buffList;
 
     /**
-     * The constructor initializes all default attributes for a follower instance
+     * The constructor initializes all default attributes for a follower instance from its definition
      *
-     * @param nme                 name
-     * @param lead                leader
-     * @param cst                 cost
-     * @param rar                 rarity
-     * @param handImg             image when the follower is in hand
-     * @param fieldImg            image when the follower is on field
-     * @param swordTrait          follower's swordcraft trait
-     * @param hp                  health
-     * @param atk                 attack
-     * @param evolvedHpAdd        the health increase upon evolving
-     * @param evolvedAtkAdd       the attack increase upon evolving
-     * @param evoImg              follower's image after evolving
-     * @param defaultAttackStatus follower's default attack status
-     * @param bane                true if the follower has BANE effect
-     * @param ward                true if the follower has WARD effect
-     * @param drain               true if the follower has DRAIN effect
-     * @param ambush              true if the follower has AMBUSH effect
-     * @param untargetable        true if the follower has UNTARGETABLE effect
-     * @param efx                 the effect string for the follower, it is encoded and only to be interpreted by
-     *                            {@linkplain EffectLib}
-     * @param hasSpellBoost       true if the follower has spellboost effect
+     * @param definition the definition of the follower provided by {@linkplain CardLib}
      * @see Trait.SwordCraftTrait
      * @see AttackStatus
      * @see SimpleEffects
      */
-    Follower(String nme, String lead, int cst, String rar, Image handImg, Image fieldImg,
-             String swordTrait, int hp, int atk, int evolvedHpAdd, int evolvedAtkAdd, Image evoImg,
-             String defaultAttackStatus, boolean bane, boolean ward, boolean drain, boolean ambush,
-             boolean untargetable, String efx, boolean hasSpellBoost) {
-        super("FOLLOWER", nme, lead, cst, rar, handImg, fieldImg, efx, hasSpellBoost);
-
-        swordCraftTrait = SwordCraftTrait.valueOf(swordTrait);
-        health = hp;
-        attack = atk;
-        evoHpAdd = evolvedHpAdd;
-        evoAtkAdd = evolvedAtkAdd;
-        ORIGINAL_HEALTH = hp;
-        ORIGINAL_ATTACK = atk;
-        ORIGINAL_EVOLVE_ATTACK = atk + evolvedAtkAdd;
-        ORIGINAL_EVOLVE_HEALTH = hp + evolvedHpAdd;
-        evoImage = evoImg;
-        buffList = new StringBuilder();
+    Follower(CardDefinition definition) {
+        super(definition);
 
-        if (bane) hasBane = true;
-        if (ward) hasWard = true;
-        if (drain) hasDrain = true;
-        if (untargetable) hasUntargetable = true;
+        health = definition.getHealth();
+        attack = definition.getAttack();
+        buffList = new StringBuilder();
 
-        atkStatus = AttackStatus.valueOf(defaultAttackStatus);
+        keywords = definition.getKeywords();
+        atkStatus = definition.getAttackStatus();
+        isEvolved = false;
+        rehash();
+    }
 
-        if (atkStatus == AttackStatus.STORM) hasStorm = true;
-        if (atkStatus == AttackStatus.RUSH) hasRush = true;
+    /**
+     * The copy constructor copies the stats, keywords and buffs of another follower. The copy is not on any field.
+     *
+     * @param other the follower to be copied
+     */
+    private Follower(Follower other) {
+        super(other);
+        health = other.health;
+        attack = other.attack;
+        isEvolved = other.isEvolved;
+        keywords = other.keywords;
+        atkStatus = other.atkStatus;
+        buffList = new StringBuilder(other.buffList);
+    }
 
-        isEvolved = false;
-        hasAmbush = ambush;
-        hasDamageImmune = false;
-        hasWardPierce = false;
+    @Override
+    Card copy() {
+        return new Follower(this);
     }
 
     /**
@@ -101,8 +84,11 @@ public final class Follower extends Card implements Attackable, Trait {
      */
     @Override
     public void takeDamage(Follower attacker) {
-        if (!hasDamageImmune)
-            health -= attacker.getAttack();
+        if (!hasDamageImmune()) {
+            int status = getFieldStatus();
+            setHealth(health - attacker.getAttack());
+            updateField(status);
+        }
     }
 
     /**
@@ -113,7 +99,9 @@ public final class Follower extends Card implements Attackable, Trait {
      */
     @Override
     public void heal(int heal) {
-        health += heal;
+        int status = getFieldStatus();
+        setHealth(health + heal);
+        updateField(status);
     }
 
     /**
@@ -131,8 +119,11 @@ public final class Follower extends Card implements Attackable, Trait {
      */
     @Override
     public void takeDamage(int damage) {
-        if (!hasDamageImmune)
-            health -= damage;
+        if (!hasDamageImmune()) {
+            int status = getFieldStatus();
+            setHealth(health - damage);
+            updateField(status);
+        }
     }
 
     /**
@@ -140,14 +131,16 @@ public final class Follower extends Card implements Attackable, Trait {
      */
     @Override
     public boolean hasDamageImmune() {
-        return hasDamageImmune;
+        return has(SimpleEffects.DAMAGE_IMMUNE);
     }
 
     /**
      * Instantly kills the follower by reducing the health to 0
      */
     public void kill() {
-        health = 0;
+        int status = getFieldStatus();
+        setHealth(0);
+        updateField(status);
     }
 
     /**
@@ -161,35 +154,35 @@ public final class Follower extends Card implements Attackable, Trait {
      * @return the original health value of the follower before evolving
      */
     public int getOrgHealth() {
-        return ORIGINAL_HEALTH;
+        return getDefinition().getHealth();
     }
 
     /**
      * @return the original attack value of the follower before evolving
      */
     public int getOrgAttack() {
-        return ORIGINAL_ATTACK;
+        return getDefinition().getAttack();
     }
 
     /**
      * @return the original attack value of the follower after evolving
      */
     public int getOrgEvoAttack() {
-        return ORIGINAL_EVOLVE_ATTACK;
+        return getDefinition().getAttack() + getDefinition().getEvolveAttackAdd();
     }
 
     /**
      * @return the original health value of the follower after evolving
      */
     public int getOrgEvoHealth() {
-        return ORIGINAL_EVOLVE_HEALTH;
+        return getDefinition().getHealth() + getDefinition().getEvolveHealthAdd();
     }
 
     /**
      * @return the image of the follower after evolving
      */
     public Image getEvolvedImage() {
-        return evoImage;
+        return getDefinition().getEvolvedImage();
     }
 
     /**
@@ -211,7 +204,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#BANE
      */
     public boolean hasBane() {
-        return hasBane;
+        return has(SimpleEffects.BANE);
     }
 
     /**
@@ -219,7 +212,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#WARD
      */
     public boolean hasWard() {
-        return hasWard;
+        return has(SimpleEffects.WARD);
     }
 
     /**
@@ -227,7 +220,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#DRAIN
      */
     public boolean hasDrain() {
-        return hasDrain;
+        return has(SimpleEffects.DRAIN);
     }
 
     /**
@@ -235,7 +228,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#AMBUSH
      */
     public boolean hasAmbush() {
-        return hasAmbush;
+        return has(SimpleEffects.AMBUSH);
     }
 
     /**
@@ -243,7 +236,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#STORM
      */
     public boolean hasStorm() {
-        return hasStorm;
+        return has(SimpleEffects.STORM);
     }
 
     /**
@@ -251,7 +244,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#RUSH
      */
     public boolean hasRush() {
-        return hasRush;
+        return has(SimpleEffects.RUSH);
     }
 
     /**
@@ -259,7 +252,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#UNTARGETABLE
      */
     public boolean hasUntargetable() {
-        return hasUntargetable;
+        return has(SimpleEffects.UNTARGETABLE);
     }
 
     /**
@@ -267,14 +260,48 @@ public final class Follower extends Card implements Attackable, Trait {
      * @see SimpleEffects#WARD_PIERCE
      */
     public boolean hasWardPierce() {
-        return hasWardPierce;
+        return has(SimpleEffects.WARD_PIERCE);
     }
 
     /**
      * @return true if the follower can be selected as a target, false otherwise
      */
     public boolean canBeTargeted() {
-        return !(hasUntargetable || hasAmbush);
+        return (keywords & (SimpleEffects.UNTARGETABLE.MASK | SimpleEffects.AMBUSH.MASK)) == 0;
+    }
+
+    /**
+     * @param simpleEffect the simple effect to be checked
+     * @return true if the follower has the simple effect, false otherwise
+     */
+    public boolean has(SimpleEffects simpleEffect) {
+        return (keywords & simpleEffect.MASK) != 0;
+    }
+
+    /**
+     * @param simpleEffects a combination of simple effect masks
+     * @return true if the follower has at least one of the simple effects, false otherwise
+     * @see SimpleEffects#MASK
+     */
+    public boolean hasAny(int simpleEffects) {
+        return (keywords & simpleEffects) != 0;
+    }
+
+    /**
+     * @param simpleEffects a combination of simple effect masks
+     * @return true if the follower has all of the simple effects, false otherwise
+     * @see SimpleEffects#MASK
+     */
+    public boolean hasAll(int simpleEffects) {
+        return (keywords & simpleEffects) == simpleEffects;
+    }
+
+    /**
+     * @return all keywords the follower currently has as a combination of simple effect masks
+     * @see SimpleEffects#MASK
+     */
+    public int getKeywords() {
+        return keywords;
     }
 
     /**
@@ -286,114 +313,108 @@ public final class Follower extends Card implements Attackable, Trait {
      * @param sourceCard the card that gives this buff
      */
     public void buff(int atk, int hp, Card sourceCard) {
-        attack += atk;
-        health += hp;
+        int status = getFieldStatus();
+        setAttack(attack + atk);
+        setHealth(health + hp);
+        updateField(status);
+        journal(BUFF_LIST, buffList.length());
         buffList.append('\n').append(sourceCard.getName()).append(" +").append(atk).append("/+").append(hp);
     }
 
     /**
      * Grant this follower a simple effect.
      *
+     * @param simpleEffect the simple effect to be granted
+     * @see #grantSimpleEffects(int)
+     */
+    public void grantSimpleEffect(SimpleEffects simpleEffect) {
+        grantSimpleEffects(simpleEffect.MASK);
+    }
+
+    /**
+     * Grant this follower several simple effects at once.
+     *
      * <p>All modifications related to the follower's {@linkplain #atkStatus} will not be valid if the current status is
      * {@linkplain AttackStatus#DISABLED}. {@linkplain SimpleEffects#RUSH} will not override {@linkplain
      * AttackStatus#STORM}. Besides, this method will override {@linkplain AttackStatus#ATTACKED}, which means granting
      * either {@linkplain SimpleEffects#STORM} or {@linkplain SimpleEffects#RUSH} will allow this follower to attack
      * even if it has already attacked this round.</p>
      *
-     * @param simpleEffect the simple effect to be granted
-     * @throws IllegalArgumentException if the simple effect does not exist
-     * @see SimpleEffects
+     * @param simpleEffects a combination of the masks of the simple effects to be granted
+     * @throws IllegalArgumentException if one of the simple effects does not exist
+     * @see SimpleEffects#MASK
      * @see AttackStatus
      */
-    public void grantSimpleEffect(SimpleEffects simpleEffect) {
-        switch (simpleEffect) {
-            case STORM:
-                if (atkStatus != AttackStatus.DISABLED)
-                    atkStatus = AttackStatus.STORM;
-                break;
+    public void grantSimpleEffects(int simpleEffects) {
+        if ((simpleEffects & ~SimpleEffects.ALL) != 0)
+            throw new IllegalArgumentException("No such effect found");
 
-            case RUSH:
-                if (atkStatus != AttackStatus.STORM && atkStatus != AttackStatus.DISABLED)
-                    atkStatus = AttackStatus.RUSH;
-                break;
+        int status = getFieldStatus();
+        setKeywords(keywords | simpleEffects & SimpleEffects.KEYWORDS);
 
-            case DRAIN:
-                hasDrain = true;
-                break;
+        if ((simpleEffects & SimpleEffects.STORM.MASK) != 0 && atkStatus != AttackStatus.DISABLED)
+            setAttackStatus(AttackStatus.STORM);
 
-            case WARD:
-                hasWard = true;
-                break;
+        if ((simpleEffects & SimpleEffects.RUSH.MASK) != 0 && atkStatus != AttackStatus.STORM &&
+                atkStatus != AttackStatus.DISABLED)
+            setAttackStatus(AttackStatus.RUSH);
 
-            case BANE:
-                hasBane = true;
-                break;
+        if ((simpleEffects & SimpleEffects.ATTACKED.MASK) != 0 && atkStatus != AttackStatus.DISABLED)
+            setAttackStatus(AttackStatus.ATTACKED);
 
-            case AMBUSH:
-                hasAmbush = true;
-                break;
-
-            case ATTACKED:
-                if (atkStatus != AttackStatus.DISABLED)
-                    atkStatus = AttackStatus.ATTACKED;
-                break;
-
-            case DAMAGE_IMMUNE:
-                hasDamageImmune = true;
-                break;
-
-            case UNTARGETABLE:
-                hasUntargetable = true;
-                break;
+        if ((simpleEffects & SimpleEffects.DISABLED.MASK) != 0)
+            setAttackStatus(AttackStatus.DISABLED);
 
-            case WARD_PIERCE:
-                hasWardPierce = true;
-                break;
-
-            case DISABLED:
-                atkStatus = AttackStatus.DISABLED;
-                break;
-
-            default:
-                throw new IllegalArgumentException("No such effect found");
-        }
+        updateField(status);
     }
 
     /**
      * Revoke a simple effect from this follower
      *
-     * <p>Only temporary effects are allowed to be removed.</p>
+     * @param simpleEffect the simple effect to be revoked
+     * @see #revokeSimpleEffects(int)
+     */
+    public void revokeSimpleEffect(SimpleEffects simpleEffect) {
+        revokeSimpleEffects(simpleEffect.MASK);
+    }
+
+    /**
+     * Revoke several simple effects from this follower at once
+     *
+     * <p>Only temporary effects are allowed to be removed, the others are ignored.</p>
      *
-     * @param simpleEffects the simple effect to be revoked
-     * @see SimpleEffects
+     * @param simpleEffects a combination of the masks of the simple effects to be revoked
+     * @see SimpleEffects#REVOCABLE
      */
-    public void revokeSimpleEffect(SimpleEffects simpleEffects) {
-        switch (simpleEffects) {
-            case DAMAGE_IMMUNE:
-                hasDamageImmune = false;
-                break;
+    public void revokeSimpleEffects(int simpleEffects) {
+        int status = getFieldStatus();
+        setKeywords(keywords & ~(simpleEffects & SimpleEffects.REVOCABLE));
 
-            case DISABLED:
-                atkStatus = AttackStatus.ENTRY;
-                break;
-        }
+        if ((simpleEffects & SimpleEffects.DISABLED.MASK) != 0)
+            setAttackStatus(AttackStatus.ENTRY);
+
+        updateField(status);
     }
 
     /**
-     * Evolve the current follower. Its attack and health will increase according to its {@linkplain #evoAtkAdd} and
-     * {@linkplain #evoHpAdd}, and it will gain {@linkplain AttackStatus#RUSH} if it just entered field. One follower is
+     * Evolve the current follower. Its attack and health will increase according to the evolve increases of its
+     * definition, and it will gain {@linkplain AttackStatus#RUSH} if it just entered field. One follower is
      * only allowed to be evolved once.
      *
      * @throws IllegalStateException if the follower has already been evolved
      */
     public void evolve() {
         if (!isEvolved) {
-            attack += evoAtkAdd;
-            health += evoHpAdd;
+            int status = getFieldStatus();
+            setAttack(attack + getDefinition().getEvolveAttackAdd());
+            setHealth(health + getDefinition().getEvolveHealthAdd());
+            journal(EVOLVED, 0);
             isEvolved = true;
+            rehash();
+            updateField(status);
 
             if (atkStatus == AttackStatus.ENTRY) {
-                atkStatus = AttackStatus.RUSH;
+                setAttackStatus(AttackStatus.RUSH);
             }
 
         } else {
@@ -419,13 +440,15 @@ public final class Follower extends Card implements Attackable, Trait {
             enemy.takeDamage(this);
             takeDamage(enemy);
 
-            if (hasAmbush) {
-                hasAmbush = false;
+            if (has(SimpleEffects.AMBUSH)) {
+                int status = getFieldStatus();
+                setKeywords(keywords & ~SimpleEffects.AMBUSH.MASK);
+                updateField(status);
             }
 
         }
 
-        atkStatus = AttackStatus.ATTACKED;
+        setAttackStatus(AttackStatus.ATTACKED);
     }
 
     /**
@@ -443,11 +466,13 @@ public final class Follower extends Card implements Attackable, Trait {
     public void attack(Leader opponent) {
         opponent.takeDamage(this);
 
-        if (hasAmbush) {
-            hasAmbush = false;
+        if (has(SimpleEffects.AMBUSH)) {
+            int status = getFieldStatus();
+            setKeywords(keywords & ~SimpleEffects.AMBUSH.MASK);
+            updateField(status);
         }
 
-        atkStatus = AttackStatus.ATTACKED;
+        setAttackStatus(AttackStatus.ATTACKED);
     }
 
     /**
@@ -456,7 +481,7 @@ public final class Follower extends Card implements Attackable, Trait {
      */
     @Override
     public SwordCraftTrait getSwordCraftTrait() {
-        return swordCraftTrait;
+        return getDefinition().getSwordCraftTrait();
     }
 
     /**
@@ -465,7 +490,7 @@ public final class Follower extends Card implements Attackable, Trait {
      * @param targetAttack the target attack value
      */
     public void changeAttack(int targetAttack) {
-        attack = targetAttack;
+        setAttack(targetAttack);
     }
 
     /**
@@ -474,7 +499,92 @@ public final class Follower extends Card implements Attackable, Trait {
      * @param targetHealth the target health value
      */
     public void changeHealth(int targetHealth) {
-        health = targetHealth;
+        int status = getFieldStatus();
+        setHealth(targetHealth);
+        updateField(status);
+    }
+
+    /**
+     * The field status packs the follower attributes that {@linkplain Field} keeps count of: whether it is alive, has
+     * {@linkplain SimpleEffects#WARD} and can be targeted.
+     *
+     * @return the field status of the follower as a combination of {@linkplain Field#ALIVE}, {@linkplain Field#WARD}
+     * and {@linkplain Field#TARGETABLE}
+     */
+    int getFieldStatus() {
+        return (isAlive() ? Field.ALIVE : 0) | (hasWard() ? Field.WARD : 0) | (canBeTargeted() ? Field.TARGETABLE : 0);
+    }
+
+    @Override
+    long computeHashKey() {
+        long stats = Zobrist.key(super.computeHashKey(), (long) attack << 32 | health & 0xFFFFFFFFL);
+        return Zobrist.key(stats, keywords << 8 | atkStatus.ordinal() << 1 | (isEvolved ? 1 : 0));
+    }
+
+    private void setHealth(int value) {
+        journal(HEALTH, health);
+        health = value;
+        rehash();
+    }
+
+    private void setAttack(int value) {
+        journal(ATTACK, attack);
+        attack = value;
+        rehash();
+    }
+
+    private void setKeywords(int value) {
+        journal(KEYWORDS, keywords);
+        keywords = value;
+        rehash();
+    }
+
+    private void setAttackStatus(AttackStatus value) {
+        journal(ATTACK_STATUS, atkStatus);
+        atkStatus = value;
+        rehash();
+    }
+
+    @Override
+    void restoreField(int field, int value, Object reference) {
+        switch (field) {
+            case HEALTH:
+                health = value;
+                break;
+
+            case ATTACK:
+                attack = value;
+                break;
+
+            case EVOLVED:
+                isEvolved = value != 0;
+                break;
+
+            case KEYWORDS:
+                keywords = value;
+                break;
+
+            case ATTACK_STATUS:
+                atkStatus = (AttackStatus) reference;
+                break;
+
+            case BUFF_LIST:
+                buffList.setLength(value);
+                break;
+
+            default:
+                super.restoreField(field, value, reference);
+        }
+    }
+
+    /**
+     * Reports a change of the field status to the field the follower is on.
+     *
+     * @param oldStatus the field status before the change
+     */
+    private void updateField(int oldStatus) {
+        if (getOwner() instanceof Field)
+            ((Field) getOwner()).updateFollower(oldStatus, getFieldStatus());
     }
 
     /**
@@ -536,6 +646,30 @@ public final class Follower extends Card implements Attackable, Trait {
          * Followers granted with DISABLED effect will immediately be granted with {@linkplain AttackStatus#DISABLED}.
          * It means that the follower is banned from making any attack unless this effect is removed.
          */
-        DISABLED
+        DISABLED;
+
+        /**
+         * The keywords a follower can keep. The other simple effects only change the {@linkplain AttackStatus}, except
+         * for {@linkplain #STORM} and {@linkplain #RUSH} which are also kept if the follower has them by definition.
+         */
+        static final int KEYWORDS = BANE.MASK | WARD.MASK | DRAIN.MASK | AMBUSH.MASK | UNTARGETABLE.MASK |
+                DAMAGE_IMMUNE.MASK | WARD_PIERCE.MASK;
+        /**
+         * The temporary simple effects that can be revoked.
+         */
+        static final int REVOCABLE = DAMAGE_IMMUNE.MASK | DISABLED.MASK;
+        /**
+         * The masks of all simple effects combined.
+         */
+        static final int ALL = (1 << values().length) - 1;
+
+        /**
+         * The bit representing the simple effect in a combination of simple effects.
+         */
+        final int MASK;
+
+        SimpleEffects() {
+            MASK = 1 << ordinal();
+        }
     }
 }
@@ -4,31 +4,44 @@ import java.awt.*;
 import java.awt.event.*;
 import java.awt.font.TextAttribute;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ImageObserver;
+import java.awt.image.VolatileImage;
 import java.text.AttributedString;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 
 /**
  * This program is a partial rebuild of "Shadowverse", a Collectible Card Game. All the images, sounds, cards and
  * mechanics used in this program are originated from this game, which full credit shall be given to their owners.
  *
- * <p>This class is the main class of the project (where the main method is located). It is responsible for basic game
- * features, mechanisms and interactions, such as GUI, game initialization and progress management, resource allocations
- * and invocations, etc.</p>
+ * <p>This class is the main class of the project (where the main method is located). It is responsible for the GUI,
+ * game initialization and player interactions. All game rules are processed by {@link GameEngine}, which this class
+ * presents and forwards player commands to.</p>
  *
  * <p>The game can be played with 2 players(competitive) or 1 player(self vs. self or for testing purposes). If played
- * by 2 players, each player should have control over 1 leader.</p>
+ * by 2 players, each player should have control over 1 leader. Either leader can also be played by a {@linkplain
+ * MctsBot computer player}, which is chosen through the arguments of {@link #main(String[])}. The computer player
+ * searches on all processors and does not look at its opponent's hand.</p>
  *
  * <p>The program initializes by invoking its own private constructor. The main JFrame will not be visible until {@link
  * #leaderSelectionPanel()} and {@link #cardSwitchPanel(Player)} finish running. These two methods are responsible for
  * acquiring basic information of the game.</p>
  *
- * <p>Upon the end of the game, {@link #endGame(Player)} will be invoked and a dialog will show up and display the
+ * <p>Upon the end of the game, {@link #gameEnded(Player)} will be invoked and a dialog will show up and display the
  * winner. After that, all player interactions will be cut-off, which means no components will respond to player's
  * command any more. However, players are still allowed to check the final moment of the game and check for card
  * details.</p>
  *
  * @author Adrian Zhao
  * @version 1.0
+ * @see GameEngine
  * @see ImageLib
  * @see SoundLib
  * @see CardLib
@@ -37,18 +50,33 @@ import java.text.AttributedString;
  * @see Card
  * @since 1.0
  */
-public final class Game extends JFrame {
+public final class Game extends JFrame implements GameListener {
     private static final Color EP_COLOR = new Color(255, 153, 0);
-    private Player p1, p2, current_player;
     /**
-     * This field represents whether the game is ongoing or finished. Its initial value is true, and it is only to be
-     * toggle to false when {@link #endGame(Player)} is invoked.
-     *
-     * <p>Many listeners check this field's value first before responding to player's commands.</p>
-     *
-     * @see #endGame(Player)
+     * The default search time of the computer player per action, in milliseconds.
+     */
+    private static final long DEFAULT_BOT_BUDGET = 1000;
+    /**
+     * The number of composited field card sprites kept by {@linkplain #SPRITES}.
+     */
+    private static final int SPRITE_CACHE_SIZE = 64;
+    /**
+     * If true, every field card panel keeps its sprite in a {@linkplain VolatileImage}, so it stays in video memory
+     * even where the graphics pipeline does not cache managed images. Set by the system property
+     * {@code volatileSprites}.
+     */
+    private static final boolean VOLATILE_SPRITES = Boolean.getBoolean("volatileSprites");
+    /**
+     * If true, the number and time of the card images drawn in each frame are printed, with the number of images that
+     * are not in the format of the screen. Set by the system property {@code reportBlitCost}.
      */
-    private boolean gameAlive;
+    private static final boolean REPORT_BLIT_COST = Boolean.getBoolean("reportBlitCost");
+    private Player p1, p2;
+    /**
+     * The rules core of the game. Many listeners check {@link GameEngine#isGameAlive()} first before responding to
+     * player's commands.
+     */
+    private GameEngine engine;
     private String leader1, leader2;
     private Card[] p1InitialHand, p2InitialHand;
     private HandPanel enemyHandPanel, playerHandPanel;
@@ -93,25 +121,139 @@ public final class Game extends JFrame {
      * <p>When it's value is {@link Selection#ATTACK}, it will hold the attacker Follower and attacker Player. They can
      * later be acquired by invoking its {@link Selection#getAttackerPlayer()} and {@link Selection#getAttacker()}</p>
      *
-     * <p>When there is no action taking place on the next click, its value will be {@link Selection#PEND}</p>
+     * <p>When there is no action taking place on the next click, its value will be {@link Selection#PEND}. This field
+     * is ignored while {@link GameEngine#getPendingTarget()} is waiting for an effect target.</p>
      *
      * @see Selection
      */
     private Selection selection = Selection.PEND;
+    /**
+     * The computer player and the leader it plays, both null if both leaders are played through the GUI.
+     */
+    private MctsBot bot;
+    private Player botPlayer;
+    /**
+     * The seat of the computer player: 1 or 2, 0 if there is no computer player.
+     */
+    private int botSeat;
+    /**
+     * True while the computer player is searching for its next action.
+     */
+    private boolean botThinking;
+    /**
+     * The preloading of all card art, null if card art is decoded on demand.
+     */
+    private CompletableFuture<Void> imageLoading;
+    /**
+     * The card images drawn in the current frame, the time spent drawing them in nanoseconds and the number of them
+     * that are not in the format of the screen. Only counted if {@linkplain #REPORT_BLIT_COST} is set.
+     */
+    private int blits, slowBlits;
+    private long blitTime;
+    /**
+     * The composited images of field cards, keyed by {@linkplain FieldCardPanel#getSpriteKey()} and evicted in least
+     * recently used order. It is only accessed from the event dispatch thread.
+     */
+    private final LinkedHashMap<Long, BufferedImage> SPRITES = new LinkedHashMap<Long, BufferedImage>(
+            SPRITE_CACHE_SIZE * 2, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            return size() > SPRITE_CACHE_SIZE;
+        }
+    };
 
     /**
      * This constructor is only to be invoked by the main method at the very beginning of the program. <p>The game
      * preparation music will be played through {@link SoundLib} until the program finishes getting game information
      * from the player, which will happen at the point that the dialog created by {@link #cardSwitchPanel(Player)} is
      * being disposed and the main frame becomes visible.</p>
+     *
+     * @param botSeat        the seat played by the computer player: 1 or 2, 0 if there is none
+     * @param botBudget      the search time of the computer player per action, in milliseconds
+     * @param loadingThreads the number of threads preloading all card art, 0 to decode card art on demand
      */
-    private Game() {
+    private Game(int botSeat, long botBudget, int loadingThreads) {
+        this.botSeat = botSeat;
+
+        if (loadingThreads > 0)
+            imageLoading = ImageLib.preload(loadingThreads);
+
+        if (REPORT_BLIT_COST)
+            RepaintManager.setCurrentManager(new RepaintManager() {
+                @Override
+                public void paintDirtyRegions() {
+                    blits = slowBlits = 0;
+                    blitTime = 0;
+                    super.paintDirtyRegions();
+
+                    if (blits > 0)
+                        System.out.printf("Frame: %d card images in %.3f ms, %d not compatible%n", blits,
+                                blitTime / 1e6, slowBlits);
+                }
+            });
+
+        if (botSeat != 0)
+            bot = new MctsBot(botBudget, Runtime.getRuntime().availableProcessors(), MctsBot.Information.IMPERFECT,
+                    new SplittableRandom());
+
         SoundLib.GAME_PREP.playSound();
         leaderSelectionPanel();
     }
 
+    /**
+     * Starts the program.
+     *
+     * <p>Usage: {@code java Game [bot seat] [bot milliseconds] [loading threads]}. The leader of the given seat (1 plays
+     * first, 2 plays second) is played by the computer, which searches every action for the given time (default 1000).
+     * Without arguments both leaders are played through the GUI. With a positive number of loading threads, all card
+     * art is decoded in parallel at startup instead of on demand.</p>
+     *
+     * <p>The system properties {@code volatileSprites} and {@code reportBlitCost} turn on video memory sprites for the
+     * cards on field and the per-frame report of the time spent drawing card images, e.g.
+     * {@code java -DreportBlitCost=true Game}.</p>
+     *
+     * @param args the optional seat and search time of the computer player, and the number of loading threads
+     * @throws IllegalArgumentException if the seat is neither 0, 1 nor 2, or the number of loading threads is negative
+     */
     public static void main(String[] args) {
-        new Game();
+        int botSeat = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        long botBudget = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_BOT_BUDGET;
+        int loadingThreads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+
+        if (botSeat < 0 || botSeat > 2)
+            throw new IllegalArgumentException("BOT SEAT MUST BE 1 OR 2");
+
+        if (loadingThreads < 0)
+            throw new IllegalArgumentException("NUMBER OF LOADING THREADS MUST NOT BE NEGATIVE");
+
+        new Game(botSeat, botBudget, loadingThreads);
+    }
+
+    /**
+     * Draws a card image, and counts it in the frame if {@linkplain #REPORT_BLIT_COST} is set.
+     *
+     * @param g        the graphics to draw to
+     * @param image    the image to be drawn
+     * @param x        the x coordinate of the image
+     * @param y        the y coordinate of the image
+     * @param observer the observer of the image
+     * @return true if the image was completely drawn, false if it is still loading
+     */
+    private boolean blit(Graphics2D g, Image image, int x, int y, ImageObserver observer) {
+        if (!REPORT_BLIT_COST)
+            return g.drawImage(image, x, y, observer);
+
+        long start = System.nanoTime();
+        boolean complete = g.drawImage(image, x, y, observer);
+        blitTime += System.nanoTime() - start;
+        blits++;
+
+        if (!ImageLib.isCompatible(image, g.getDeviceConfiguration()))
+            slowBlits++;
+
+        return complete;
     }
 
     /**
@@ -121,6 +263,9 @@ public final class Game extends JFrame {
      *
      * <p>When the selection is completed, this dialog will be disposed and {@link #cardSwitchPanel(Player)} will be
      * invoked as the second step of the initialization.</p>
+     *
+     * <p>If all card art is being preloaded, the dialog shows the progress below the instruction. The leaders can be
+     * selected before the loading is finished, as card art that is not loaded yet is decoded on demand.</p>
      */
     private void leaderSelectionPanel() {
         SwingUtilities.invokeLater(() -> {
@@ -159,6 +304,8 @@ public final class Game extends JFrame {
                     leader2 = ((JButton) event.getSource()).getText();
                     p1 = new Player(leader1, Player.RoundOrder.OFFENSIVE);
                     p2 = new Player(leader2, Player.RoundOrder.DEFENSIVE);
+                    ImageLib.prefetch(p1.getLeader().getLeaderType(), p2.getLeader().getLeaderType());
+                    botPlayer = botSeat == 1 ? p1 : botSeat == 2 ? p2 : null;
                     dialog.dispose();
                     cardSwitchPanel(p1);
                 }
@@ -182,7 +329,30 @@ public final class Game extends JFrame {
             setTextStyle(instruction);
             instruction.setBorder(BorderFactory.createEmptyBorder(30, 30, 30, 30));
 
-            dialogContainer.add(instruction);
+            if (imageLoading == null || imageLoading.isDone()) {
+                dialogContainer.add(instruction);
+            } else {
+                JPanel instructionPanel = new JPanel(new BorderLayout());
+                JProgressBar loadingBar = new JProgressBar(0, 1000);
+                loadingBar.setStringPainted(true);
+                loadingBar.setString("Loading card art");
+                instructionPanel.add(instruction, BorderLayout.CENTER);
+                instructionPanel.add(loadingBar, BorderLayout.SOUTH);
+                dialogContainer.add(instructionPanel);
+
+                Timer loadingTimer = new Timer(100, null);
+                loadingTimer.addActionListener(event -> {
+                    loadingBar.setValue((int) (ImageLib.getPreloadProgress() * 1000));
+
+                    if (imageLoading.isDone()) {
+                        loadingBar.setString(imageLoading.isCompletedExceptionally() ?
+                                "Card art will be loaded on demand" : "Card art loaded");
+                        loadingTimer.stop();
+                    }
+                });
+                loadingTimer.start();
+            }
+
             dialog.setVisible(true);
         });
     }
@@ -205,6 +375,12 @@ public final class Game extends JFrame {
      * @throws NullPointerException Occurs when there is no preset deck for the player's leader
      */
     private void cardSwitchPanel(Player player) {
+        if (player == botPlayer) {
+            Deck deck = player.getDeck();
+            finishCardSwitch(player, new Card[]{deck.drawCard(), deck.drawCard(), deck.drawCard()});
+            return;
+        }
+
         SwingUtilities.invokeLater(() -> {
             JDialog dialog = new JDialog();
             dialog.setTitle(player.getLeader().getName() + " Card Switch");
@@ -294,14 +470,7 @@ public final class Game extends JFrame {
 
             done.addActionListener(e -> {
                 dialog.dispose();
-
-                if (player == p1) {
-                    cardSwitchPanel(p2);
-                    p1InitialHand = new Card[]{buttons[0].getCard(), buttons[1].getCard(), buttons[2].getCard()};
-                } else {
-                    p2InitialHand = new Card[]{buttons[0].getCard(), buttons[1].getCard(), buttons[2].getCard()};
-                    initialize();
-                }
+                finishCardSwitch(player, new Card[]{buttons[0].getCard(), buttons[1].getCard(), buttons[2].getCard()});
             });
 
 
@@ -328,6 +497,23 @@ public final class Game extends JFrame {
         });
     }
 
+    /**
+     * Settles the initial hand of a player after the card switch, and moves on to the card switch of the second player
+     * or to {@link #initialize()}. The computer player keeps the first three cards it draws.
+     *
+     * @param player the player that has finished the card switch
+     * @param hand   the initial hand of the player
+     */
+    private void finishCardSwitch(Player player, Card[] hand) {
+        if (player == p1) {
+            p1InitialHand = hand;
+            cardSwitchPanel(p2);
+        } else {
+            p2InitialHand = hand;
+            initialize();
+        }
+    }
+
     /**
      * This method initializes all GUI components as well as starting the game.
      *
@@ -339,11 +525,13 @@ public final class Game extends JFrame {
      * for effects and attacks.</p>
      *
      * <p>On the completion of the initialization, a random back ground music will be chosen to play through {@link
-     * SoundLib}, and then the game will formally start from the first player.</p>
+     * SoundLib}, and then the game will formally start from the first player through {@link GameEngine#start()}.</p>
      */
     private void initialize() {
         p1.getHand().add(p1InitialHand);
         p2.getHand().add(p2InitialHand);
+        engine = new GameEngine(p1, p2);
+        engine.setListener(this);
 
         SwingUtilities.invokeLater(() -> {
             setLabelStyle(enemyCostLabel);
@@ -407,19 +595,17 @@ public final class Game extends JFrame {
 
                 @Override
                 public void mousePressed(MouseEvent e) {
-                    switch (selection) {
-                        case ATTACK:
-                            handleAttack(p2);
-                            break;
-
-                        case FRIENDLY_FOLLOWER_OR_LEADER:
-                        case ENEMY_FOLLOWER_OR_LEADER:
-                            EffectLib.proceedEffect(CardLib.CARD_REPRESENT_LEADER, null);
-                            break;
-
+                    if (isBotTurn())
+                        return;
+
+                    if (engine.getPendingTarget() != null) {
+                        if (engine.selectTarget(CardLib.CARD_REPRESENT_LEADER, p2))
+                            displayMessage(p2.getLeader().getName() + " is hit!");
+                    } else if (selection == Selection.ATTACK) {
+                        if (engine.attackLeader(selection.getAttacker(), p2))
+                            displayMessage(p2.getLeader().getName() + " is hit!");
                     }
 
-                    displayMessage(p2.getLeader().getName() + " is hit!");
                     selection = Selection.PEND;
                     updateGUI();
                 }
@@ -447,6 +633,9 @@ public final class Game extends JFrame {
             enemyLeaderStatus.add(enemyHealthLabel);
             enemyLeaderStatus.add(enemyCostLabel);
             enemyEvolveButton.addActionListener(e -> {
+                if (isBotTurn())
+                    return;
+
                 if (selection == Selection.EVOLUTION)
                     selection = Selection.PEND;
                 else
@@ -486,7 +675,14 @@ public final class Game extends JFrame {
             costBox.add(Box.createVerticalStrut(15));
 
             endRoundButton = new JButton("End Round");
-            endRoundButton.addActionListener(event -> endRound());
+            endRoundButton.addActionListener(event -> {
+                if (isBotTurn())
+                    return;
+
+                selection = Selection.PEND;
+                engine.endRound();
+                updateGUI();
+            });
             costBox.add(endRoundButton);
 
             rightPane.add(costBox);
@@ -505,18 +701,17 @@ public final class Game extends JFrame {
 
                 @Override
                 public void mousePressed(MouseEvent e) {
-                    switch (selection) {
-                        case ATTACK:
-                            handleAttack(p1);
-                            break;
-
-                        case ENEMY_FOLLOWER_OR_LEADER:
-                        case FRIENDLY_FOLLOWER_OR_LEADER:
-                            EffectLib.proceedEffect(CardLib.CARD_REPRESENT_LEADER, null);
-                            break;
+                    if (isBotTurn())
+                        return;
+
+                    if (engine.getPendingTarget() != null) {
+                        if (engine.selectTarget(CardLib.CARD_REPRESENT_LEADER, p1))
+                            displayMessage(p1.getLeader().getName() + " is hit!");
+                    } else if (selection == Selection.ATTACK) {
+                        if (engine.attackLeader(selection.getAttacker(), p1))
+                            displayMessage(p1.getLeader().getName() + " is hit!");
                     }
 
-                    displayMessage(p1.getLeader().getName() + " is hit!");
                     selection = Selection.PEND;
                     updateGUI();
                 }
@@ -544,6 +739,9 @@ public final class Game extends JFrame {
             playerLeaderStatus.add(playerHealthLabel);
             playerLeaderStatus.add(playerCostInfoLabel);
             playerEvolveButton.addActionListener(e -> {
+                if (isBotTurn())
+                    return;
+
                 if (selection == Selection.EVOLUTION)
                     selection = Selection.PEND;
                 else
@@ -588,12 +786,8 @@ public final class Game extends JFrame {
             updateGUI();
         });
 
-        gameAlive = true;
         SoundLib.RANDOM_BGM.playSound();
-
-        p1.iniNewRound();
-        current_player = p1;
-        displayMessage(p1.getLeader().getName() + "'s Round " + p1.getRoundNumber());
+        engine.start();
     }
 
     /**
@@ -617,22 +811,23 @@ public final class Game extends JFrame {
      * @see #updateGUI()
      */
     private void updateGUIaction() {
-        playerHandPanel.repaint();
-        playerFieldPanel.repaint();
-        enemyHandPanel.repaint();
-        enemyFieldPanel.repaint();
+        playerHandPanel.syncCards();
+        playerFieldPanel.syncCards();
+        enemyHandPanel.syncCards();
+        enemyFieldPanel.syncCards();
 
         enemyHandSizeLabel.setText("Hand " + p2.getHand().size());
         enemyGraveSizeLabel.setText("Grave " + p2.getGrave().size());
         enemyDeckSizeLabel.setText("Deck " + p2.getDeck().size());
 
-        int enemyEvoCD = getEvolveCD(p2);
+        int enemyEvoCD = engine.getEvolveCD(p2);
         if (enemyEvoCD <= 0)
             enemyEvolveButton.setText("EP " + p2.getEvolvePts());
         else
             enemyEvolveButton.setText("CD " + enemyEvoCD);
 
-        if (gameAlive && enemyEvoCD <= 0 && current_player == p2 && p2.getEvolvePts() > 0)
+        if (engine.isGameAlive() && !isBotTurn() && enemyEvoCD <= 0 && engine.getCurrentPlayer() == p2
+                && p2.getEvolvePts() > 0)
             enemyEvolveButton.setEnabled(true);
         else
             enemyEvolveButton.setEnabled(false);
@@ -702,117 +897,66 @@ public final class Game extends JFrame {
                 break;
         }
 
-        int playerEvoCD = getEvolveCD(p1);
+        int playerEvoCD = engine.getEvolveCD(p1);
         if (playerEvoCD <= 0)
             playerEvolveButton.setText("EP " + p1.getEvolvePts());
         else
             playerEvolveButton.setText("CD " + playerEvoCD);
 
-        if (gameAlive && playerEvoCD <= 0 && current_player == p1 && p1.getEvolvePts() > 0)
+        if (engine.isGameAlive() && !isBotTurn() && playerEvoCD <= 0 && engine.getCurrentPlayer() == p1
+                && p1.getEvolvePts() > 0)
             playerEvolveButton.setEnabled(true);
         else
             playerEvolveButton.setEnabled(false);
+
+        endRoundButton.setEnabled(engine.isGameAlive() && !isBotTurn());
+
+        scheduleBotMove();
     }
 
     /**
-     * This method is invoked every time the {@linkplain #endRoundButton} is pressed. It ends the current player's
-     * round, changing field values and activate all "When round end" effects. Then {@link Player#endRound()} is invoked
-     * to finalize round.
-     *
-     * <p>After current player's round finalization, this method will also initialize the next player's round by
-     * invoking {@link Player#iniNewRound()} and activating all "Fanfare" effects. {@link #endGame(Player)} will be
-     * invoked if there is no card left in the deck and the player that has the drained deck will lose the game.</p>
-     *
-     * <p>All effects are processed through {@link #sendEffect(String, Card, Player, Card, Player)}. {@link
-     * #updateGUI()} will be invoked at the end of the method to refresh the GUI.</p>
+     * Whether the GUI should ignore input because the round belongs to the computer player, or its search is still
+     * running.
      *
-     * @see Player#endRound()
-     * @see Player#iniNewRound()
+     * @return true if it is the round of the computer player
      */
-    private void endRound() {
-        Player nextPlayer;
-        if (current_player == p1)
-            nextPlayer = p2;
-        else
-            nextPlayer = p1;
-
-        Field currentField = (Field) current_player.getField().clone();
-        for (Card c : currentField) {
-            sendEffect(c.getWhenEnd(), c, current_player, null, null);
-
-            if (c.isEntranceRound())
-                sendEffect(c.getWhenEntranceEnd(), c, current_player, null, null);
-
-            c.passEntranceRound();
-        }
-
-        current_player.endRound();
-
-        if (nextPlayer.iniNewRound()) {
-
-            Field nextField = (Field) nextPlayer.getField().clone();
-            for (Card c : nextField)
-                sendEffect(c.getWhenStart(), c, nextPlayer, null, null);
-
-        } else {
-            endGame(current_player);
-        }
-
-        current_player = nextPlayer;
-        displayMessage(nextPlayer.getLeader().getName() + "'s Round " + nextPlayer.getRoundNumber());
-
-        updateGUI();
+    private boolean isBotTurn() {
+        return bot != null && (botThinking || engine.getCurrentPlayer() == botPlayer);
     }
 
     /**
-     * This method is invoked when a click event has been detected on either {@linkplain #playerEvolveButton} or
-     * {@linkplain #enemyEvolveButton}. It checks first if the evolve action is valid for the given player. If the
-     * conditions are met, {@link Follower#evolve()} will be called, the Follower object will evolve and its "When
-     * evolve" effect will be activated, else the game will display an error message to inform the player.
-     *
-     * @param follower the Follower object to be evolved
-     * @param owner    the player which the Follower object belongs to
-     * @see Follower#evolve()
+     * Lets the computer player search for its next action in the background if it is its round. The search runs on a
+     * copy of the game, and the action is carried out in the EDT once the search is done, unless the game has changed
+     * in the meantime. The GUI update that follows schedules the next action.
      */
-    private void useEvolvePts(Follower follower, Player owner) {
-        boolean isEvolvable = false;
-
-        switch (owner.getRoundOrder()) {
-            case OFFENSIVE:
-                if (owner.getRoundNumber() >= 5) {
-                    isEvolvable = true;
-                } else {
-                    displayMessage("ERROR: You can only evolve after round 5");
-                }
-                break;
-
-            case DEFENSIVE:
-                if (owner.getRoundNumber() >= 4) {
-                    isEvolvable = true;
-                } else {
-                    displayMessage("ERROR: You can only evolve after round 4");
-                }
-                break;
-        }
-
-        if (isEvolvable) {
-            if (!follower.hasEvolved()) {
-                if (!current_player.hasEvolved()) {
+    private void scheduleBotMove() {
+        if (bot == null || botThinking || !engine.isGameAlive() || engine.getCurrentPlayer() != botPlayer)
+            return;
+
+        botThinking = true;
+        GameEngine position = engine.copy(new SplittableRandom());
+        long hash = engine.getHash();
+
+        new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() {
+                return bot.chooseAction(position);
+            }
 
-                    if (owner.evolve(follower))
-                        sendEffect(follower.getWhenEvolve(), follower, owner, null, null);
-                    else
-                        displayMessage("ERROR: Not enough EP left");
+            @Override
+            protected void done() {
+                botThinking = false;
 
-                } else {
-                    displayMessage("ERROR: Only one evolve per round is allowed!");
+                try {
+                    if (engine.getHash() == hash)
+                        engine.perform(get());
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException("COMPUTER PLAYER FAILED", e);
                 }
-            } else {
-                displayMessage("ERROR: Follower has already evolved!");
-            }
-        }
 
-        updateGUI();
+                updateGUI();
+            }
+        }.execute();
     }
 
     /**
@@ -828,7 +972,7 @@ public final class Game extends JFrame {
      * <p>For a {@linkplain Spell}, its name, cost, leader and effects will be displayed.</p>
      *
      * @param card the Card object to be displayed
-     * @see EffectLib#getEffectDescription(String, Card)
+     * @see EffectLib#getEffectDescription(Effect, Card)
      */
     private void showCardDetail(Card card) {
         SwingUtilities.invokeLater(() -> {
@@ -879,7 +1023,7 @@ public final class Game extends JFrame {
                     if (follower.hasRush()) description.append("RUSH ");
 
                     if (follower.getFanfare() != null) {
-                        if (!follower.getFanfare().contains("BSTCST"))
+                        if (follower.getFanfare().getCode() != Effect.Code.BSTCST)
                             description.append("\nFanfare: ");
                         else
                             description.append("\n");
@@ -970,129 +1114,19 @@ public final class Game extends JFrame {
     }
 
     /**
-     * This method handles attack events targeting an opponent's Follower. The source Player and Follower is acquired
-     * through {@linkplain #selection} object.
-     *
-     * <p>The validity of the attack action will be checked first. The attacker Follower must have correct {@linkplain
-     * AttackStatus} and the target must be targetable. If the action is approved, the "When fight" and "When attack"
-     * effects on the attacker will be activated first, and the target's "When fight" effect will also be activated.
-     * Then, damage is dealt to both sides according to their current attack value. Special simple effects will be
-     * processed after the damage is dealt(drain and bane).</p>
-     *
-     * <p>All effects are processed through {@link #sendEffect(String, Card, Player, Card, Player)}. If any card is
-     * destroyed during the attack event, {@link #processCardExit(Card, Player, boolean)} will be invoked and the method
-     * will not execute any code further.</p>
-     *
-     * @param target        the Follower object that is going to be attacked
-     * @param target_player the Player object that owns the target Follower
-     * @see Selection
-     * @see AttackStatus
-     */
-    private void handleAttack(Follower target, Player target_player) {
-        Follower attacker = selection.getAttacker();
-        Player attacker_player = selection.getAttackerPlayer();
-
-        if (attacker != null && attacker.getAtkStatus().canAttackFollower()) {
-
-            if ((target_player.getField().haveNoWard() || target.hasWard() || attacker.hasWardPierce())
-                    && !target.hasAmbush()) {
-                sendEffect(attacker.getWhenFight(), attacker, attacker_player, target, target_player);
-                sendEffect(attacker.getWhenAttack(), attacker, attacker_player, target, target_player);
-                if (target.isAlive())
-                    sendEffect(target.getWhenFight(), target, target_player, attacker, attacker_player);
-
-                attacker.attack(target);
-                displayMessage(attacker.getName() + " attacked enemy follower " + target.getName());
-
-                if (attacker.hasDrain())
-                    attacker_player.getLeader().heal(attacker.getAttack());
-
-                if (!attacker.isAlive() || target.hasBane())
-                    processCardExit(attacker, attacker_player, false);
-
-                if (!target.isAlive() || attacker.hasBane())
-                    processCardExit(target, target_player, false);
-
-            } else {
-                displayMessage("ERROR: Enemy is untargetable");
-            }
-
-        } else {
-            displayMessage("ERROR: Attacker is unable to attack under current status");
-        }
-
-        updateGUI();
-    }
-
-    /**
-     * This method handles attack events targeting the opponent's leader. The source Player and Follower is acquired
-     * through {@linkplain #selection} object.
-     *
-     * <p>The validity of the attack action will be checked first. The attacker Follower must have correct {@linkplain
-     * AttackStatus} and the opponent leader must be targetable. If the action is approved, the attacker's "When attack"
-     * effect will be activated, and the damage will be dealt to the enemy leader. Simple effect "drain" will be
-     * processed after the damage is dealt.</p>
+     * This method presents the end of the game. It plays the game end music, creates a dialog that shows the game
+     * result(the winner of the game) and disables all interactive components from further receiving player's commands
+     * (except for right click events, which checks the card details).
      *
-     * <p>All effects are processed through {@link #sendEffect(String, Card, Player, Card, Player)}. The game will end
-     * if the attack causes the leader's health drops below or equal to 0.</p>
-     *
-     * @param target_player the Player object that is going to be attacked
-     * @see Selection
-     * @see AttackStatus
-     */
-    private void handleAttack(Player target_player) {
-        Follower attacker = selection.getAttacker();
-        Player attacker_player = selection.getAttackerPlayer();
-
-        if (!target_player.getField().contains(attacker)) {
-            if (attacker != null && attacker.getAtkStatus().canAttackLeader()) {
-                if (target_player.getField().haveNoWard() || attacker.hasWardPierce()) {
-                    sendEffect(attacker.getWhenAttack(), attacker, attacker_player, null, null);
-
-                    attacker.attack(target_player.getLeader());
-                    displayMessage(attacker.getName() + " attacked enemy leader " +
-                            target_player.getLeader().getName());
-
-                    if (attacker.hasDrain()) {
-                        attacker_player.getLeader().heal(attacker.getAttack());
-                    }
-
-                    if (!target_player.getLeader().isAlive()) {
-                        if (p1 == target_player) {
-                            endGame(p2);
-                        } else {
-                            endGame(p1);
-                        }
-                    }
-
-                } else {
-                    displayMessage("ERROR: Enemy leader is untargetable");
-                }
-            } else {
-                displayMessage("ERROR: Attacker is unable to attack enemy leader under current status");
-            }
-        } else {
-            displayMessage("NO FRIENDLY DAMAGE ALLOWED!!!!!!!!!!");
-        }
-
-
-        updateGUI();
-    }
-
-    /**
-     * This method finalizes the game. It plays the game end music, creates a dialog that shows the game result(the
-     * winner of the game) and disables all interactive components from further receiving player's commands by toggling
-     * the value of {@linkplain #gameAlive}(except for right click events, which checks the card details).
-     *
-     * <p>This method should be and only be invoked when the leader's health drops to 0 or below, or activation of some
-     * special effects that allow immediate victory.</p>
+     * <p>This method is invoked by {@link GameEngine#endGame(Player)} when the game ends.</p>
      *
      * <p>GUI-related code are wrapped in {@link SwingUtilities#invokeLater(Runnable)} for EDT to execute.</p>
      *
      * @param winner the Player who wins the game
-     * @see #gameAlive
+     * @see GameEngine#isGameAlive()
      */
-    public void endGame(Player winner) {
+    @Override
+    public void gameEnded(Player winner) {
         SoundLib.GAME_END.playSound();
 
         SwingUtilities.invokeLater(() -> {
@@ -1115,7 +1149,6 @@ public final class Game extends JFrame {
             dialog.setTitle("GAME OVER");
             dialog.setVisible(true);
 
-            gameAlive = false;
             playerEvolveButton.setEnabled(false);
             enemyEvolveButton.setEnabled(false);
             endRoundButton.setEnabled(false);
@@ -1159,265 +1192,6 @@ public final class Game extends JFrame {
         text.setFont(new Font("Sans-Serif", Font.BOLD, 16));
     }
 
-    /**
-     * This method returns the number of rounds left before a player can use evolve points.
-     *
-     * @param player the Player object to be checked
-     * @return the number of rounds left before evolve is available
-     */
-    private int getEvolveCD(Player player) {
-        switch (player.getRoundOrder()) {
-            case OFFENSIVE:
-                return 5 - player.getRoundNumber();
-
-            case DEFENSIVE:
-                return 4 - player.getRoundNumber();
-
-            default:
-                throw new IllegalStateException("UNKNOWN ROUND ORDER STATE");
-        }
-    }
-
-    /**
-     * This method sends pending effects to {@linkplain EffectLib} and receives response from it.
-     *
-     * <p>A neither {@linkplain EffectLib.Response#DONE} nor {@linkplain EffectLib.Response#FAIL} response received
-     * indicates that a specific target is needed to proceed the effect. The target's identity can vary according to
-     * what the effect requires. Therefore, this method first checks if there is an eligible target. If there is,
-     * {@linkplain #selection} will be set to that specific target type. If no card matches the requirement, the effect
-     * will be disposed.</p>
-     *
-     * @param effect        the pending effect's content string
-     * @param card          the origin Card of the effect
-     * @param sourcePlayer  the origin Player of the effect
-     * @param cardTrigger   the Card that triggers the effect
-     * @param triggerPlayer the Player that triggers the effect
-     * @see EffectLib
-     * @see Selection
-     */
-    private void sendEffect(String effect, Card card, Player sourcePlayer, Card cardTrigger, Player triggerPlayer) {
-        if (effect != null) {
-
-            Player opponentPlayer;
-
-            if (p1 != sourcePlayer)
-                opponentPlayer = p1;
-            else
-                opponentPlayer = p2;
-
-            switch (EffectLib.processEffect(effect, card, this, sourcePlayer, opponentPlayer)) {
-                case ENEMY_FOLLOWER:
-                    if (opponentPlayer.getField().hasTargetableFollower()) {
-                        displayMessage("Please select an enemy target");
-                        selection = Selection.ENEMY_FOLLOWER;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case FRIENDLY_FOLLOWER:
-                    if (sourcePlayer.getField().followerCount() > 0) {
-                        displayMessage("Please select a friendly target");
-                        selection = Selection.FRIENDLY_FOLLOWER;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case ANY_FOLLOWER:
-                    if (sourcePlayer.getField().followerCount() > 0 || opponentPlayer.getField().hasTargetableFollower()) {
-                        displayMessage("Please select a follower target");
-                        selection = Selection.ANY_FOLLOWER;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case FRIENDLY_OFFICER:
-                    if (sourcePlayer.getField().hasSwordTraitFollower(Trait.SwordCraftTrait.OFFICER)) {
-                        displayMessage("Please select a friendly officer");
-                        selection = Selection.FRIENDLY_OFFICER;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case FRIENDLY_OFFICER_ENTRANCE:
-                    if (triggerPlayer == sourcePlayer && cardTrigger instanceof Follower &&
-                            ((Follower) cardTrigger).getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER) {
-                        EffectLib.proceedEffect(cardTrigger, sourcePlayer);
-                    } else {
-                        discardEffect(false);
-                    }
-                    break;
-
-                case FRIENDLY_COMMANDER:
-                    if (sourcePlayer.getField().hasSwordTraitFollower(Trait.SwordCraftTrait.COMMANDER)) {
-                        displayMessage("Please select a friendly commander");
-                        selection = Selection.FRIENDLY_COMMANDER;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case FRIENDLY_COMMANDER_ENTRANCE:
-                    if (triggerPlayer == sourcePlayer && cardTrigger instanceof Follower &&
-                            ((Follower) cardTrigger).getSwordCraftTrait() == Trait.SwordCraftTrait.COMMANDER) {
-                        EffectLib.proceedEffect(cardTrigger, sourcePlayer);
-                    } else {
-                        discardEffect(false);
-                    }
-                    break;
-
-                case FRIENDLY_FOLLOWER_ENTRANCE:
-                    if (triggerPlayer == sourcePlayer && cardTrigger instanceof Follower) {
-                        EffectLib.proceedEffect(cardTrigger, sourcePlayer);
-                    } else {
-                        discardEffect(false);
-                    }
-                    break;
-
-                case ENEMY_FOLLOWER_OR_LEADER:
-                    displayMessage("Please select an enemy target");
-                    selection = Selection.ENEMY_FOLLOWER_OR_LEADER;
-                    break;
-
-                case FRIENDLY_FOLLOWER_OR_LEADER:
-                    displayMessage("Please select a friendly target");
-                    selection = Selection.FRIENDLY_FOLLOWER_OR_LEADER;
-                    break;
-
-                case FRIENDLY_CD_AMULET:
-                    if (sourcePlayer.getField().hasCountdownAmulet()) {
-                        displayMessage("Please select a friendly countdown amulet");
-                        selection = Selection.FRIENDLY_CD_AMULET;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case ENEMY_FOLLOWER_HP_LESS:
-                    if (opponentPlayer.getField().hasTargetableFollowerBelowHpLimit(EffectLib.Response.getParameter())) {
-                        displayMessage("Please select an enemy follower with 3 health or less");
-                        selection = Selection.ENEMY_FOLLOWER_HP_LESS;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case ENEMY_FOLLOWER_OR_AMULET:
-                    if (opponentPlayer.getField().hasTargetableFollower() ||
-                            opponentPlayer.getField().amuletCount() > 0) {
-                        displayMessage("Please select an enemy follower or amulet");
-                        selection = Selection.ENEMY_FOLLOWER_OR_AMULET;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case FRIENDLY_FOLLOWER_OR_AMULET:
-                    if (sourcePlayer.getField().size() > 0) {
-                        displayMessage("Please select a friendly follower or amulet");
-                        selection = Selection.FRIENDLY_FOLLOWER_OR_AMULET;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case ENEMY_AMULET:
-                    if (opponentPlayer.getField().amuletCount() > 0) {
-                        displayMessage("Please select an enemy amulet");
-                        selection = Selection.ENEMY_AMULET;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case FIGHTING_ENEMY:
-                    if (cardTrigger != null && triggerPlayer != null)
-                        EffectLib.proceedEffect(cardTrigger, triggerPlayer);
-                    else
-                        throw new IllegalArgumentException("Trigger player and card required");
-                    break;
-
-                case FRIENDLY_COST_ONE_FOLLOWER:
-                    boolean hasOneHealth = false;
-
-                    for (Card c : sourcePlayer.getField()) {
-                        if (c instanceof Follower && c.getCost() == 1) {
-                            hasOneHealth = true;
-                            break;
-                        }
-                    }
-
-                    if (hasOneHealth) {
-                        displayMessage("Please select a friendly follower with 1 cost");
-                        selection = Selection.FRIENDLY_ONE_COST_FOLLOWER;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                case ENEMY_FOLLOWER_ATK_MORE:
-                    if (opponentPlayer.getField().hasTargetableFollowerAboveAtkLimit(EffectLib.Response.getParameter())) {
-                        displayMessage("Please select an enemy follower with " + EffectLib.Response.getParameter() + " attack or more");
-                        selection = Selection.ENEMY_FOLLOWER_ATK_MORE;
-                    } else {
-                        discardEffect(true);
-                    }
-                    break;
-
-                default:
-                    updateGUI();
-                    break;
-            }
-
-            cleanField();
-        }
-    }
-
-    /**
-     * This method discards the effect that is currently processing by {@linkplain EffectLib}. It is only invoked when
-     * there is no eligible target found to proceed the effect.
-     *
-     * @param displayMessage true: display the effect discard information on the {@linkplain #gameGuideText}, nothing
-     * @see EffectLib
-     */
-    private void discardEffect(boolean displayMessage) {
-        if (displayMessage)
-            displayMessage("Effect discarded due to no available target");
-
-        EffectLib.proceedEffect(null, null);
-        selection = Selection.PEND;
-    }
-
-    /**
-     * This method processes card exit event for on-field cards, whether the card is banished or destroyed.
-     *
-     * <p>For a banished card, it is simply removed from the field and disappeared. Its "Last word" effect will not be
-     * triggered and it will not be transferred to the grave.</p>
-     *
-     * <p>For a destroyed card, it is removed from the field and added to the grave. Its "Last word" effect will also be
-     * activated.</p>
-     *
-     * @param card     Card that needs to exit the field
-     * @param owner    owner of the Card
-     * @param isBanish true: banish the card. Otherwise destroy the card.
-     */
-    public void processCardExit(Card card, Player owner, boolean isBanish) {
-        if (isBanish || card.getName().equals("Ghost")) {
-            displayMessage(card.getName() + " has vanished.");
-            owner.getField().remove(card);
-        } else {
-            displayMessage(card.getName() + " has been destroyed.");
-            owner.getField().remove(card);
-            owner.getGrave().add(card);
-            sendEffect(card.getLastword(), card, owner, null, null);
-        }
-
-        updateGUI();
-    }
-
     /**
      * This method updates String content for {@linkplain #gameGuideText}, which serves as a information display to the
      * players.
@@ -1427,38 +1201,14 @@ public final class Game extends JFrame {
      *
      * @param message the message to be displayed
      */
-    private void displayMessage(String message) {
+    @Override
+    public void displayMessage(String message) {
         if (SwingUtilities.isEventDispatchThread())
             gameGuideText.setText(message);
         else
             SwingUtilities.invokeLater(() -> gameGuideText.setText(message));
     }
 
-    /**
-     * This method checks for both players' fields and destroy any card that is no longer alive. It is called every time
-     * an effect is processed, as some effects can deal lethal damage to a follower or destroy cards on the field.
-     *
-     * <p>Banishing cards and attack events do not invoke this method, as they have their own settlements on the targets
-     * they affect.</p>
-     */
-    private void cleanField() {
-        for (int n = 0; n < p1.getField().size(); n++) {
-            if (!p1.getField().get(n).isAlive()) {
-                processCardExit(p1.getField().get(n), p1, false);
-                n--;
-            }
-        }
-
-        for (int n = 0; n < p2.getField().size(); n++) {
-            if (!p2.getField().get(n).isAlive()) {
-                processCardExit(p2.getField().get(n), p2, false);
-                n--;
-            }
-        }
-
-    }
-
-
     /**
      * This enum includes all possible selection statuses. The value represents the identity of the card current player
      * clicks next. Thus, when a card click event is activated, the method will use the {@linkplain #selection} value to
@@ -1467,17 +1217,17 @@ public final class Game extends JFrame {
      * <p>The default value is {@linkplain Selection#PEND}. It is also used to represent the state of pending when there
      * is no specification of what card the player should click next.</p>
      *
+     * <p>Effect targets are not represented by this enum. When an effect is waiting for a target, the click is passed
+     * to {@linkplain GameEngine#selectTarget(Card, Player)} instead.</p>
+     *
      * <p>When the status is {@linkplain Selection#ATTACK}, {@linkplain Selection#registerAttack(Player, Follower)},
      * {@linkplain Selection#getAttackerPlayer()} and {@linkplain Selection#getAttacker()} will be available to use.
-     * They register the current attacker and attacker player for {@linkplain #handleAttack(Player)} or {@linkplain
-     * #handleAttack(Follower, Player)} to extract. It is illgeal to use these three methods under any other conditions,
-     * or exceptions will be thrown.</p>
+     * They register the current attacker and attacker player for {@linkplain GameEngine#attack(Follower, Follower)} or
+     * {@linkplain GameEngine#attackLeader(Follower, Player)}. It is illgeal to use these three methods under any other
+     * conditions, or exceptions will be thrown.</p>
      */
     public enum Selection {
-        ENEMY_FOLLOWER, ANY_FOLLOWER, FRIENDLY_FOLLOWER, EVOLUTION, ATTACK, PEND, FRIENDLY_OFFICER,
-        ENEMY_FOLLOWER_OR_LEADER, FRIENDLY_FOLLOWER_OR_LEADER, FRIENDLY_CD_AMULET, ENEMY_FOLLOWER_HP_LESS,
-        ENEMY_FOLLOWER_OR_AMULET, FRIENDLY_FOLLOWER_OR_AMULET, ENEMY_AMULET, FRIENDLY_COMMANDER,
-        FRIENDLY_ONE_COST_FOLLOWER, ENEMY_FOLLOWER_ATK_MORE;
+        EVOLUTION, ATTACK, PEND;
 
         private Player attacker_player;
         private Follower attacker;
@@ -1529,6 +1279,85 @@ public final class Game extends JFrame {
 
     }
 
+    /**
+     * This inner class is the retained-mode container of the card panels of one list of a player's cards. Every card
+     * is shown by one card panel, which is created when the card first appears in the list and reused for as long as
+     * the card stays in it, so each panel registers its MouseListener only once.
+     *
+     * <p>The components are only changed by {@linkplain #syncCards()}, which runs on the EDT whenever the game
+     * changes. Painting never adds or removes components and never lays them out.</p>
+     */
+    private abstract class CardListPanel extends JPanel {
+        private static final long serialVersionUID = 1L;
+        final Player OWNER;
+        /**
+         * The cards currently shown, in the order of their panels.
+         */
+        private final ArrayList<Card> SHOWN = new ArrayList<>();
+        private final IdentityHashMap<Card, JPanel> PANELS = new IdentityHashMap<>();
+
+        /**
+         * The constructor sets the layout manager to {@linkplain FlowLayout} with the given horizontal gap. It also
+         * sets the panel's preferred dimension.
+         *
+         * @param player the owner player of the cards
+         * @param gap    the horizontal gap between cards
+         */
+        private CardListPanel(Player player, int gap) {
+            super();
+            OWNER = player;
+            setLayout(new FlowLayout(FlowLayout.CENTER, gap, 0));
+            setPreferredSize(new Dimension((int) (Game.this.getWidth() * 0.82), (int) (Game.this.getHeight() * 0.25)));
+        }
+
+        /**
+         * @return the list of cards shown by this panel
+         */
+        abstract CardList getCards();
+
+        /**
+         * @param card a card that has just appeared in the list
+         * @return a new panel showing the card
+         */
+        abstract JPanel createCardPanel(Card card);
+
+        /**
+         * Brings the card panels in line with the list of cards and repaints them. Components are only added, removed
+         * and laid out again if a card has entered or left the list or the order of the cards has changed. Panels of
+         * cards that are still in the list are kept.
+         */
+        void syncCards() {
+            CardList cards = getCards();
+            boolean isChanged = cards.size() != SHOWN.size();
+
+            for (int n = 0; !isChanged && n < cards.size(); n++)
+                isChanged = cards.get(n) != SHOWN.get(n);
+
+            if (isChanged) {
+                IdentityHashMap<Card, JPanel> kept = new IdentityHashMap<>();
+                removeAll();
+
+                for (Card card : cards) {
+                    JPanel cardPanel = PANELS.get(card);
+
+                    if (cardPanel == null)
+                        cardPanel = createCardPanel(card);
+
+                    kept.put(card, cardPanel);
+                    add(cardPanel);
+                }
+
+                PANELS.clear();
+                PANELS.putAll(kept);
+                SHOWN.clear();
+                SHOWN.addAll(cards);
+                revalidate();
+            }
+
+            repaint();
+        }
+    }
+
     /**
      * This inner class is designed to be the container of {@linkplain FieldCardPanel}. It holds a maximum of 5 cards
      * representing a player's field.
@@ -1538,40 +1367,25 @@ public final class Game extends JFrame {
      *
      * @see FieldCardPanel
      */
-    private class FieldPanel extends JPanel {
-        private Player owner;
+    private class FieldPanel extends CardListPanel {
 
         /**
-         * The constructor sets the layout manager to {@linkplain FlowLayout} with a horizontal gap of 40. It also sets
-         * the panel's preferred dimension.
+         * The constructor lays the cards out with a horizontal gap of 40.
          *
          * @param player the owner player of the field panel
          */
         private FieldPanel(Player player) {
-            super();
-            owner = player;
-            setLayout(new FlowLayout(FlowLayout.CENTER, 40, 0));
-            setPreferredSize(new Dimension((int) (Game.this.getWidth() * 0.82), (int) (Game.this.getHeight() * 0.25)));
+            super(player, 40);
         }
 
-        /**
-         * This method refreshes, repaints and revalidate every {@linkplain FieldCardPanel} within.
-         *
-         * @param g Graphics instance
-         */
-        public void paintComponent(Graphics g) {
-            super.paintComponent(g);
-
-            removeAll();
-            for (Card c : owner.getField()) {
-                FieldCardPanel cardPanel = new FieldCardPanel(c, owner);
-                add(cardPanel);
-                cardPanel.repaint();
-            }
+        @Override
+        CardList getCards() {
+            return OWNER.getField();
+        }
 
-            if (!isValid()) {
-                validate();
-            }
+        @Override
+        JPanel createCardPanel(Card card) {
+            return new FieldCardPanel(card, OWNER);
         }
     }
 
@@ -1584,42 +1398,25 @@ public final class Game extends JFrame {
      *
      * @see HandCardPanel
      */
-    private class HandPanel extends JPanel {
-        private Player owner;
+    private class HandPanel extends CardListPanel {
 
         /**
-         * The constructor sets the layout manager to {@linkplain FlowLayout} with a horizontal gap of 10. It also sets
-         * the panel's preferred dimension.
+         * The constructor lays the cards out with a horizontal gap of 10.
          *
          * @param player the owner player of the card panel
          */
         private HandPanel(Player player) {
-            super();
-            owner = player;
-            setLayout(new FlowLayout(FlowLayout.CENTER, 10, 0));
-            setPreferredSize(new Dimension((int) (Game.this.getWidth() * 0.82), (int) (Game.this.getHeight() * 0.25)));
+            super(player, 10);
         }
 
-        /**
-         * This method refreshes, repaints and revalidate every {@linkplain HandCardPanel} within.
-         *
-         * @param g Graphics instance
-         */
         @Override
-        public void paintComponent(Graphics g) {
-            super.paintComponent(g);
-
-            removeAll();
-            for (Card c : owner.getHand()) {
-                HandCardPanel cardPanel = new HandCardPanel(c, owner);
-                add(cardPanel);
-                cardPanel.repaint();
-            }
-
-            if (!isValid()) {
-                validate();
-            }
+        CardList getCards() {
+            return OWNER.getHand();
+        }
 
+        @Override
+        JPanel createCardPanel(Card card) {
+            return new HandCardPanel(card, OWNER);
         }
     }
 
@@ -1654,6 +1451,12 @@ public final class Game extends JFrame {
         private final Card CARD;
         private final Player OWNER;
         private final int WIDTH, HEIGHT;
+        /**
+         * The copy of the sprite in video memory and the sprite it was copied from. Only used if
+         * {@linkplain #VOLATILE_SPRITES} is set.
+         */
+        private VolatileImage volatileSprite;
+        private BufferedImage volatileSource;
 
         /**
          * FieldCardPanel initialization requires the card to be displayed and its owner instances.
@@ -1675,14 +1478,111 @@ public final class Game extends JFrame {
         }
 
         /**
-         * <p>Display the round-corner card image and information according to the card's type. </p>
+         * Display the composited sprite of the card. The sprite is taken from {@linkplain #SPRITES} if the card looked
+         * the same before, otherwise it is painted by {@linkplain #paintCard(Graphics2D)} and cached. Sprites are in
+         * the format of the screen, and copied to video memory first if {@linkplain #VOLATILE_SPRITES} is set.
          *
          * @param g Graphic instance to be painted
          */
         @Override
         public void paintComponent(Graphics g) {
             super.paintComponent(g);
-            Graphics2D g2d = (Graphics2D) g;
+            long key = getSpriteKey();
+            BufferedImage sprite = key == -1 ? null : SPRITES.get(key);
+
+            if (sprite == null) {
+                sprite = ImageLib.createCompatibleImage(WIDTH, HEIGHT, Transparency.TRANSLUCENT);
+                Graphics2D g2d = sprite.createGraphics();
+                g2d.setRenderingHints(((Graphics2D) g).getRenderingHints());
+                boolean complete = paintCard(g2d);
+                g2d.dispose();
+
+                // Scaled component images load asynchronously, a sprite missing any of them is painted again later
+                if (complete && key != -1)
+                    SPRITES.put(key, sprite);
+            }
+
+            if (VOLATILE_SPRITES)
+                paintVolatile((Graphics2D) g, sprite);
+            else
+                blit((Graphics2D) g, sprite, 0, 0, this);
+        }
+
+        /**
+         * Draws the sprite through {@linkplain #volatileSprite}. The sprite is copied to video memory again whenever it
+         * changes, or the video memory was lost or moved to another screen.
+         *
+         * @param g      Graphic instance to be painted
+         * @param sprite the sprite of the card
+         */
+        private void paintVolatile(Graphics2D g, BufferedImage sprite) {
+            do {
+                GraphicsConfiguration configuration = getGraphicsConfiguration();
+                int status = volatileSprite == null ? VolatileImage.IMAGE_INCOMPATIBLE :
+                        volatileSprite.validate(configuration);
+
+                if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+                    if (volatileSprite != null)
+                        volatileSprite.flush();
+
+                    volatileSprite = configuration.createCompatibleVolatileImage(WIDTH, HEIGHT,
+                            Transparency.TRANSLUCENT);
+                }
+
+                if (status != VolatileImage.IMAGE_OK || volatileSource != sprite) {
+                    Graphics2D g2d = volatileSprite.createGraphics();
+                    g2d.setComposite(AlphaComposite.Src);
+                    g2d.drawImage(sprite, 0, 0, null);
+                    g2d.dispose();
+                    volatileSource = sprite;
+                }
+
+                blit(g, volatileSprite, 0, 0, this);
+            } while (volatileSprite.contentsLost());
+        }
+
+        /**
+         * Packs everything that changes the look of the card into one key: the card ID, evolution, keywords, attack
+         * status, attack and health for followers, and the countdown for amulets.
+         *
+         * @return the sprite key of the card, -1 if a value is out of the range of the key
+         */
+        private long getSpriteKey() {
+            long key = CARD.getId();
+
+            if (CARD instanceof Follower) {
+                Follower follower = (Follower) CARD;
+
+                if (follower.getAttack() < 0 || follower.getAttack() > 0xFFF || follower.getHealth() < 0 ||
+                        follower.getHealth() > 0xFFF)
+                    return -1;
+
+                key = key << 1 | (follower.hasEvolved() ? 1 : 0);
+                key = key << 16 | follower.getKeywords() & 0xFFFF;
+                key = key << 3 | follower.getAtkStatus().ordinal();
+                key = key << 12 | follower.getAttack();
+                return key << 12 | follower.getHealth();
+            } else if (CARD instanceof Amulet) {
+                Amulet amulet = (Amulet) CARD;
+                int countDown = amulet.isCountDown() ? amulet.getCountDown() + 1 : 0;
+
+                if (countDown < 0 || countDown > 0xFFF)
+                    return -1;
+
+                return key << 44 | countDown;
+            }
+
+            return -1;
+        }
+
+        /**
+         * <p>Paints the round-corner card image and information according to the card's type. </p>
+         *
+         * @param g2d Graphic instance to be painted
+         * @return true if all images were completely drawn, false if some of them are still loading
+         */
+        private boolean paintCard(Graphics2D g2d) {
+            boolean complete = true;
             g2d.setColor(Color.WHITE);
 
             Image cardImage;
@@ -1698,12 +1598,12 @@ public final class Game extends JFrame {
 
             g2d.setClip(new RoundRectangle2D.Double(
                     0, 0, WIDTH, HEIGHT, WIDTH / 4, HEIGHT / 4));
-            g2d.drawImage(cardImage, x, y, this);
+            complete &= g2d.drawImage(cardImage, x, y, this);
 
             if (CARD instanceof Follower) {
                 Follower follower = (Follower) CARD;
-                g2d.drawImage(ImageLib.getCardComponentImage("atk"), 15, HEIGHT - 60, this);
-                g2d.drawImage(ImageLib.getCardComponentImage("def"), WIDTH - 55, HEIGHT - 60, this);
+                complete &= g2d.drawImage(ImageLib.getCardComponentImage("atk"), 15, HEIGHT - 60, this);
+                complete &= g2d.drawImage(ImageLib.getCardComponentImage("def"), WIDTH - 55, HEIGHT - 60, this);
 
                 AttributedString attack = new AttributedString(Integer.toString(follower.getAttack()));
                 AttributedString health = new AttributedString(Integer.toString(follower.getHealth()));
@@ -1717,39 +1617,39 @@ public final class Game extends JFrame {
 
                 if (follower.hasWard()) {
                     Image ward = ImageLib.getCardComponentImage("ward");
-                    g2d.drawImage(ward, (WIDTH - ward.getWidth(null)) / 2,
+                    complete &= g2d.drawImage(ward, (WIDTH - ward.getWidth(null)) / 2,
                             (HEIGHT - ward.getHeight(null)) / 2, this);
                 }
 
                 if (follower.hasAmbush()) {
                     Image ambush = ImageLib.getCardComponentImage("ambush");
-                    g2d.drawImage(ambush, (WIDTH - ambush.getWidth(null)) / 2,
+                    complete &= g2d.drawImage(ambush, (WIDTH - ambush.getWidth(null)) / 2,
                             (HEIGHT - ambush.getHeight(null)) / 4, this);
                 }
 
                 if (follower.hasBane()) {
-                    g2d.drawImage(ImageLib.getCardComponentImage("bane"), 10, 10, this);
+                    complete &= g2d.drawImage(ImageLib.getCardComponentImage("bane"), 10, 10, this);
                 }
 
                 if (follower.hasDrain()) {
-                    g2d.drawImage(ImageLib.getCardComponentImage("drain"), 50, 10, this);
+                    complete &= g2d.drawImage(ImageLib.getCardComponentImage("drain"), 50, 10, this);
                 }
 
                 if (follower.getAtkStatus() == AttackStatus.DISABLED) {
                     Image cant_attack = ImageLib.getCardComponentImage("cant_attack");
-                    g2d.drawImage(cant_attack, (WIDTH - cant_attack.getWidth(null)) / 2,
+                    complete &= g2d.drawImage(cant_attack, (WIDTH - cant_attack.getWidth(null)) / 2,
                             (HEIGHT - cant_attack.getHeight(null)) / 4, this);
                 }
 
                 if (follower.hasDamageImmune()) {
                     Image damage_immune = ImageLib.getCardComponentImage("damage_immune");
-                    g2d.drawImage(damage_immune, (WIDTH - damage_immune.getWidth(null)) / 2,
+                    complete &= g2d.drawImage(damage_immune, (WIDTH - damage_immune.getWidth(null)) / 2,
                             (HEIGHT - damage_immune.getHeight(null)) / 4, this);
                 }
 
                 if (follower.hasUntargetable()) {
                     Image untargetable = ImageLib.getCardComponentImage("untargetable");
-                    g2d.drawImage(untargetable, (WIDTH - untargetable.getWidth(null)) / 2,
+                    complete &= g2d.drawImage(untargetable, (WIDTH - untargetable.getWidth(null)) / 2,
                             (HEIGHT - untargetable.getHeight(null)) / 4, this);
                 }
 
@@ -1785,6 +1685,7 @@ public final class Game extends JFrame {
                 throw new IllegalStateException("Only Amulet and Follower are allowed to be displayed by HandCardPanel");
             }
 
+            return complete;
         }
 
         @Override
@@ -1794,8 +1695,9 @@ public final class Game extends JFrame {
 
         /**
          * <p>This implemented method processes mouse clicking events on {@linkplain FieldCardPanel}. For left clicks,
-         * the status indicated by {@linkplain #selection} will be checked and corresponding actions will be performed.
-         * For right clicks, the clicked card's details will be displayed.</p>
+         * the card is passed to {@linkplain GameEngine#selectTarget(Card, Player)} if an effect is waiting for a target.
+         * Otherwise the status indicated by {@linkplain #selection} will be checked and corresponding actions will be
+         * performed. For right clicks, the clicked card's details will be displayed.</p>
          *
          * <p>For left click cases, after the action is completed, {@linkplain #selection} will be reset to its default
          * value {@linkplain Selection#PEND}. If the click event does not agree with the status given, an error message
@@ -1812,186 +1714,48 @@ public final class Game extends JFrame {
 
             switch (e.getButton()) {
                 case MouseEvent.BUTTON1:
-                    if (gameAlive) {
-                        if (CARD instanceof Follower) {
+                    if (engine.isGameAlive() && !isBotTurn()) {
+                        Player currentPlayer = engine.getCurrentPlayer();
+
+                        if (engine.getPendingTarget() != null) {
+                            engine.selectTarget(CARD, OWNER);
+                            selection = Selection.PEND;
+
+                        } else if (CARD instanceof Follower) {
                             Follower follower = (Follower) CARD;
 
                             switch (selection) {
                                 case ATTACK:
                                     if (!OWNER.getField().contains(selection.getAttacker())) {
-                                        handleAttack(follower, OWNER);
+                                        engine.attack(selection.getAttacker(), follower);
                                         selection = Selection.PEND;
                                     } else {
                                         selection.registerAttack(OWNER, follower);
                                     }
                                     break;
 
-                                case ENEMY_FOLLOWER_OR_AMULET:
-                                case ENEMY_FOLLOWER_OR_LEADER:
-                                case ENEMY_FOLLOWER:
-                                    if (!current_player.getField().contains(follower)) {
-                                        if (follower.canBeTargeted()) {
-                                            EffectLib.proceedEffect(follower, OWNER);
-                                            selection = Selection.PEND;
-                                        } else {
-                                            displayMessage("Enemy has UNTARGETABLE, cant be selected as an effect target");
-                                        }
-                                    } else {
-                                        displayMessage("Please select an ENEMY target!!!");
-                                    }
-                                    break;
-
-                                case FRIENDLY_FOLLOWER_OR_AMULET:
-                                case FRIENDLY_FOLLOWER_OR_LEADER:
-                                case FRIENDLY_FOLLOWER:
-                                    if (current_player.getField().contains(follower)) {
-                                        EffectLib.proceedEffect(follower, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select a FRIENDLY target!!!");
-                                    }
-                                    break;
-
-                                case ENEMY_FOLLOWER_HP_LESS:
-                                    if (!current_player.getField().contains(follower) && follower.getHealth() <= EffectLib.Response.getParameter()) {
-                                        if (follower.canBeTargeted()) {
-                                            EffectLib.proceedEffect(follower, OWNER);
-                                            selection = Selection.PEND;
-                                        } else {
-                                            displayMessage("Enemy has UNTARGETABLE, cant be selected as an effect target");
-                                        }
-                                    } else {
-                                        displayMessage("Please select an ENEMY follower with " + EffectLib.Response.getParameter() + " HEALTH OR LESS");
-                                    }
-                                    break;
-
-                                case ANY_FOLLOWER:
-                                    if (!current_player.getField().contains(follower) && !follower.canBeTargeted()) {
-                                        displayMessage("Enemy cant be selected as an effect target");
-                                    } else {
-                                        EffectLib.proceedEffect(follower, OWNER);
-                                        selection = Selection.PEND;
-                                    }
-                                    break;
-
-                                case FRIENDLY_CD_AMULET:
-                                    displayMessage("Please select a FRIENDLY COUNTDOWN AMULET!!!");
-                                    break;
-
-                                case FRIENDLY_OFFICER:
-                                    if (current_player.getField().contains(follower) &&
-                                            follower.getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER) {
-                                        EffectLib.proceedEffect(follower, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select a FRIENDLY OFFICER!");
-                                    }
-                                    break;
-
-                                case FRIENDLY_COMMANDER:
-                                    if (current_player.getField().contains(follower) &&
-                                            follower.getSwordCraftTrait() == Trait.SwordCraftTrait.COMMANDER) {
-                                        EffectLib.proceedEffect(follower, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select a FRIENDLY COMMANDER!");
-                                    }
-                                    break;
-
                                 case EVOLUTION:
-                                    if (current_player.getField().contains(follower)) {
+                                    if (currentPlayer.getField().contains(follower)) {
                                         selection = Selection.PEND;
-                                        useEvolvePts(follower, OWNER);
+                                        engine.evolve(follower);
                                     } else {
                                         displayMessage("You can only evolve your OWN follower");
                                     }
                                     break;
 
                                 case PEND:
-                                    if (current_player.getField().contains(follower)) {
+                                    if (currentPlayer.getField().contains(follower)) {
                                         selection = Selection.ATTACK;
                                         selection.registerAttack(OWNER, follower);
                                     } else {
                                         showCardDetail(follower);
                                     }
                                     break;
-
-                                case FRIENDLY_ONE_COST_FOLLOWER:
-                                    if (current_player.getField().contains(follower) && follower.getCost() == 1) {
-                                        EffectLib.proceedEffect(follower, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select a FRIENDLY FOLLOWER WITH 1 COST");
-                                    }
-                                    break;
-
-                                case ENEMY_FOLLOWER_ATK_MORE:
-                                    if (!current_player.getField().contains(follower) && follower.getAttack() >= EffectLib.Response.getParameter()) {
-                                        if (follower.canBeTargeted()) {
-                                            EffectLib.proceedEffect(follower, OWNER);
-                                            selection = Selection.PEND;
-                                        } else {
-                                            displayMessage("Enemy cant be selected as an effect target");
-                                        }
-                                    } else {
-                                        displayMessage("Please select an ENEMY follower with " + EffectLib.Response.getParameter() + " ATTACK OR MORE");
-                                    }
-                                    break;
                             }
 
-
                         } else if (CARD instanceof Amulet) {
-                            Amulet amulet = (Amulet) CARD;
-
-                            switch (selection) {
-                                case FRIENDLY_CD_AMULET:
-                                    if (current_player.getField().contains(amulet)) {
-                                        if (amulet.isCountDown()) {
-                                            EffectLib.proceedEffect(amulet, OWNER);
-                                            selection = Selection.PEND;
-                                        } else {
-                                            displayMessage("Please select an amulet that has COUNTDOWN");
-                                        }
-                                    } else {
-                                        displayMessage("Please select a FRIENDLY countdown amulet");
-                                    }
-                                    break;
-
-                                case ENEMY_FOLLOWER_OR_AMULET:
-                                    if (!current_player.getField().contains(amulet)) {
-                                        EffectLib.proceedEffect(amulet, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select an ENEMY target!");
-                                    }
-                                    break;
-
-                                case FRIENDLY_FOLLOWER_OR_AMULET:
-                                    if (current_player.getField().contains(amulet)) {
-                                        EffectLib.proceedEffect(amulet, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select a FRIENDLY target!");
-                                    }
-                                    break;
-
-                                case ENEMY_AMULET:
-                                    if (!current_player.getField().contains(amulet)) {
-                                        EffectLib.proceedEffect(amulet, OWNER);
-                                        selection = Selection.PEND;
-                                    } else {
-                                        displayMessage("Please select an ENEMY amulet");
-                                    }
-                                    break;
-
-                                default:
-                                    showCardDetail(amulet);
-                                    break;
-
-                            }
+                            showCardDetail(CARD);
                         }
-
-                        cleanField();
                     }
 
                     break;
@@ -2043,6 +1807,11 @@ public final class Game extends JFrame {
         private Player OWNER;
         private AttributedString cardName, costNum, atk, hp;
         private int imgX, imgY;
+        /**
+         * The cost shown by {@linkplain #costNum}. Cards are reused while they stay in hand, and their cost may change
+         * in the meantime.
+         */
+        private int cost;
 
         /**
          * The constructor initializes components that are to be displayed on the panel's graphic later.
@@ -2060,20 +1829,17 @@ public final class Game extends JFrame {
 
             setPreferredSize(new Dimension(WIDTH, HEIGHT));
 
-            frameImage = ImageLib.getCardComponentImage(CARD.getRarity() + "_" + CARD.getType()).getScaledInstance(
-                    WIDTH, HEIGHT, Image.SCALE_SMOOTH);
+            frameImage = ImageLib.getScaledImage(ImageLib.getCardComponentImage(CARD.getRarity() + "_" +
+                    CARD.getType()), WIDTH, HEIGHT);
 
             cardName = new AttributedString(CARD.getName());
             cardName.addAttribute(TextAttribute.SIZE, 10);
 
-            costNum = new AttributedString(Integer.toString(CARD.getCost()));
-            costNum.addAttribute(TextAttribute.SIZE, 13);
-            costNum.addAttribute(TextAttribute.WEIGHT, TextAttribute.WEIGHT_BOLD);
+            updateCost();
 
             switch (CARD.getType()) {
                 case FOLLOWER:
-                    cardImage = CARD.getHandImage().getScaledInstance(
-                            WIDTH - 25, HEIGHT - 25, Image.SCALE_SMOOTH);
+                    cardImage = ImageLib.getScaledImage(CARD.getHandImage(), WIDTH - 25, HEIGHT - 25);
                     imgX = (WIDTH - cardImage.getWidth(null)) / 2;
                     imgY = (HEIGHT - cardImage.getHeight(null)) / 2;
                     atk = new AttributedString(Integer.toString(((Follower) CARD).getOrgAttack()));
@@ -2085,15 +1851,13 @@ public final class Game extends JFrame {
                     break;
 
                 case SPELL:
-                    cardImage = CARD.getHandImage().getScaledInstance(
-                            WIDTH - 15, HEIGHT - 15, Image.SCALE_SMOOTH);
+                    cardImage = ImageLib.getScaledImage(CARD.getHandImage(), WIDTH - 15, HEIGHT - 15);
                     imgX = WIDTH - cardImage.getWidth(null);
                     imgY = HEIGHT - cardImage.getHeight(null);
                     break;
 
                 case AMULET:
-                    cardImage = CARD.getHandImage().getScaledInstance(
-                            WIDTH - 15, HEIGHT - 15, Image.SCALE_SMOOTH);
+                    cardImage = ImageLib.getScaledImage(CARD.getHandImage(), WIDTH - 15, HEIGHT - 15);
                     imgX = WIDTH - cardImage.getWidth(null);
                     imgY = HEIGHT - cardImage.getHeight(null);
                     break;
@@ -2109,6 +1873,16 @@ public final class Game extends JFrame {
             return CARD;
         }
 
+        /**
+         * Prepares the cost of the card to be displayed.
+         */
+        private void updateCost() {
+            cost = CARD.getCost();
+            costNum = new AttributedString(Integer.toString(cost));
+            costNum.addAttribute(TextAttribute.SIZE, 13);
+            costNum.addAttribute(TextAttribute.WEIGHT, TextAttribute.WEIGHT_BOLD);
+        }
+
         /**
          * <p>Display the card's frame, its image and its information according to the card's type. </p>
          *
@@ -2119,10 +1893,13 @@ public final class Game extends JFrame {
             super.paintComponent(g);
             Graphics2D g2d = (Graphics2D) g;
 
+            if (cost != CARD.getCost())
+                updateCost();
+
             switch (CARD.getType()) {
                 case FOLLOWER:
-                    g2d.drawImage(cardImage, imgX, imgY, this);
-                    g2d.drawImage(frameImage, 0, 0, this);
+                    blit(g2d, cardImage, imgX, imgY, this);
+                    blit(g2d, frameImage, 0, 0, this);
 
                     g2d.setColor(Color.WHITE);
                     g2d.drawString(atk.getIterator(), 16, HEIGHT - 15);
@@ -2136,8 +1913,8 @@ public final class Game extends JFrame {
                     break;
 
                 case SPELL:
-                    g2d.drawImage(cardImage, imgX, imgY, this);
-                    g2d.drawImage(frameImage, 0, 0, this);
+                    blit(g2d, cardImage, imgX, imgY, this);
+                    blit(g2d, frameImage, 0, 0, this);
 
                     g2d.setColor(Color.WHITE);
                     g2d.drawString(cardName.getIterator(), 38, 21);
@@ -2147,8 +1924,8 @@ public final class Game extends JFrame {
                     break;
 
                 case AMULET:
-                    g2d.drawImage(cardImage, imgX, imgY, this);
-                    g2d.drawImage(frameImage, 0, 0, this);
+                    blit(g2d, cardImage, imgX, imgY, this);
+                    blit(g2d, frameImage, 0, 0, this);
 
                     if (((Amulet) CARD).isCountDown()) {
                         AttributedString cdNum = new AttributedString(Integer.toString(((Amulet) CARD).getCountDown()));
@@ -2187,56 +1964,13 @@ public final class Game extends JFrame {
          */
         @Override
         public void mousePressed(MouseEvent e) {
-            if (OWNER == current_player) {
+            if (OWNER == engine.getCurrentPlayer()) {
                 displayMessage("-");
 
                 switch (e.getButton()) {
                     case MouseEvent.BUTTON1:
-                        if (gameAlive) {
-                            if (CARD.getCost() <= OWNER.getCostLeft()) {
-
-                                if (CARD instanceof Follower || CARD instanceof Amulet) {
-
-                                    if (OWNER.getField().size() < Field.MAXIMUM_FIELD_SIZE) {
-                                        OWNER.useCost(CARD.getCost());
-                                        OWNER.useCard(CARD);
-
-                                        if (CARD instanceof Follower) {
-                                            Field ownerField = (Field) OWNER.getField().clone();
-
-                                            for (Card c : ownerField)
-                                                if (OWNER.getField().contains(c))
-                                                    sendEffect(c.getWhenOtherEnter(), c, OWNER, CARD, OWNER);
-                                        }
-
-                                        sendEffect(CARD.getFanfare(), CARD, OWNER, null, null);
-
-                                        if (CARD.isAlive())
-                                            OWNER.getField().add(CARD);
-
-                                    } else {
-                                        displayMessage("Unable to use card. Field full.");
-                                    }
-
-                                } else {
-                                    OWNER.useCost(CARD.getCost());
-                                    OWNER.useCard(CARD);
-                                    sendEffect(CARD.getFanfare(), CARD, OWNER, null, null);
-
-                                    for (Card c : OWNER.getHand())
-                                        if (c.isSpellBoost())
-                                            c.boost();
-
-                                    OWNER.getGrave().add(CARD);
-                                }
-
-                            } else {
-                                displayMessage("ERROR: Not enough cost");
-                            }
-
-                            cleanField();
-                        }
-
+                        if (!isBotTurn())
+                            engine.playCard(CARD);
                         break;
 
                     case MouseEvent.BUTTON3:
@@ -0,0 +1,1361 @@
+import java.util.SplittableRandom;
+
+/**
+ * This class contains the rules core of the game. It holds both {@linkplain Player}s, tracks whose round it is and
+ * exposes every player action (using a card, attacking, evolving, ending the round and selecting an effect target) as a
+ * plain method call. It has no dependency on any GUI component, so a match can be played without a display.
+ *
+ * <p>Information for the players and the end of the game are reported through an optional {@linkplain GameListener}.
+ * {@linkplain Game} is the listener when the game is played through the GUI.</p>
+ *
+ * <p>When an effect requires a target, the engine records the required target type as the pending target. No other
+ * action is accepted until {@linkplain #selectTarget(Card, Player)} receives a valid target.</p>
+ *
+ * <p>All randomness of a match comes from seeded {@linkplain SplittableRandom} streams. A match is reproducible by
+ * splitting the players' and the engine's streams from one seeded source:</p>
+ *
+ * <pre>
+ * SplittableRandom match = new SplittableRandom(seed);
+ * Player p1 = new Player(leader1, Player.RoundOrder.OFFENSIVE, match.split());
+ * Player p2 = new Player(leader2, Player.RoundOrder.DEFENSIVE, match.split());
+ * GameEngine engine = new GameEngine(p1, p2, match.split());
+ * </pre>
+ *
+ * <p>A search can carry out actions in place and take them back by setting a {@linkplain Journal} through
+ * {@linkplain #setJournal(Journal)}, which records every change to the state of the game.</p>
+ *
+ * @see Game
+ * @see EffectLib
+ * @see Player
+ */
+public final class GameEngine implements Journaled {
+    /**
+     * The ID of Ghost, which vanishes instead of going to the grave when destroyed.
+     */
+    private static final int GHOST = CardLib.getId("Ghost");
+    /**
+     * The numbers of the fields recorded in the {@linkplain Journal}.
+     */
+    private static final int CURRENT_PLAYER = 0, WINNER = 1, GAME_ALIVE = 2, PENDING_TARGET = 3, PENDING_EFFECT = 4;
+    private final Player P1, P2;
+    /**
+     * The random source of all effects resolved in this game.
+     */
+    private final SplittableRandom RANDOM;
+    private Player currentPlayer, winner;
+    private GameListener listener;
+    /**
+     * This field represents whether the game is ongoing or finished. It turns true when {@link #start()} is invoked,
+     * and it is only to be toggled to false when {@link #endGame(Player)} is invoked.
+     */
+    private boolean gameAlive;
+    /**
+     * The type of target the effect currently being processed by {@linkplain EffectLib} requires. It is null when no
+     * effect is waiting for a target.
+     */
+    private EffectLib.Response pendingTarget;
+    /**
+     * The context of the effect that is waiting for its target. It is handed back to {@linkplain EffectLib} once a
+     * valid target is selected, and it is null whenever {@linkplain #pendingTarget} is null.
+     */
+    private EffectContext pendingEffect;
+    /**
+     * The journal that records changes to the game, null if changes are not recorded.
+     */
+    private Journal journal;
+
+    /**
+     * The constructor takes the two players of the game. Player 1 plays first. The effects of the game use an unseeded
+     * random source.
+     *
+     * @param player1 the player that plays first
+     * @param player2 the player that plays second
+     */
+    GameEngine(Player player1, Player player2) {
+        this(player1, player2, new SplittableRandom());
+    }
+
+    /**
+     * The constructor takes the two players of the game and the random source of its effects. Player 1 plays first.
+     *
+     * @param player1 the player that plays first
+     * @param player2 the player that plays second
+     * @param random  the random source of all effects in this game
+     */
+    GameEngine(Player player1, Player player2, SplittableRandom random) {
+        P1 = player1;
+        P2 = player2;
+        RANDOM = random;
+    }
+
+    /**
+     * The copy constructor creates a deep copy of another game. The pending effect, if any, is moved to the copies of
+     * its players and origin card.
+     *
+     * @param other  the game to be copied
+     * @param random the random source of the copy, split for the players' decks
+     */
+    private GameEngine(GameEngine other, SplittableRandom random) {
+        P1 = new Player(other.P1, random.split());
+        P2 = new Player(other.P2, random.split());
+        RANDOM = random;
+        currentPlayer = other.currentPlayer == null ? null : copyOf(other, other.currentPlayer);
+        winner = other.winner == null ? null : copyOf(other, other.winner);
+        gameAlive = other.gameAlive;
+        pendingTarget = other.pendingTarget;
+
+        if (other.pendingEffect != null) {
+            EffectContext context = other.pendingEffect;
+            Player source = copyOf(other, context.getSourcePlayer());
+            pendingEffect = new EffectContext(context, copyOf(other, context.getSourceCard()), this, source,
+                    getOpponent(source));
+        }
+    }
+
+    /**
+     * Creates a deep copy of the game, e.g. to try out actions without affecting this game. The copy has no listener,
+     * and its random source does not depend on the one of this game.
+     *
+     * @param random the random source of the copy
+     * @return the copy of the game
+     */
+    public GameEngine copy(SplittableRandom random) {
+        return new GameEngine(this, random);
+    }
+
+    /**
+     * @param original the game this game has been copied from
+     * @param player   one of the players of the original game
+     * @return the copy of the player in this game
+     */
+    private Player copyOf(GameEngine original, Player player) {
+        return player == original.P1 ? P1 : P2;
+    }
+
+    /**
+     * Finds the copy of a card of the original game in this game. A card that is in none of the original players'
+     * zones is copied on its own.
+     *
+     * @param original the game this game has been copied from
+     * @param card     a card of the original game
+     * @return the copy of the card in this game
+     */
+    private Card copyOf(GameEngine original, Card card) {
+        if (card == null)
+            return null;
+
+        for (Player player : new Player[]{original.P1, original.P2}) {
+            Player copy = copyOf(original, player);
+            int index;
+
+            if ((index = player.getField().indexOf(card)) >= 0)
+                return copy.getField().get(index);
+
+            if ((index = player.getHand().indexOf(card)) >= 0)
+                return copy.getHand().get(index);
+
+            if ((index = player.getGrave().indexOf(card)) >= 0)
+                return copy.getGrave().get(index);
+
+            if ((index = player.getDeck().indexOf(card)) >= 0)
+                return copy.getDeck().get(index);
+        }
+
+        return card.copy();
+    }
+
+    /**
+     * @return the random source of all effects in this game
+     */
+    SplittableRandom getRandom() {
+        return RANDOM;
+    }
+
+    /**
+     * Starts or stops recording every change to the state of the game, including both players and all of their cards.
+     * The journal should only be set or removed between actions, and {@linkplain Journal#rollback(int) rolling back}
+     * only restores changes made while it was set.
+     *
+     * <p>Copies made through {@linkplain #copy(SplittableRandom)} do not share the journal.</p>
+     *
+     * @param journal the journal to record the changes, null to stop recording
+     */
+    public void setJournal(Journal journal) {
+        this.journal = journal;
+        P1.setJournal(journal);
+        P2.setJournal(journal);
+    }
+
+    /**
+     * Computes the hash of the current position. It covers both players (see {@linkplain Player#getHash(boolean)}), whose
+     * round it is, whether the game is over and the effect waiting for a target. The card lists keep their hashes up to
+     * date as the game changes, so this method takes constant time.
+     *
+     * <p>Cards are hashed as multisets, so positions that only differ in the order of the cards in hand or on field
+     * have the same hash. Positions restored through a {@linkplain Journal} have the same hash as before.</p>
+     *
+     * @return the {@linkplain Zobrist} hash of the position
+     * @see TranspositionTable
+     */
+    public long getHash() {
+        return getHash(null);
+    }
+
+    /**
+     * Computes the hash of the current position as a player sees it: the cards in the hand of its opponent are left
+     * out, only their number is hashed. Positions that the player can not tell apart have the same hash.
+     *
+     * @param viewer the player the position is seen by, null to hash the whole position
+     * @return the {@linkplain Zobrist} hash of the position as seen by the player
+     * @see #getHash()
+     */
+    public long getHash(Player viewer) {
+        long state = (currentPlayer == P2 ? 1 : 0) | (gameAlive ? 2 : 0) |
+                (pendingTarget == null ? 0 : pendingTarget.ordinal() + 1L) << 2 |
+                (pendingEffect == null ? 0 : pendingEffect.getSourceCard().getId() + 1L) << 16;
+
+        return Zobrist.key(Zobrist.key(P1.getHash(viewer == P2), P2.getHash(viewer == P1)), state);
+    }
+
+    /**
+     * Creates the cards that may be hidden from a player: the cards of the preset deck of its opponent, less the cards
+     * of the opponent that the player has already seen on field or in the grave. If too few cards are left to fill the
+     * opponent's hand and deck, for example because tokens have been added to them, the pool is padded with random cards
+     * of the preset deck.
+     *
+     * <p>The cards are new objects of this game, so the pool of a game must not be used for another game.</p>
+     *
+     * @param viewer the player the cards are hidden from
+     * @param random the random source of the padding
+     * @return the pool of hidden cards to be given to {@linkplain #determinize(Player, Card[], SplittableRandom)}
+     * @throws IllegalStateException if the opponent has no preset deck
+     */
+    Card[] getHiddenPool(Player viewer, SplittableRandom random) {
+        Player opponent = getOpponent(viewer);
+        int[] preset = Deck.getPresetIds(opponent.getLeader().getLeaderType());
+
+        if (preset == null)
+            throw new IllegalStateException("NO PRESET DECK FOUND");
+
+        int size = preset.length;
+
+        for (CardList seen : new CardList[]{opponent.getField(), opponent.getGrave()})
+            for (Card card : seen)
+                for (int n = 0; n < size; n++)
+                    if (preset[n] == card.getId()) {
+                        preset[n] = preset[--size];
+                        break;
+                    }
+
+        int hidden = opponent.getHand().size() + opponent.getDeck().size();
+        Card[] pool = new Card[Math.max(size, hidden)];
+
+        for (int n = 0; n < pool.length; n++)
+            pool[n] = CardLib.getCard(n < size ? preset[n] : preset[random.nextInt(preset.length)]);
+
+        return pool;
+    }
+
+    /**
+     * Replaces the information hidden from a player with one guess that is consistent with what the player has seen.
+     * The cards in the opponent's hand and deck are replaced with random cards of the pool, keeping their numbers, and
+     * the player's own deck is shuffled. The rest of the game is left as it is.
+     *
+     * <p>This method is meant for a journaled copy of the game: {@linkplain Journal#rollback(int) rolling back}
+     * restores the actual cards, and the pool can then be used for the next guess.</p>
+     *
+     * @param viewer the player the information is hidden from
+     * @param pool   the pool of hidden cards of this game, see {@linkplain #getHiddenPool(Player, SplittableRandom)}
+     * @param random the random source of the guess
+     */
+    void determinize(Player viewer, Card[] pool, SplittableRandom random) {
+        Player opponent = getOpponent(viewer);
+        Hand hand = opponent.getHand();
+        Deck deck = opponent.getDeck();
+        int handSize = hand.size(), deckSize = deck.size();
+
+        hand.clear();
+        deck.clear();
+
+        for (int n = 0; n < handSize + deckSize; n++) {
+            int index = n + random.nextInt(pool.length - n);
+            Card card = pool[index];
+            pool[index] = pool[n];
+            pool[n] = card;
+
+            if (n < handSize)
+                hand.add(card);
+            else
+                deck.add(card);
+        }
+
+        viewer.getDeck().shuffle();
+    }
+
+    /**
+     * @return the journal that records changes to the game, null if changes are not recorded
+     */
+    public Journal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Set the listener that receives messages and the game result.
+     *
+     * @param gameListener the listener, null if no one is listening
+     */
+    public void setListener(GameListener gameListener) {
+        listener = gameListener;
+    }
+
+    /**
+     * Start the game with the first round of player 1. The initial hands should be settled before this method is
+     * invoked.
+     */
+    public void start() {
+        setGameAlive(true);
+        setCurrentPlayer(P1);
+        P1.iniNewRound();
+        displayMessage(P1.getLeader().getName() + "'s Round " + P1.getRoundNumber());
+    }
+
+    /**
+     * @return the player that plays first
+     */
+    public Player getPlayer1() {
+        return P1;
+    }
+
+    /**
+     * @return the player that plays second
+     */
+    public Player getPlayer2() {
+        return P2;
+    }
+
+    /**
+     * @return the player whose round it currently is
+     */
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     * @param player one of the two players
+     * @return the opponent of the given player
+     */
+    public Player getOpponent(Player player) {
+        return player == P1 ? P2 : P1;
+    }
+
+    /**
+     * @return true if the game is ongoing, false otherwise
+     */
+    public boolean isGameAlive() {
+        return gameAlive;
+    }
+
+    /**
+     * @return the winner of the game, null if the game has not ended yet
+     */
+    public Player getWinner() {
+        return winner;
+    }
+
+    /**
+     * @return the type of target the pending effect requires, null if there is no pending effect
+     * @see #selectTarget(Card, Player)
+     */
+    public EffectLib.Response getPendingTarget() {
+        return pendingTarget;
+    }
+
+    /**
+     * This method returns the number of rounds left before a player can use evolve points.
+     *
+     * @param player the Player object to be checked
+     * @return the number of rounds left before evolve is available
+     */
+    public int getEvolveCD(Player player) {
+        switch (player.getRoundOrder()) {
+            case OFFENSIVE:
+                return 5 - player.getRoundNumber();
+
+            case DEFENSIVE:
+                return 4 - player.getRoundNumber();
+
+            default:
+                throw new IllegalStateException("UNKNOWN ROUND ORDER STATE");
+        }
+    }
+
+    /**
+     * Use a card from the current player's hand.
+     *
+     * <p>A card is available to be used when the player has enough cost to use the card, and there is space on the
+     * field if the card is a {@linkplain Follower} or {@linkplain Amulet} type. Followers trigger the "When other
+     * enter" effects of the cards already on field. Spells go to the grave after usage and boost every spell-boost card
+     * in hand.</p>
+     *
+     * @param card the card to be used
+     * @return true if the card has been used, false if the action is invalid
+     */
+    public boolean playCard(Card card) {
+        if (!isActionAllowed())
+            return false;
+
+        Player owner = currentPlayer;
+
+        if (!owner.getHand().contains(card)) {
+            displayMessage("You are not currently in play! Opponent's round!");
+            return false;
+        }
+
+        if (card.getCost() > owner.getCostLeft()) {
+            displayMessage("ERROR: Not enough cost");
+            return false;
+        }
+
+        if (card instanceof Follower || card instanceof Amulet) {
+
+            if (owner.getField().size() < Field.MAXIMUM_FIELD_SIZE) {
+                owner.useCost(card.getCost());
+                owner.useCard(card);
+
+                if (card instanceof Follower) {
+                    Card[] ownerField = owner.getField().toArray(new Card[0]);
+
+                    for (Card c : ownerField)
+                        if (owner.getField().contains(c))
+                            sendEffect(c.getWhenOtherEnter(), c, owner, card, owner);
+                }
+
+                sendEffect(card.getFanfare(), card, owner, null, null);
+
+                if (card.isAlive())
+                    owner.getField().add(card);
+
+            } else {
+                displayMessage("Unable to use card. Field full.");
+                return false;
+            }
+
+        } else {
+            owner.useCost(card.getCost());
+            owner.useCard(card);
+            sendEffect(card.getFanfare(), card, owner, null, null);
+
+            for (Card c : owner.getHand())
+                if (c.isSpellBoost())
+                    c.boost();
+
+            owner.getGrave().add(card);
+        }
+
+        cleanField();
+        return true;
+    }
+
+    /**
+     * This method handles attack events targeting an opponent's Follower.
+     *
+     * <p>The validity of the attack action will be checked first. The attacker Follower must belong to the current
+     * player and have correct {@linkplain AttackStatus}, and the target must be targetable. If the action is approved,
+     * the "When fight" and "When attack" effects on the attacker will be activated first, and the target's "When
+     * fight" effect will also be activated. Then, damage is dealt to both sides according to their current attack
+     * value. Special simple effects will be processed after the damage is dealt(drain and bane).</p>
+     *
+     * <p>If any card is destroyed during the attack event, {@link #processCardExit(Card, Player, boolean)} will be
+     * invoked.</p>
+     *
+     * @param attacker the Follower object that attacks
+     * @param target   the Follower object that is going to be attacked
+     * @return true if the attack took place, false if the action is invalid
+     * @see AttackStatus
+     */
+    public boolean attack(Follower attacker, Follower target) {
+        if (!isActionAllowed())
+            return false;
+
+        Player attackerPlayer = currentPlayer;
+        Player targetPlayer = getOpponent(currentPlayer);
+
+        if (attacker == null || !attackerPlayer.getField().contains(attacker) ||
+                !targetPlayer.getField().contains(target)) {
+            displayMessage("ERROR: Please select a friendly attacker and an enemy target");
+            return false;
+        }
+
+        if (!attacker.getAtkStatus().canAttackFollower()) {
+            displayMessage("ERROR: Attacker is unable to attack under current status");
+            return false;
+        }
+
+        if ((targetPlayer.getField().haveNoWard() || target.hasWard() || attacker.hasWardPierce())
+                && !target.hasAmbush()) {
+            sendEffect(attacker.getWhenFight(), attacker, attackerPlayer, target, targetPlayer);
+            sendEffect(attacker.getWhenAttack(), attacker, attackerPlayer, target, targetPlayer);
+            if (target.isAlive())
+                sendEffect(target.getWhenFight(), target, targetPlayer, attacker, attackerPlayer);
+
+            attacker.attack(target);
+            displayMessage(attacker.getName() + " attacked enemy follower " + target.getName());
+
+            if (attacker.hasDrain())
+                attackerPlayer.getLeader().heal(attacker.getAttack());
+
+            if (!attacker.isAlive() || target.hasBane())
+                processCardExit(attacker, attackerPlayer, false);
+
+            if (!target.isAlive() || attacker.hasBane())
+                processCardExit(target, targetPlayer, false);
+
+            return true;
+        } else {
+            displayMessage("ERROR: Enemy is untargetable");
+            return false;
+        }
+    }
+
+    /**
+     * This method handles attack events targeting the opponent's leader.
+     *
+     * <p>The validity of the attack action will be checked first. The attacker Follower must belong to the current
+     * player and have correct {@linkplain AttackStatus}, and the opponent leader must be targetable. If the action is
+     * approved, the attacker's "When attack" effect will be activated, and the damage will be dealt to the enemy
+     * leader. Simple effect "drain" will be processed after the damage is dealt.</p>
+     *
+     * <p>The game will end if the attack causes the leader's health drops below or equal to 0.</p>
+     *
+     * @param attacker     the Follower object that attacks
+     * @param targetPlayer the Player object whose leader is going to be attacked
+     * @return true if the attack took place, false if the action is invalid
+     * @see AttackStatus
+     */
+    public boolean attackLeader(Follower attacker, Player targetPlayer) {
+        if (!isActionAllowed())
+            return false;
+
+        Player attackerPlayer = currentPlayer;
+
+        if (targetPlayer == attackerPlayer) {
+            displayMessage("NO FRIENDLY DAMAGE ALLOWED!!!!!!!!!!");
+            return false;
+        }
+
+        if (attacker == null || !attackerPlayer.getField().contains(attacker) ||
+                !attacker.getAtkStatus().canAttackLeader()) {
+            displayMessage("ERROR: Attacker is unable to attack enemy leader under current status");
+            return false;
+        }
+
+        if (targetPlayer.getField().haveNoWard() || attacker.hasWardPierce()) {
+            sendEffect(attacker.getWhenAttack(), attacker, attackerPlayer, null, null);
+
+            attacker.attack(targetPlayer.getLeader());
+            displayMessage(attacker.getName() + " attacked enemy leader " + targetPlayer.getLeader().getName());
+
+            if (attacker.hasDrain()) {
+                attackerPlayer.getLeader().heal(attacker.getAttack());
+            }
+
+            if (!targetPlayer.getLeader().isAlive())
+                endGame(attackerPlayer);
+
+            return true;
+        } else {
+            displayMessage("ERROR: Enemy leader is untargetable");
+            return false;
+        }
+    }
+
+    /**
+     * This method evolves one of the current player's followers. It checks first if the evolve action is valid. If the
+     * conditions are met, {@link Player#evolve(Follower)} will be called, the Follower object will evolve and its "When
+     * evolve" effect will be activated, else an error message will be displayed to inform the player.
+     *
+     * @param follower the Follower object to be evolved
+     * @return true if the follower has evolved, false if the action is invalid
+     * @see Follower#evolve()
+     */
+    public boolean evolve(Follower follower) {
+        if (!isActionAllowed())
+            return false;
+
+        Player owner = currentPlayer;
+
+        if (!owner.getField().contains(follower)) {
+            displayMessage("You can only evolve your OWN follower");
+            return false;
+        }
+
+        if (getEvolveCD(owner) > 0) {
+            switch (owner.getRoundOrder()) {
+                case OFFENSIVE:
+                    displayMessage("ERROR: You can only evolve after round 5");
+                    break;
+
+                case DEFENSIVE:
+                    displayMessage("ERROR: You can only evolve after round 4");
+                    break;
+            }
+            return false;
+        }
+
+        if (follower.hasEvolved()) {
+            displayMessage("ERROR: Follower has already evolved!");
+            return false;
+        }
+
+        if (owner.hasEvolved()) {
+            displayMessage("ERROR: Only one evolve per round is allowed!");
+            return false;
+        }
+
+        if (owner.evolve(follower)) {
+            sendEffect(follower.getWhenEvolve(), follower, owner, null, null);
+            cleanField();
+            return true;
+        } else {
+            displayMessage("ERROR: Not enough EP left");
+            return false;
+        }
+    }
+
+    /**
+     * This method ends the current player's round, activating all "When round end" effects. Then {@link
+     * Player#endRound()} is invoked to finalize round.
+     *
+     * <p>After current player's round finalization, this method will also initialize the next player's round by
+     * invoking {@link Player#iniNewRound()} and activating all "When round start" effects. {@link #endGame(Player)}
+     * will be invoked if there is no card left in the deck and the player that has the drained deck will lose the
+     * game.</p>
+     *
+     * @return true if the round has ended, false if the action is invalid
+     * @see Player#endRound()
+     * @see Player#iniNewRound()
+     */
+    public boolean endRound() {
+        if (!isActionAllowed())
+            return false;
+
+        Player nextPlayer = getOpponent(currentPlayer);
+
+        Card[] currentField = currentPlayer.getField().toArray(new Card[0]);
+        for (Card c : currentField) {
+            sendEffect(c.getWhenEnd(), c, currentPlayer, null, null);
+
+            if (c.isEntranceRound())
+                sendEffect(c.getWhenEntranceEnd(), c, currentPlayer, null, null);
+
+            c.passEntranceRound();
+        }
+
+        currentPlayer.endRound();
+
+        if (nextPlayer.iniNewRound()) {
+
+            Card[] nextField = nextPlayer.getField().toArray(new Card[0]);
+            for (Card c : nextField)
+                sendEffect(c.getWhenStart(), c, nextPlayer, null, null);
+
+        } else {
+            endGame(currentPlayer);
+        }
+
+        setCurrentPlayer(nextPlayer);
+        displayMessage(nextPlayer.getLeader().getName() + "'s Round " + nextPlayer.getRoundNumber());
+        return true;
+    }
+
+    /**
+     * This method takes the target selected for the pending effect, checks if it meets the requirement given by
+     * {@linkplain #pendingTarget} and proceeds the effect if it does. An error message is displayed when the target is
+     * invalid, and the effect keeps waiting for a valid target in this case.
+     *
+     * @param card  the selected card. Use {@linkplain CardLib#CARD_REPRESENT_LEADER} when a leader is selected
+     * @param owner the owner of the selected card or leader
+     * @return true if the effect has proceeded, false if the target is invalid or there is no pending effect
+     * @see EffectLib.Response
+     */
+    public boolean selectTarget(Card card, Player owner) {
+        if (!gameAlive || pendingTarget == null)
+            return false;
+
+        if (!isValidTarget(card, owner, true))
+            return false;
+
+        EffectContext context = pendingEffect;
+        setPending(null, null);
+
+        if (card == CardLib.CARD_REPRESENT_LEADER)
+            EffectLib.proceedEffect(context, card, null);
+        else
+            EffectLib.proceedEffect(context, card, owner);
+
+        cleanField();
+        return true;
+    }
+
+    /**
+     * Writes all legal actions of the current player into the given buffer, replacing its previous content. If an
+     * effect is waiting for its target, the legal actions are the selections of every valid target. Otherwise they are
+     * using every affordable card in hand (followers and amulets only if the field is not full), every valid attack,
+     * evolving every follower that can be evolved and ending the round.
+     *
+     * <p>The rules applied are the same as the ones {@linkplain #playCard(Card)}, {@linkplain #attack(Follower,
+     * Follower)}, {@linkplain #attackLeader(Follower, Player)}, {@linkplain #evolve(Follower)} and {@linkplain
+     * #selectTarget(Card, Player)} check, so every action in the buffer is accepted by {@linkplain
+     * #perform(int)}. Nothing is allocated unless the buffer has to grow.</p>
+     *
+     * @param actions the buffer to be filled
+     * @return the number of legal actions, 0 if the game has ended
+     * @see ActionList
+     */
+    public int getLegalActions(ActionList actions) {
+        actions.clear();
+
+        if (!gameAlive)
+            return 0;
+
+        Player owner = currentPlayer, opponent = getOpponent(currentPlayer);
+
+        if (pendingTarget != null) {
+            addTargets(actions, owner, false);
+            addTargets(actions, opponent, true);
+            return actions.size();
+        }
+
+        Hand hand = owner.getHand();
+        Field field = owner.getField(), enemyField = opponent.getField();
+        boolean isFieldFull = field.size() >= Field.MAXIMUM_FIELD_SIZE;
+
+        for (int n = 0; n < hand.size(); n++) {
+            Card card = hand.get(n);
+
+            if (card.getCost() <= owner.getCostLeft() &&
+                    (!isFieldFull || !(card instanceof Follower || card instanceof Amulet)))
+                actions.add(Action.playCard(n));
+        }
+
+        boolean canEvolve = getEvolveCD(owner) <= 0 && !owner.hasEvolved() && owner.getEvolvePts() > 0;
+        boolean haveNoWard = enemyField.haveNoWard();
+
+        for (int n = 0; n < field.size(); n++) {
+            if (!(field.get(n) instanceof Follower))
+                continue;
+
+            Follower attacker = (Follower) field.get(n);
+
+            if (attacker.getAtkStatus().canAttackFollower()) {
+                for (int m = 0; m < enemyField.size(); m++) {
+                    Card target = enemyField.get(m);
+
+                    if (target instanceof Follower && !((Follower) target).hasAmbush() &&
+                            (haveNoWard || ((Follower) target).hasWard() || attacker.hasWardPierce()))
+                        actions.add(Action.attackFollower(n, m));
+                }
+            }
+
+            if (attacker.getAtkStatus().canAttackLeader() && (haveNoWard || attacker.hasWardPierce()))
+                actions.add(Action.attackLeader(n));
+
+            if (canEvolve && !attacker.hasEvolved())
+                actions.add(Action.evolve(n));
+        }
+
+        actions.add(Action.endRound());
+        return actions.size();
+    }
+
+    /**
+     * Adds the selection of every valid target of the pending effect among the cards and the leader of a player.
+     *
+     * @param actions the buffer to be filled
+     * @param owner   the player whose cards are checked
+     * @param isEnemy true if the player is the opponent of the current player, false otherwise
+     */
+    private void addTargets(ActionList actions, Player owner, boolean isEnemy) {
+        Field field = owner.getField();
+
+        for (int n = 0; n < field.size(); n++)
+            if (isValidTarget(field.get(n), owner, false))
+                actions.add(Action.selectTarget(n, isEnemy));
+
+        if (isValidTarget(CardLib.CARD_REPRESENT_LEADER, owner, false))
+            actions.add(Action.selectTarget(Action.LEADER, isEnemy));
+    }
+
+    /**
+     * Carries out a packed action. The action must refer to the current position of the game, like the ones generated
+     * by {@linkplain #getLegalActions(ActionList)}. Actions are checked by the same rules as the corresponding method
+     * calls, and an action referring to a position that holds no suitable card is invalid. So is an action that is not
+     * in its {@linkplain Action#isCanonical(int) canonical form}.
+     *
+     * @param action the packed action
+     * @return true if the action has been carried out, false if it is invalid
+     * @throws IllegalArgumentException if the action has no valid kind
+     * @see Action
+     */
+    public boolean perform(int action) {
+        Player owner = currentPlayer, opponent = getOpponent(currentPlayer);
+        int source = Action.getSource(action), target = Action.getTarget(action);
+
+        if (owner == null || !Action.isCanonical(action))
+            return false;
+
+        switch (Action.getKind(action)) {
+            case PLAY_CARD:
+                return playCard(getCard(owner.getHand(), source));
+
+            case ATTACK_FOLLOWER:
+                return attack(getFollower(owner.getField(), source), getFollower(opponent.getField(), target));
+
+            case ATTACK_LEADER:
+                return attackLeader(getFollower(owner.getField(), source), opponent);
+
+            case EVOLVE:
+                return evolve(getFollower(owner.getField(), source));
+
+            case END_ROUND:
+                return endRound();
+
+            case SELECT_TARGET:
+                Player targetOwner = Action.isEnemyTarget(action) ? opponent : owner;
+
+                if (target == Action.LEADER)
+                    return selectTarget(CardLib.CARD_REPRESENT_LEADER, targetOwner);
+                else
+                    return selectTarget(getCard(targetOwner.getField(), target), targetOwner);
+
+            default:
+                throw new IllegalArgumentException("UNKNOWN ACTION " + action);
+        }
+    }
+
+    /**
+     * @param cards the list of cards
+     * @param index the position of the card
+     * @return the card at the position, null if there is none
+     */
+    private static Card getCard(CardList cards, int index) {
+        return index >= 0 && index < cards.size() ? cards.get(index) : null;
+    }
+
+    /**
+     * @param field the field of a player
+     * @param index the position of the follower
+     * @return the follower at the position, null if there is no follower
+     */
+    private static Follower getFollower(Field field, int index) {
+        Card card = getCard(field, index);
+        return card instanceof Follower ? (Follower) card : null;
+    }
+
+    /**
+     * Checks if the given card is a valid target for the pending effect.
+     *
+     * @param card    the card to be checked. {@linkplain CardLib#CARD_REPRESENT_LEADER} represents a leader
+     * @param owner   the owner of the card or leader
+     * @param verbose true if the reason of an invalid target should be displayed
+     * @return true if the card is a valid target, false otherwise
+     */
+    private boolean isValidTarget(Card card, Player owner, boolean verbose) {
+        boolean isFriendly = owner == currentPlayer;
+        String error = null;
+
+        if (card == CardLib.CARD_REPRESENT_LEADER) {
+            switch (pendingTarget) {
+                case ENEMY_FOLLOWER_OR_LEADER:
+                    if (isFriendly)
+                        error = "Please select an ENEMY target!!!";
+                    break;
+
+                case FRIENDLY_FOLLOWER_OR_LEADER:
+                    if (!isFriendly)
+                        error = "Please select a FRIENDLY target!!!";
+                    break;
+
+                default:
+                    error = "A leader can not be selected as the target of this effect";
+                    break;
+            }
+
+        } else if (card instanceof Follower) {
+            Follower follower = (Follower) card;
+
+            switch (pendingTarget) {
+                case ENEMY_FOLLOWER_OR_AMULET:
+                case ENEMY_FOLLOWER_OR_LEADER:
+                case ENEMY_FOLLOWER:
+                    if (isFriendly)
+                        error = "Please select an ENEMY target!!!";
+                    else if (!follower.canBeTargeted())
+                        error = "Enemy has UNTARGETABLE, cant be selected as an effect target";
+                    break;
+
+                case FRIENDLY_FOLLOWER_OR_AMULET:
+                case FRIENDLY_FOLLOWER_OR_LEADER:
+                case FRIENDLY_FOLLOWER:
+                    if (!isFriendly)
+                        error = "Please select a FRIENDLY target!!!";
+                    break;
+
+                case ENEMY_FOLLOWER_HP_LESS:
+                    if (isFriendly || follower.getHealth() > pendingEffect.getParameter())
+                        error = "Please select an ENEMY follower with " + pendingEffect.getParameter() +
+                                " HEALTH OR LESS";
+                    else if (!follower.canBeTargeted())
+                        error = "Enemy has UNTARGETABLE, cant be selected as an effect target";
+                    break;
+
+                case ANY_FOLLOWER:
+                    if (!isFriendly && !follower.canBeTargeted())
+                        error = "Enemy cant be selected as an effect target";
+                    break;
+
+                case FRIENDLY_OFFICER:
+                    if (!isFriendly || follower.getSwordCraftTrait() != Trait.SwordCraftTrait.OFFICER)
+                        error = "Please select a FRIENDLY OFFICER!";
+                    break;
+
+                case FRIENDLY_COMMANDER:
+                    if (!isFriendly || follower.getSwordCraftTrait() != Trait.SwordCraftTrait.COMMANDER)
+                        error = "Please select a FRIENDLY COMMANDER!";
+                    break;
+
+                case FRIENDLY_COST_ONE_FOLLOWER:
+                    if (!isFriendly || follower.getCost() != 1)
+                        error = "Please select a FRIENDLY FOLLOWER WITH 1 COST";
+                    break;
+
+                case ENEMY_FOLLOWER_ATK_MORE:
+                    if (isFriendly || follower.getAttack() < pendingEffect.getParameter())
+                        error = "Please select an ENEMY follower with " + pendingEffect.getParameter() +
+                                " ATTACK OR MORE";
+                    else if (!follower.canBeTargeted())
+                        error = "Enemy cant be selected as an effect target";
+                    break;
+
+                case FRIENDLY_CD_AMULET:
+                    error = "Please select a FRIENDLY COUNTDOWN AMULET!!!";
+                    break;
+
+                default:
+                    error = "Please select an AMULET";
+                    break;
+            }
+
+        } else if (card instanceof Amulet) {
+            Amulet amulet = (Amulet) card;
+
+            switch (pendingTarget) {
+                case FRIENDLY_CD_AMULET:
+                    if (!isFriendly)
+                        error = "Please select a FRIENDLY countdown amulet";
+                    else if (!amulet.isCountDown())
+                        error = "Please select an amulet that has COUNTDOWN";
+                    break;
+
+                case ENEMY_FOLLOWER_OR_AMULET:
+                    if (isFriendly)
+                        error = "Please select an ENEMY target!";
+                    break;
+
+                case FRIENDLY_FOLLOWER_OR_AMULET:
+                    if (!isFriendly)
+                        error = "Please select a FRIENDLY target!";
+                    break;
+
+                case ENEMY_AMULET:
+                    if (isFriendly)
+                        error = "Please select an ENEMY amulet";
+                    break;
+
+                default:
+                    error = "Please select a FOLLOWER";
+                    break;
+            }
+
+        } else {
+            error = "Please select a card on field";
+        }
+
+        if (error == null && card != CardLib.CARD_REPRESENT_LEADER && !owner.getField().contains(card))
+            error = "Please select a card on field";
+
+        if (error != null && verbose)
+            displayMessage(error);
+
+        return error == null;
+    }
+
+    /**
+     * This method finalizes the game. The listener will be informed of the winner and all further actions will be
+     * refused. It takes effect only once, any further invocation is ignored.
+     *
+     * <p>This method should be and only be invoked when the leader's health drops to 0 or below, a player runs out of
+     * cards to draw, or activation of some special effects that allow immediate victory.</p>
+     *
+     * @param winner the Player who wins the game
+     * @see #gameAlive
+     */
+    public void endGame(Player winner) {
+        if (!gameAlive)
+            return;
+
+        setGameAlive(false);
+
+        if (journal != null)
+            journal.record(this, WINNER, 0, this.winner);
+
+        this.winner = winner;
+
+        if (listener != null)
+            listener.gameEnded(winner);
+    }
+
+    /**
+     * This method processes card exit event for on-field cards, whether the card is banished or destroyed.
+     *
+     * <p>For a banished card, it is simply removed from the field and disappeared. Its "Last word" effect will not be
+     * triggered and it will not be transferred to the grave.</p>
+     *
+     * <p>For a destroyed card, it is removed from the field and added to the grave. Its "Last word" effect will also be
+     * activated.</p>
+     *
+     * @param card     Card that needs to exit the field
+     * @param owner    owner of the Card
+     * @param isBanish true: banish the card. Otherwise destroy the card.
+     */
+    public void processCardExit(Card card, Player owner, boolean isBanish) {
+        if (isBanish || card.getId() == GHOST) {
+            displayMessage(card.getName() + " has vanished.");
+            owner.getField().remove(card);
+        } else {
+            displayMessage(card.getName() + " has been destroyed.");
+            owner.getField().remove(card);
+            owner.getGrave().add(card);
+            sendEffect(card.getLastword(), card, owner, null, null);
+        }
+    }
+
+    /**
+     * Checks if the game accepts a new player action. Actions are refused when the game is not alive or an effect is
+     * waiting for its target.
+     *
+     * @return true if a new action is allowed, false otherwise
+     */
+    private boolean isActionAllowed() {
+        if (!gameAlive)
+            return false;
+
+        if (pendingTarget != null) {
+            displayMessage("Please select a target for the pending effect first");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * This method sends pending effects to {@linkplain EffectLib} and receives response from it.
+     *
+     * <p>A neither {@linkplain EffectLib.Response#DONE} nor {@linkplain EffectLib.Response#FAIL} response received
+     * indicates that a specific target is needed to proceed the effect. The target's identity can vary according to
+     * what the effect requires. Therefore, this method first checks if there is an eligible target. If there is,
+     * {@linkplain #pendingTarget} will be set to that specific target type. If no card matches the requirement, the
+     * effect will be disposed.</p>
+     *
+     * @param effect        the pending effect
+     * @param card          the origin Card of the effect
+     * @param sourcePlayer  the origin Player of the effect
+     * @param cardTrigger   the Card that triggers the effect
+     * @param triggerPlayer the Player that triggers the effect
+     * @see EffectLib
+     */
+    private void sendEffect(Effect effect, Card card, Player sourcePlayer, Card cardTrigger, Player triggerPlayer) {
+        if (effect != null) {
+            Player opponentPlayer = getOpponent(sourcePlayer);
+            EffectContext context = new EffectContext(effect, card, this, sourcePlayer, opponentPlayer);
+            EffectLib.Response response = EffectLib.processEffect(context);
+
+            switch (response) {
+                case ENEMY_FOLLOWER:
+                    if (opponentPlayer.getField().hasTargetableFollower()) {
+                        displayMessage("Please select an enemy target");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case FRIENDLY_FOLLOWER:
+                    if (sourcePlayer.getField().followerCount() > 0) {
+                        displayMessage("Please select a friendly target");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case ANY_FOLLOWER:
+                    if (sourcePlayer.getField().followerCount() > 0 || opponentPlayer.getField().hasTargetableFollower()) {
+                        displayMessage("Please select a follower target");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case FRIENDLY_OFFICER:
+                    if (sourcePlayer.getField().hasSwordTraitFollower(Trait.SwordCraftTrait.OFFICER)) {
+                        displayMessage("Please select a friendly officer");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case FRIENDLY_OFFICER_ENTRANCE:
+                    if (triggerPlayer == sourcePlayer && cardTrigger instanceof Follower &&
+                            ((Follower) cardTrigger).getSwordCraftTrait() == Trait.SwordCraftTrait.OFFICER) {
+                        EffectLib.proceedEffect(context, cardTrigger, sourcePlayer);
+                    } else {
+                        discardEffect(false);
+                    }
+                    break;
+
+                case FRIENDLY_COMMANDER:
+                    if (sourcePlayer.getField().hasSwordTraitFollower(Trait.SwordCraftTrait.COMMANDER)) {
+                        displayMessage("Please select a friendly commander");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case FRIENDLY_COMMANDER_ENTRANCE:
+                    if (triggerPlayer == sourcePlayer && cardTrigger instanceof Follower &&
+                            ((Follower) cardTrigger).getSwordCraftTrait() == Trait.SwordCraftTrait.COMMANDER) {
+                        EffectLib.proceedEffect(context, cardTrigger, sourcePlayer);
+                    } else {
+                        discardEffect(false);
+                    }
+                    break;
+
+                case FRIENDLY_FOLLOWER_ENTRANCE:
+                    if (triggerPlayer == sourcePlayer && cardTrigger instanceof Follower) {
+                        EffectLib.proceedEffect(context, cardTrigger, sourcePlayer);
+                    } else {
+                        discardEffect(false);
+                    }
+                    break;
+
+                case ENEMY_FOLLOWER_OR_LEADER:
+                    displayMessage("Please select an enemy target");
+                    setPending(response, context);
+                    break;
+
+                case FRIENDLY_FOLLOWER_OR_LEADER:
+                    displayMessage("Please select a friendly target");
+                    setPending(response, context);
+                    break;
+
+                case FRIENDLY_CD_AMULET:
+                    if (sourcePlayer.getField().hasCountdownAmulet()) {
+                        displayMessage("Please select a friendly countdown amulet");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case ENEMY_FOLLOWER_HP_LESS:
+                    if (opponentPlayer.getField().hasTargetableFollowerBelowHpLimit(context.getParameter())) {
+                        displayMessage("Please select an enemy follower with " + context.getParameter() +
+                                " health or less");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case ENEMY_FOLLOWER_OR_AMULET:
+                    if (opponentPlayer.getField().hasTargetableFollower() ||
+                            opponentPlayer.getField().amuletCount() > 0) {
+                        displayMessage("Please select an enemy follower or amulet");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case FRIENDLY_FOLLOWER_OR_AMULET:
+                    if (sourcePlayer.getField().size() > 0) {
+                        displayMessage("Please select a friendly follower or amulet");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case ENEMY_AMULET:
+                    if (opponentPlayer.getField().amuletCount() > 0) {
+                        displayMessage("Please select an enemy amulet");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case FIGHTING_ENEMY:
+                    if (cardTrigger != null && triggerPlayer != null)
+                        EffectLib.proceedEffect(context, cardTrigger, triggerPlayer);
+                    else
+                        throw new IllegalArgumentException("Trigger player and card required");
+                    break;
+
+                case FRIENDLY_COST_ONE_FOLLOWER:
+                    boolean hasOneCost = false;
+
+                    for (Card c : sourcePlayer.getField()) {
+                        if (c instanceof Follower && c.getCost() == 1) {
+                            hasOneCost = true;
+                            break;
+                        }
+                    }
+
+                    if (hasOneCost) {
+                        displayMessage("Please select a friendly follower with 1 cost");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                case ENEMY_FOLLOWER_ATK_MORE:
+                    if (opponentPlayer.getField().hasTargetableFollowerAboveAtkLimit(context.getParameter())) {
+                        displayMessage("Please select an enemy follower with " + context.getParameter() +
+                                " attack or more");
+                        setPending(response, context);
+                    } else {
+                        discardEffect(true);
+                    }
+                    break;
+
+                default:
+                    break;
+            }
+
+            cleanField();
+        }
+    }
+
+    /**
+     * This method discards the effect that is currently processing by {@linkplain EffectLib}. It is only invoked when
+     * there is no eligible target found to proceed the effect.
+     *
+     * @param displayMessage true: display the effect discard information, nothing otherwise
+     * @see EffectLib
+     */
+    private void discardEffect(boolean displayMessage) {
+        if (displayMessage)
+            displayMessage("Effect discarded due to no available target");
+
+        setPending(null, null);
+    }
+
+    /**
+     * Sets the effect that waits for a target.
+     *
+     * @param response the required type of target, null if no effect is waiting
+     * @param context  the context of the waiting effect, null if no effect is waiting
+     * @see #pendingTarget
+     * @see #pendingEffect
+     */
+    private void setPending(EffectLib.Response response, EffectContext context) {
+        if (journal != null) {
+            journal.record(this, PENDING_TARGET, 0, pendingTarget);
+            journal.record(this, PENDING_EFFECT, 0, pendingEffect);
+        }
+
+        pendingTarget = response;
+        pendingEffect = context;
+    }
+
+    private void setCurrentPlayer(Player player) {
+        if (journal != null)
+            journal.record(this, CURRENT_PLAYER, 0, currentPlayer);
+
+        currentPlayer = player;
+    }
+
+    private void setGameAlive(boolean alive) {
+        if (journal != null)
+            journal.record(this, GAME_ALIVE, gameAlive ? 1 : 0);
+
+        gameAlive = alive;
+    }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        switch (field) {
+            case CURRENT_PLAYER:
+                currentPlayer = (Player) reference;
+                break;
+
+            case WINNER:
+                winner = (Player) reference;
+                break;
+
+            case GAME_ALIVE:
+                gameAlive = value != 0;
+                break;
+
+            case PENDING_TARGET:
+                pendingTarget = (EffectLib.Response) reference;
+                break;
+
+            case PENDING_EFFECT:
+                pendingEffect = (EffectContext) reference;
+                break;
+
+            default:
+                throw new IllegalArgumentException("UNKNOWN GAME FIELD " + field);
+        }
+    }
+
+    /**
+     * This method checks for both players' fields and destroy any card that is no longer alive. It is called every time
+     * an effect is processed, as some effects can deal lethal damage to a follower or destroy cards on the field.
+     *
+     * <p>Banishing cards and attack events do not invoke this method, as they have their own settlements on the targets
+     * they affect.</p>
+     */
+    private void cleanField() {
+        for (int n = 0; n < P1.getField().size(); n++) {
+            if (!P1.getField().get(n).isAlive()) {
+                processCardExit(P1.getField().get(n), P1, false);
+                n--;
+            }
+        }
+
+        for (int n = 0; n < P2.getField().size(); n++) {
+            if (!P2.getField().get(n).isAlive()) {
+                processCardExit(P2.getField().get(n), P2, false);
+                n--;
+            }
+        }
+    }
+
+    /**
+     * Pass the message to the listener if there is one.
+     *
+     * @param message the message to be displayed
+     */
+    private void displayMessage(String message) {
+        if (listener != null)
+            listener.displayMessage(message);
+    }
+}
@@ -0,0 +1,21 @@
+/**
+ * The interface provides the callbacks {@link GameEngine} uses to report game progress to whatever is presenting the
+ * game. In this project, it is implemented by {@link Game}. A headless engine (e.g. for simulations) may run without
+ * any listener at all.
+ */
+interface GameListener {
+    /**
+     * Invoked whenever the engine has information to show to the players, such as error messages for invalid actions
+     * or the result of an attack.
+     *
+     * @param message the message to be displayed
+     */
+    void displayMessage(String message);
+
+    /**
+     * Invoked once when the game ends.
+     *
+     * @param winner the Player who wins the game
+     */
+    void gameEnded(Player winner);
+}
@@ -3,6 +3,7 @@
  * interactions (necromancy).
  */
 public final class Grave extends CardList {
+    private static final int NECROMANCY = FIRST_SUBCLASS_FIELD;
     /**
      * Necromancy keeps track of cards in the grave. It can be consumed to activate special/advanced effects for
      * {@linkplain Leader.LeaderType#SHADOWCRAFT} cards. Upon consumption, the grave's size will decrease simultaneously
@@ -18,6 +19,17 @@ public final class Grave extends CardList {
         super(Deck.DEFAULT_DECK_SIZE);
     }
 
+    /**
+     * The copy constructor creates a grave holding copies of the cards of another grave, with the same necromancy.
+     *
+     * @param other the grave to be copied
+     */
+    Grave(Grave other) {
+        super(Math.max(Deck.DEFAULT_DECK_SIZE, other.size()));
+        addCopies(other);
+        necromancy = other.necromancy;
+    }
+
     /**
      * Add a card to the grave. It increases {@linkplain #necromancy} by 1.
      *
@@ -26,6 +38,7 @@ public final class Grave extends CardList {
      */
     public boolean add(Card card) {
         if (super.add(card)) {
+            journal(NECROMANCY, necromancy);
             necromancy++;
             return true;
         } else {
@@ -48,6 +61,7 @@ public final class Grave extends CardList {
      */
     public boolean useNecromancy(int usage) {
         if (necromancy >= usage) {
+            journal(NECROMANCY, necromancy);
             necromancy -= usage;
             for (int n = 0; n < usage && size() > 0; n++)
                 remove(0);
@@ -64,6 +78,15 @@ public final class Grave extends CardList {
      * @param amount the amount of necromancy point to be added
      */
     public void addNecromancy(int amount) {
+        journal(NECROMANCY, necromancy);
         necromancy += amount;
     }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        if (field == NECROMANCY)
+            necromancy = value;
+        else
+            super.restore(field, value, reference);
+    }
 }
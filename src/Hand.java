@@ -11,6 +11,16 @@ public final class Hand extends CardList {
         super(MAXIMUM_NUM_OF_CARDS);
     }
 
+    /**
+     * The copy constructor creates a hand holding copies of the cards of another hand.
+     *
+     * @param other the hand to be copied
+     */
+    Hand(Hand other) {
+        super(MAXIMUM_NUM_OF_CARDS);
+        addCopies(other);
+    }
+
     /**
      * Add a card to the hand. The hand's size must not exceed {@linkplain #MAXIMUM_NUM_OF_CARDS} after addition.
      *
@@ -1,83 +1,71 @@
 import javax.imageio.ImageIO;
+import javax.swing.*;
 import java.awt.*;
-import java.io.File;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.net.URL;
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Objects;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * The image library initializes, scales and holds all image instances used in the program. It pre-scales all images to
- * be used so they are ready with correct aspect ratio and size upon usage. These processes may take several seconds
- * causing a slight delay at startup, but it greatly improves the run-time response delay as well as fluency of painting
- * components.
+ * The image library loads, scales and holds all image instances used in the program. Leader images and the scaled card
+ * component images are few and small, so they are loaded at startup and are ready with correct aspect ratio and size
+ * upon usage.
  *
- * <p>The initialization code is different between running from IDE and running from an executable jar file. It is
- * noticeable that the initialization takes much more time if running from an executable jar file.</p>
+ * <p>Card art is decoded on first request instead, as decoding every field and hand image before the first window
+ * appears takes several seconds and keeps all of them in memory. The decoded images of each kind are kept in a
+ * {@linkplain ImageCache} of limited size, and {@linkplain #prefetch(Leader.LeaderType...)} decodes the images of the
+ * chosen decks in the background so they are usually ready before they are painted.</p>
  *
- * <p>This class is only to be accessed the statically. All images are initialized and stored at the beginning of the
- * program, and are passed-by-reference upon usage.</p>
+ * <p>Where all card art is to be in memory anyway, {@linkplain #preload(int)} decodes all of it on a pool of threads
+ * instead. The preloaded images are kept for the rest of the program.</p>
+ *
+ * <p>All images are converted to the format of the screen by {@linkplain #toCompatible(Image)} once they are loaded.
+ * The decoders pick formats of their own, which the screen can not draw without converting every pixel on every paint.
+ * </p>
+ *
+ * <p>This class is only to be accessed the statically. All images are passed-by-reference upon usage.</p>
  */
 public final class ImageLib {
-    private static final HashMap<String, Image> FIELD_IMAGES = new HashMap<>(500),
-            HAND_IMAGES = new HashMap<>(500), LEADER_IMAGES = new HashMap<>(10),
+    /**
+     * The number of decoded images of each kind of card art kept in memory, enough for the cards of two decks.
+     */
+    private static final int CACHE_SIZE = 128;
+    /**
+     * The configuration of the screen the images are converted for, null if there is no screen.
+     */
+    private static final GraphicsConfiguration CONFIGURATION = GraphicsEnvironment.isHeadless() ? null :
+            GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+    /**
+     * The last ID of the collectible card art and the range of IDs of the art of the cards that are only created by
+     * effects.
+     */
+    private static final int LAST_CARD_KEY = 403, FIRST_TOKEN_KEY = 90001, LAST_TOKEN_KEY = 90036;
+    private static final ImageCache FIELD_IMAGES = new ImageCache("field/", CACHE_SIZE),
+            HAND_IMAGES = new ImageCache("hand/", CACHE_SIZE);
+    private static final HashMap<String, Image> LEADER_IMAGES = new HashMap<>(10),
             COMPONENT_IMAGES = new HashMap<>(10);
     public static final int FIELD_CARD_WIDTH, FIELD_CARD_HEIGHT, HAND_CARD_WIDTH, HAND_CARD_HEIGHT;
+    /**
+     * The number of images decoded by {@linkplain #preload(int)} so far, and the number of images it decodes in total.
+     */
+    private static final AtomicInteger PRELOADED = new AtomicInteger();
+    private static volatile int preloadSize;
+    private static CompletableFuture<Void> preloading;
 
     private ImageLib() {
     }
 
     static {
-
-        try {
-
-            if (ImageLib.class.getResource("ImageLib.class").toString().startsWith("jar:")) {
-
-                for (int n = 1; n <= 403; n++) {
-                    String fileKey = String.format("%05d", n);
-
-                    try {
-                        FIELD_IMAGES.put(fileKey, ImageIO.read(ImageLib.class.getResource("field/" + fileKey + ".jpg")));
-                        HAND_IMAGES.put(fileKey, ImageIO.read(ImageLib.class.getResource("hand/" + fileKey + ".jpg")));
-                    } catch (IllegalArgumentException e) {
-                        FIELD_IMAGES.put(fileKey + "A", ImageIO.read(ImageLib.class.getResource("field/" + fileKey + "A.jpg")));
-                        FIELD_IMAGES.put(fileKey + "B", ImageIO.read(ImageLib.class.getResource("field/" + fileKey + "B.jpg")));
-                        HAND_IMAGES.put(fileKey + "A", ImageIO.read(ImageLib.class.getResource("hand/" + fileKey + "A.jpg")));
-                        HAND_IMAGES.put(fileKey + "B", ImageIO.read(ImageLib.class.getResource("hand/" + fileKey + "B.jpg")));
-                    }
-                }
-
-                for (int n = 90001; n <= 90036; n++) {
-
-                    try {
-                        FIELD_IMAGES.put(Integer.toString(n), ImageIO.read(ImageLib.class.getResource("field/" + n + ".jpg")));
-                        HAND_IMAGES.put(Integer.toString(n), ImageIO.read(ImageLib.class.getResource("hand/" + n + ".jpg")));
-                    } catch (IllegalArgumentException e) {
-                        FIELD_IMAGES.put(n + "A", ImageIO.read(ImageLib.class.getResource("field/" + n + "A.jpg")));
-                        FIELD_IMAGES.put(n + "B", ImageIO.read(ImageLib.class.getResource("field/" + n + "B.jpg")));
-                        HAND_IMAGES.put(n + "A", ImageIO.read(ImageLib.class.getResource("hand/" + n + "A.jpg")));
-                        HAND_IMAGES.put(n + "B", ImageIO.read(ImageLib.class.getResource("hand/" + n + "B.jpg")));
-                    }
-                }
-
-            } else {
-
-                for (File image : Objects.requireNonNull(new File("Resources/field/").listFiles())) {
-                    String fileName = image.getName();
-                    FIELD_IMAGES.put(fileName.substring(0, fileName.indexOf('.')), ImageIO.read(image));
-                }
-
-                for (File image : Objects.requireNonNull(new File("Resources/hand/").listFiles())) {
-                    String fileName = image.getName();
-                    HAND_IMAGES.put(fileName.substring(0, fileName.indexOf('.')), ImageIO.read(image));
-                }
-
-            }
-
-        } catch (IOException | NullPointerException e) {
-            e.printStackTrace();
-            System.exit(1);
-        }
-
         Image fieldSample = FIELD_IMAGES.get("00001A");
         FIELD_CARD_WIDTH = fieldSample.getWidth(null);
         FIELD_CARD_HEIGHT = fieldSample.getHeight(null);
@@ -140,6 +128,9 @@ public final class ImageLib {
             COMPONENT_IMAGES.put("legendary_amulet", ImageIO.read(ImageLib.class.getResource("other/legendary_amulet.png")).
                     getScaledInstance(HAND_CARD_WIDTH, HAND_CARD_HEIGHT, Image.SCALE_SMOOTH));
 
+            LEADER_IMAGES.replaceAll((key, image) -> toCompatible(image));
+            COMPONENT_IMAGES.replaceAll((key, image) -> toCompatible(image));
+
         } catch (IOException e) {
             e.printStackTrace();
             System.exit(1);
@@ -149,26 +140,20 @@ public final class ImageLib {
 
     /**
      * @param key the key code(file name without extension) for the hand image
-     * @return the corresponding hand image of the given image key
+     * @return the corresponding hand image of the given image key, decoded if it is not in memory
+     * @throws IllegalArgumentException when there is no image of the key
      */
     public static Image getHandImage(String key) {
-        if (HAND_IMAGES.containsKey(key)) {
-            return HAND_IMAGES.get(key);
-        } else {
-            throw new IllegalArgumentException("NO IMAGE KEY FOUND " + key);
-        }
+        return HAND_IMAGES.get(key);
     }
 
     /**
      * @param key the key code(file name without extension) for the field image
-     * @return the corresponding field image of the given image key
+     * @return the corresponding field image of the given image key, decoded if it is not in memory
+     * @throws IllegalArgumentException when there is no image of the key
      */
     public static Image getFieldImage(String key) {
-        if (FIELD_IMAGES.containsKey(key)) {
-            return FIELD_IMAGES.get(key);
-        } else {
-            throw new IllegalArgumentException("NO IMAGE KEY FOUND " + key);
-        }
+        return FIELD_IMAGES.get(key);
     }
 
     /**
@@ -194,4 +179,274 @@ public final class ImageLib {
             throw new IllegalArgumentException("NO IMAGE KEY FOUND " + key);
         }
     }
+
+    /**
+     * Scales an image and converts it to the format of the screen.
+     *
+     * @param image  the image to be scaled
+     * @param width  the width of the scaled image
+     * @param height the height of the scaled image
+     * @return the scaled image
+     */
+    static Image getScaledImage(Image image, int width, int height) {
+        return toCompatible(image.getScaledInstance(width, height, Image.SCALE_SMOOTH));
+    }
+
+    /**
+     * Converts an image to the format of the screen, so it is drawn without converting its pixels, and can be kept in
+     * video memory by the graphics pipeline. Images that are not completely loaded yet, such as scaled instances, are
+     * waited for. Without a screen the image is returned as it is.
+     *
+     * @param image the image to be converted
+     * @return the converted image, or the image itself if it is already compatible
+     */
+    static Image toCompatible(Image image) {
+        if (CONFIGURATION == null || isCompatible(image, CONFIGURATION))
+            return image;
+
+        // ImageIcon waits until the image is loaded
+        Image loaded = new ImageIcon(image).getImage();
+        int transparency = loaded instanceof Transparency ? ((Transparency) loaded).getTransparency() :
+                Transparency.TRANSLUCENT;
+        BufferedImage compatible = CONFIGURATION.createCompatibleImage(loaded.getWidth(null), loaded.getHeight(null),
+                transparency);
+        Graphics2D g2d = compatible.createGraphics();
+        g2d.setComposite(AlphaComposite.Src);
+        g2d.drawImage(loaded, 0, 0, null);
+        g2d.dispose();
+        return compatible;
+    }
+
+    /**
+     * @param image         the image to be checked
+     * @param configuration the configuration of the destination
+     * @return true if the image is drawn to the destination without converting its pixels, false otherwise
+     */
+    static boolean isCompatible(Image image, GraphicsConfiguration configuration) {
+        if (image instanceof VolatileImage)
+            return true;
+
+        if (!(image instanceof BufferedImage))
+            return false;
+
+        BufferedImage buffered = (BufferedImage) image;
+        return buffered.getColorModel().equals(configuration.getColorModel(buffered.getTransparency()));
+    }
+
+    /**
+     * Creates an empty image in the format of the screen.
+     *
+     * @param width        the width of the image
+     * @param height       the height of the image
+     * @param transparency the {@linkplain Transparency transparency} of the image
+     * @return the created image
+     */
+    static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (CONFIGURATION == null)
+            return new BufferedImage(width, height, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB :
+                    BufferedImage.TYPE_INT_ARGB);
+
+        return CONFIGURATION.createCompatibleImage(width, height, transparency);
+    }
+
+    /**
+     * Decodes the card art of the preset decks of the given leaders on a background thread, so that the images are
+     * usually in memory before they are first painted. Leaders without a preset deck are skipped.
+     *
+     * @param leaders the leaders of the match
+     */
+    static void prefetch(Leader.LeaderType... leaders) {
+        Thread prefetch = new Thread(() -> {
+            for (Leader.LeaderType leader : leaders) {
+                int[] ids = Deck.getPresetIds(leader);
+
+                if (ids == null)
+                    continue;
+
+                for (int id : ids) {
+                    CardDefinition definition = CardLib.getDefinition(id);
+                    definition.getHandImage();
+                    definition.getFieldImage();
+                    definition.getEvolvedImage();
+                }
+            }
+        }, "ImageLib prefetch");
+
+        prefetch.setDaemon(true);
+        prefetch.setPriority(Thread.MIN_PRIORITY);
+        prefetch.start();
+    }
+
+    /**
+     * Decodes all card art on a pool of the given number of threads, and keeps it in memory for the rest of the program.
+     * Images requested before they are preloaded are still decoded on demand. The returned future completes when all
+     * images are decoded, or exceptionally if any of them can not be decoded. The pool is shut down after that.
+     *
+     * @param threads the number of threads decoding the images
+     * @return the future completing when all card art is in memory
+     * @throws IllegalArgumentException if the number of threads is not positive
+     * @throws IllegalStateException    if the images are already preloaded
+     * @see #getPreloadProgress()
+     */
+    static synchronized CompletableFuture<Void> preload(int threads) {
+        if (threads <= 0)
+            throw new IllegalArgumentException("NUMBER OF THREADS MUST BE POSITIVE");
+
+        if (preloading != null)
+            throw new IllegalStateException("IMAGES ARE ALREADY PRELOADED");
+
+        ArrayList<String> keys = new ArrayList<>();
+
+        for (int n = 1; n <= LAST_CARD_KEY; n++)
+            addKeys(keys, String.format("%05d", n));
+
+        for (int n = FIRST_TOKEN_KEY; n <= LAST_TOKEN_KEY; n++)
+            addKeys(keys, Integer.toString(n));
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "ImageLib preload");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[keys.size() * 2];
+
+        for (int n = 0; n < keys.size(); n++) {
+            String key = keys.get(n);
+            tasks[2 * n] = CompletableFuture.runAsync(() -> FIELD_IMAGES.preload(key), pool);
+            tasks[2 * n + 1] = CompletableFuture.runAsync(() -> HAND_IMAGES.preload(key), pool);
+        }
+
+        preloadSize = tasks.length;
+        preloading = CompletableFuture.allOf(tasks);
+        preloading.whenComplete((result, error) -> {
+            pool.shutdown();
+
+            if (error != null)
+                error.printStackTrace();
+        });
+        return preloading;
+    }
+
+    /**
+     * Adds the image keys of a card to the list: the key itself, or the keys of the unevolved and evolved image if the
+     * card is a follower.
+     *
+     * @param keys the list of keys
+     * @param id   the ID part of the image keys
+     */
+    private static void addKeys(ArrayList<String> keys, String id) {
+        if (ImageLib.class.getResource("field/" + id + ".jpg") != null) {
+            keys.add(id);
+        } else {
+            keys.add(id + "A");
+            keys.add(id + "B");
+        }
+    }
+
+    /**
+     * @return the fraction of the images decoded by {@linkplain #preload(int)} so far, 0 if it was not invoked
+     */
+    static double getPreloadProgress() {
+        int size = preloadSize;
+        return size == 0 ? 0 : (double) PRELOADED.get() / size;
+    }
+
+    /**
+     * A cache of the card art in one resource folder. It decodes an image on the first request and keeps the most
+     * recently used images in memory. Images pushed out of it are still held by soft references, so they are only
+     * decoded again if the garbage collector needed the memory in the meantime.
+     *
+     * <p>The cache is accessed by both the event dispatch thread and the prefetch thread. Images are decoded outside
+     * the lock, so painting is not blocked by the decoding of another image. Preloaded images are kept in a concurrent
+     * map apart from the least recently used ones, so they are neither locked nor evicted.</p>
+     */
+    private static final class ImageCache {
+        private final String FOLDER;
+        private final LinkedHashMap<String, Image> IMAGES;
+        private final HashMap<String, SoftReference<Image>> EVICTED = new HashMap<>();
+        private final ConcurrentHashMap<String, Image> PRELOADED_IMAGES = new ConcurrentHashMap<>();
+
+        /**
+         * @param folder   the resource folder of the images, ending with a slash
+         * @param capacity the number of images kept in memory
+         */
+        ImageCache(String folder, int capacity) {
+            FOLDER = folder;
+            IMAGES = new LinkedHashMap<String, Image>(capacity * 2, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                    if (size() <= capacity)
+                        return false;
+
+                    EVICTED.put(eldest.getKey(), new SoftReference<>(eldest.getValue()));
+                    return true;
+                }
+            };
+        }
+
+        /**
+         * @param key the key code(file name without extension) of the image
+         * @return the image of the key, decoded if it is not in memory
+         * @throws IllegalArgumentException when there is no image of the key
+         */
+        Image get(String key) {
+            Image preloaded = PRELOADED_IMAGES.get(key);
+
+            if (preloaded != null)
+                return preloaded;
+
+            synchronized (this) {
+                Image image = IMAGES.get(key);
+
+                if (image != null)
+                    return image;
+
+                SoftReference<Image> reference = EVICTED.remove(key);
+
+                if (reference != null && (image = reference.get()) != null) {
+                    IMAGES.put(key, image);
+                    return image;
+                }
+            }
+
+            Image image = decode(key);
+
+            synchronized (this) {
+                // Another thread may have decoded the same image in the meantime, keep the one already cached
+                Image cached = IMAGES.putIfAbsent(key, image);
+                return cached == null ? image : cached;
+            }
+        }
+
+        /**
+         * Decodes an image and keeps it for the rest of the program.
+         *
+         * @param key the key code(file name without extension) of the image
+         * @throws IllegalArgumentException when there is no image of the key
+         */
+        void preload(String key) {
+            PRELOADED_IMAGES.put(key, decode(key));
+            PRELOADED.incrementAndGet();
+        }
+
+        /**
+         * @param key the key code(file name without extension) of the image
+         * @return the decoded image
+         * @throws IllegalArgumentException when there is no image of the key
+         */
+        private Image decode(String key) {
+            URL resource = ImageLib.class.getResource(FOLDER + key + ".jpg");
+
+            if (resource == null)
+                throw new IllegalArgumentException("NO IMAGE KEY FOUND " + key);
+
+            try {
+                return toCompatible(ImageIO.read(resource));
+            } catch (IOException e) {
+                throw new IllegalStateException("IMAGE " + key + " CAN NOT BE DECODED", e);
+            }
+        }
+    }
 }
@@ -0,0 +1,142 @@
+/**
+ * This class is an undo journal of a game. When it is set on a {@linkplain GameEngine} through {@linkplain
+ * GameEngine#setJournal(Journal)}, every change to the state of the game (cards, leaders, players, their card lists and
+ * the engine itself) is recorded together with the value it overwrote. A search can then carry out actions in place and
+ * roll the game back to an earlier {@linkplain #mark() mark} in time proportional to the number of changes since.
+ *
+ * <p>The entries are stored in preallocated parallel arrays, so recording does not allocate anything unless the
+ * journal is full, in which case the arrays grow.</p>
+ *
+ * <p>The random sources of the game are not part of the journal. After a rollback the position is exactly the same
+ * as at the mark, but random effects may resolve differently if the same actions are carried out again.</p>
+ *
+ * <pre>
+ * int mark = journal.mark();
+ * engine.perform(action);
+ * // evaluate the position
+ * journal.rollback(mark);
+ * </pre>
+ *
+ * @see Journaled
+ */
+public final class Journal {
+    private static final int DEFAULT_CAPACITY = 4096;
+    private Journaled[] targets;
+    private int[] fields, values;
+    private Object[] references;
+    private int size;
+
+    /**
+     * The constructor allocates an empty journal with the default capacity.
+     */
+    public Journal() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * The constructor allocates an empty journal.
+     *
+     * @param capacity the number of changes the journal holds before it has to grow
+     * @throws IllegalArgumentException if the capacity is not positive
+     */
+    public Journal(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("JOURNAL CAPACITY MUST BE POSITIVE");
+
+        targets = new Journaled[capacity];
+        fields = new int[capacity];
+        values = new int[capacity];
+        references = new Object[capacity];
+    }
+
+    /**
+     * Records the old value of an int field.
+     *
+     * @param target the object that is about to change
+     * @param field  the number of the field
+     * @param value  the value of the field before the change
+     */
+    void record(Journaled target, int field, int value) {
+        record(target, field, value, null);
+    }
+
+    /**
+     * Records the old value of a field. Changes that need both an int and a reference, e.g. a card removed from a
+     * position of a list, are recorded in a single entry.
+     *
+     * @param target    the object that is about to change
+     * @param field     the number of the field
+     * @param value     the int value before the change
+     * @param reference the reference value before the change
+     */
+    void record(Journaled target, int field, int value, Object reference) {
+        if (size == targets.length)
+            grow();
+
+        targets[size] = target;
+        fields[size] = field;
+        values[size] = value;
+        references[size] = reference;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = targets.length * 2;
+        Journaled[] newTargets = new Journaled[capacity];
+        int[] newFields = new int[capacity], newValues = new int[capacity];
+        Object[] newReferences = new Object[capacity];
+
+        System.arraycopy(targets, 0, newTargets, 0, size);
+        System.arraycopy(fields, 0, newFields, 0, size);
+        System.arraycopy(values, 0, newValues, 0, size);
+        System.arraycopy(references, 0, newReferences, 0, size);
+        targets = newTargets;
+        fields = newFields;
+        values = newValues;
+        references = newReferences;
+    }
+
+    /**
+     * @return the mark of the current position, to be passed to {@linkplain #rollback(int)}
+     */
+    public int mark() {
+        return size;
+    }
+
+    /**
+     * Undoes every change recorded after the mark, the latest change first.
+     *
+     * @param mark the mark of the position to return to
+     * @throws IllegalArgumentException if the mark is not a mark of this journal, or has already been rolled back
+     */
+    public void rollback(int mark) {
+        if (mark < 0 || mark > size)
+            throw new IllegalArgumentException("INVALID JOURNAL MARK " + mark);
+
+        while (size > mark) {
+            size--;
+            targets[size].restore(fields[size], values[size], references[size]);
+            targets[size] = null;
+            references[size] = null;
+        }
+    }
+
+    /**
+     * Forgets all recorded changes without undoing them.
+     */
+    public void clear() {
+        for (int n = 0; n < size; n++) {
+            targets[n] = null;
+            references[n] = null;
+        }
+
+        size = 0;
+    }
+
+    /**
+     * @return the number of recorded changes
+     */
+    public int size() {
+        return size;
+    }
+}
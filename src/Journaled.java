@@ -0,0 +1,18 @@
+/**
+ * This interface is implemented by every game object whose state changes can be recorded in a {@linkplain Journal}.
+ * Each implementation numbers its own mutable fields, and records the old value of a field in the journal of the game
+ * right before the field is changed.
+ *
+ * @see Journal
+ */
+interface Journaled {
+    /**
+     * Sets a field back to the value it had before a recorded change. The value is written directly, no other state
+     * is updated and nothing is recorded. It is only to be invoked by {@linkplain Journal#rollback(int)}.
+     *
+     * @param field     the number of the field, as recorded
+     * @param value     the recorded int value
+     * @param reference the recorded reference value
+     */
+    void restore(int field, int value, Object reference);
+}
@@ -3,8 +3,12 @@ import java.awt.*;
 /**
  * This class represents a player's leader. It contains the leader's health status and its types.
  */
-public final class Leader implements Attackable {
+public final class Leader implements Attackable, Journaled {
     private static final int MAX_HEALTH = 20;
+    /**
+     * The numbers of the fields recorded in the {@linkplain Journal}.
+     */
+    private static final int HEALTH = 0, IMMUNE = 1;
     private int health;
     private LeaderType leaderType;
     /**
@@ -13,6 +17,10 @@ public final class Leader implements Attackable {
      * @see LeaderEffects#DAMAGE_IMMUNE
      */
     private boolean hasDamageImmune;
+    /**
+     * The journal that records changes to the leader, null if changes are not recorded.
+     */
+    private Journal journal;
 
     /**
      * The constructor sets current leader's type and initializes the fields with their default values.
@@ -25,6 +33,17 @@ public final class Leader implements Attackable {
         health = MAX_HEALTH;
     }
 
+    /**
+     * The copy constructor copies the type, health and effects of another leader.
+     *
+     * @param other the leader to be copied
+     */
+    Leader(Leader other) {
+        leaderType = other.leaderType;
+        hasDamageImmune = other.hasDamageImmune;
+        health = other.health;
+    }
+
     /**
      * The leader takes damage from an enemy follower attack unless damage immune is active. The damage taken equals the
      * attacker follower's current attack value.
@@ -34,7 +53,7 @@ public final class Leader implements Attackable {
     @Override
     public void takeDamage(Follower attacker) {
         if (!hasDamageImmune)
-            health -= attacker.getAttack();
+            setHealth(health - attacker.getAttack());
     }
 
     /**
@@ -47,9 +66,9 @@ public final class Leader implements Attackable {
     @Override
     public void heal(int heal) {
         if (health + heal <= MAX_HEALTH) {
-            health += heal;
+            setHealth(health + heal);
         } else {
-            health = MAX_HEALTH;
+            setHealth(MAX_HEALTH);
         }
     }
 
@@ -78,7 +97,14 @@ public final class Leader implements Attackable {
     @Override
     public void takeDamage(int damage) {
         if (!hasDamageImmune)
-            health -= damage;
+            setHealth(health - damage);
+    }
+
+    private void setHealth(int value) {
+        if (journal != null)
+            journal.record(this, HEALTH, health);
+
+        health = value;
     }
 
     /**
@@ -97,7 +123,7 @@ public final class Leader implements Attackable {
     public void grantEffect(LeaderEffects effect) {
         switch (effect) {
             case DAMAGE_IMMUNE:
-                hasDamageImmune = true;
+                setDamageImmune(true);
                 break;
         }
     }
@@ -110,11 +136,41 @@ public final class Leader implements Attackable {
     public void revokeEffect(LeaderEffects effect) {
         switch (effect) {
             case DAMAGE_IMMUNE:
-                hasDamageImmune = false;
+                setDamageImmune(false);
                 break;
         }
     }
 
+    private void setDamageImmune(boolean value) {
+        if (journal != null)
+            journal.record(this, IMMUNE, hasDamageImmune ? 1 : 0);
+
+        hasDamageImmune = value;
+    }
+
+    /**
+     * @param journal the journal to record changes to the leader, null to stop recording
+     */
+    void setJournal(Journal journal) {
+        this.journal = journal;
+    }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        switch (field) {
+            case HEALTH:
+                health = value;
+                break;
+
+            case IMMUNE:
+                hasDamageImmune = value != 0;
+                break;
+
+            default:
+                throw new IllegalArgumentException("UNKNOWN LEADER FIELD " + field);
+        }
+    }
+
     /**
      * @return leader's name
      */
@@ -0,0 +1,571 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * This class answers whether the player whose round it is can win the game before the round ends, and if so, with
+ * which actions. It searches every order of the actions the player can take this round: using cards within the
+ * remaining play points, attacking with followers whose {@linkplain AttackStatus} allows it past any ward, evolving,
+ * selecting the targets of effects and finally ending the round, whose end of round effects may deal the last damage.
+ * The actions of the opponent's next round are never searched.
+ *
+ * <p>The search runs depth first on a journaled copy of the game, so trying an action and taking it back needs no new
+ * copy, and the solver reuses its buffers for the actions of every depth. Three measures keep it within milliseconds
+ * on full boards:</p>
+ *
+ * <ul>
+ * <li>Move ordering: actions that are likely to finish the game are tried first, i.e. attacks on the enemy leader with
+ * the strongest followers, effects targeting the enemy leader, cards that deal damage to the enemy leader when used,
+ * followers with {@linkplain AttackStatus#STORM storm} and evolving followers that can attack the leader. Attacks on
+ * ward followers, which open the way to the leader, come before other attacks on followers, and ending the round
+ * comes last, unless the enemy deck is empty and ending the round wins at once.</li>
+ * <li>Memoization: the actions of a round mostly commute, so the same position is reached by many orders of the same
+ * actions. Every position that has been searched without finding a win is stored by its {@linkplain
+ * GameEngine#getHash() hash} in a {@linkplain TranspositionTable} and never searched again during the same call.</li>
+ * <li>Damage bound: the damage left this round is bounded by the attack of the followers that can attack the leader,
+ * including the followers with {@linkplain AttackStatus#STORM storm} in hand, the burn of cards such as {@code
+ * DMGENELED} and {@code DMGENEALL} that can still be paid for, and the attack gained by one evolution. A position is
+ * given up if even this bound, which ignores wards, is below the health of the enemy leader. Cards with effects that
+ * are harder to tell, such as draws or returning followers to hand, lift the bound.</li>
+ * </ul>
+ *
+ * <p>A search that visits more positions than its limit is given up. It then returns no sequence just like a search
+ * that has proven there is no win, so the outcome of the last search tells the two apart: {@linkplain Result#LETHAL},
+ * {@linkplain Result#NO_LETHAL} or {@linkplain Result#UNKNOWN}, see {@linkplain #getResult()}. The game may still be
+ * won this round after an unknown outcome.</p>
+ *
+ * <p>The copy of the game has its own random source, seeded from the hash of the position. The journal takes back
+ * the changes to the game but not the draws from the random source, so after taking back an action, random effects may
+ * resolve differently than they would if the same actions were carried out one after another. Every winning sequence
+ * is therefore carried out again on a fresh copy seeded the same way before it is returned, and the search goes on if
+ * it does not win there. The actual game still resolves random effects with its own random source, and the cards drawn
+ * during the search are the actual top cards of the deck, so a sequence that relies on random effects or on drawn
+ * cards is only a possible win.</p>
+ *
+ * @see GameEngine#getLegalActions(ActionList)
+ * @see Journal
+ */
+public final class LethalSolver {
+    /**
+     * The outcome of a search.
+     *
+     * @see #getResult()
+     */
+    public enum Result {
+        /**
+         * A winning sequence has been found and returned.
+         */
+        LETHAL,
+        /**
+         * Every order of the actions has been tried, and the player can not win this round.
+         */
+        NO_LETHAL,
+        /**
+         * The search has been given up at its limit before a winning sequence was found, so there may or may not be
+         * one.
+         */
+        UNKNOWN
+    }
+
+    /**
+     * The number of positions the memoization table holds by default.
+     */
+    private static final int DEFAULT_TABLE_CAPACITY = 1 << 16;
+    /**
+     * The number of positions after which a search gives up by default, so that no search takes more than a few
+     * hundred milliseconds.
+     */
+    private static final int DEFAULT_MAX_NODES = 20_000;
+    private final TranspositionTable FAILED;
+    private final int MAX_NODES;
+    private final Journal JOURNAL = new Journal();
+    private ActionList[] actions = new ActionList[0];
+    /**
+     * The legal actions of every depth in the order they are tried, and the priorities of the actions being ordered.
+     */
+    private int[][] ordered = new int[0][];
+    private int[] priorities = new int[0];
+    private int[] path = new int[16];
+    /**
+     * The number of the current call of {@linkplain #findLethal(GameEngine)}, stored with every failed position so
+     * that the table never has to be cleared.
+     */
+    private long generation;
+    private int nodes;
+    private boolean exhausted;
+    private Result result = Result.NO_LETHAL;
+    /**
+     * The game being solved and the player whose round it is in the copy, both only set during a search.
+     */
+    private GameEngine original;
+    private Player attacker;
+
+    /**
+     * The constructor creates a solver with a memoization table and a search limit of the default sizes.
+     */
+    public LethalSolver() {
+        this(DEFAULT_TABLE_CAPACITY, DEFAULT_MAX_NODES);
+    }
+
+    /**
+     * The constructor creates a solver.
+     *
+     * @param tableCapacity the number of positions the memoization table holds
+     * @param maxNodes      the number of positions after which a search gives up
+     * @throws IllegalArgumentException if the capacity is not positive or too large, or the limit is not positive
+     */
+    public LethalSolver(int tableCapacity, int maxNodes) {
+        if (maxNodes <= 0)
+            throw new IllegalArgumentException("SEARCH LIMIT MUST BE POSITIVE");
+
+        FAILED = new TranspositionTable(tableCapacity);
+        MAX_NODES = maxNodes;
+    }
+
+    /**
+     * Searches for a sequence of actions with which the player whose round it is wins the game this round. A null
+     * return value does not prove that there is no win: it may also mean that the search has been given up, which
+     * {@linkplain #getResult()} tells afterwards.
+     *
+     * @param game the game to be solved. It is not changed by the search
+     * @return the packed actions to be carried out one after another through {@linkplain GameEngine#perform(int)},
+     * null if there is no win this round or none has been found within the search limit
+     * @see #getResult()
+     */
+    public int[] findLethal(GameEngine game) {
+        nodes = 0;
+        exhausted = false;
+        result = Result.NO_LETHAL;
+        generation++;
+
+        if (!game.isGameAlive())
+            return null;
+
+        GameEngine copy = game.copy(new SplittableRandom(game.getHash()));
+        original = game;
+        attacker = copy.getCurrentPlayer();
+        JOURNAL.clear();
+        copy.setJournal(JOURNAL);
+
+        int length = search(copy, 0);
+        original = null;
+        attacker = null;
+
+        if (length < 0) {
+            result = exhausted ? Result.UNKNOWN : Result.NO_LETHAL;
+            return null;
+        }
+
+        result = Result.LETHAL;
+        return Arrays.copyOf(path, length);
+    }
+
+    /**
+     * @return the outcome of the last search: {@linkplain Result#LETHAL} if it has returned a winning sequence,
+     * {@linkplain Result#NO_LETHAL} if it has proven that there is none, {@linkplain Result#UNKNOWN} if it has been
+     * given up at the search limit
+     */
+    public Result getResult() {
+        return result;
+    }
+
+    /**
+     * @return the number of positions visited by the last search
+     */
+    public int getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return true if the last search has been given up before all actions were tried, false otherwise
+     * @see Result#UNKNOWN
+     */
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    /**
+     * Searches all orders of the remaining actions of the round.
+     *
+     * @param game  the copy of the game
+     * @param depth the number of actions taken so far
+     * @return the length of the winning sequence, whose actions are in {@linkplain #path}, -1 if there is none
+     */
+    private int search(GameEngine game, int depth) {
+        if (!game.isGameAlive())
+            return game.getWinner() == attacker && replays(depth) ? depth : -1;
+
+        if (game.getCurrentPlayer() != attacker)
+            return -1;
+
+        if (++nodes > MAX_NODES) {
+            exhausted = true;
+            return -1;
+        }
+
+        long hash = game.getHash();
+
+        if (FAILED.get(hash, 0) == generation)
+            return -1;
+
+        if (getDamageBound(game) < game.getOpponent(attacker).getLeader().getHealth()) {
+            FAILED.put(hash, generation);
+            return -1;
+        }
+
+        if (depth == actions.length) {
+            actions = Arrays.copyOf(actions, depth + 8);
+            ordered = Arrays.copyOf(ordered, depth + 8);
+            path = Arrays.copyOf(path, Math.max(path.length, depth + 8));
+        }
+
+        if (actions[depth] == null)
+            actions[depth] = new ActionList();
+
+        ActionList legal = actions[depth];
+        int count = game.getLegalActions(legal);
+
+        if (ordered[depth] == null || ordered[depth].length < count)
+            ordered[depth] = new int[Math.max(count, 16)];
+
+        if (priorities.length < count)
+            priorities = new int[Math.max(count, 16)];
+
+        order(game, legal, count, ordered[depth], priorities);
+        int mark = JOURNAL.mark();
+
+        for (int n = 0; n < count; n++) {
+            int action = ordered[depth][n];
+            game.perform(action);
+            path[depth] = action;
+
+            int length = search(game, depth + 1);
+
+            if (length >= 0)
+                return length;
+
+            JOURNAL.rollback(mark);
+
+            if (exhausted)
+                return -1;
+        }
+
+        FAILED.put(hash, generation);
+        return -1;
+    }
+
+    /**
+     * Carries out the winning sequence in {@linkplain #path} on a fresh copy of the game seeded like the searched one.
+     *
+     * @param length the length of the sequence
+     * @return true if every action of the sequence is legal on the fresh copy and the current player wins, false
+     * otherwise
+     */
+    private boolean replays(int length) {
+        GameEngine replay = original.copy(new SplittableRandom(original.getHash()));
+        Player player = replay.getCurrentPlayer();
+
+        for (int n = 0; n < length; n++)
+            if (!replay.perform(path[n]))
+                return false;
+
+        return !replay.isGameAlive() && replay.getWinner() == player;
+    }
+
+    /**
+     * Computes the most damage the current player may still deal to the enemy leader this round, ignoring wards and
+     * assuming that every card that can be used is used and every buff lands on a follower that attacks the leader.
+     * The bound adds up the attack of every follower that can still attack the leader or that can be used and has
+     * {@linkplain AttackStatus#STORM storm}, the damage the effects of the cards on the field and in hand may deal to
+     * the enemy leader, such as {@code DMGENELED} and {@code DMGENEALL}, the attack these effects may add, and the
+     * attack gained by one evolution.
+     *
+     * <p>The bound is only computed if the damage can be told from the cards alone. It can not if an effect is waiting
+     * for a target, if a card in hand is boosted by spells, or if a card has an effect whose damage depends on the
+     * game, such as drawing cards or returning followers to hand. It can not either if the enemy deck is empty, as
+     * ending the round then wins the game.</p>
+     *
+     * @param game the copy of the game
+     * @return the most damage left this round, {@linkplain Integer#MAX_VALUE} if it can not be bounded
+     */
+    private static int getDamageBound(GameEngine game) {
+        Player owner = game.getCurrentPlayer(), opponent = game.getOpponent(owner);
+
+        if (game.getPendingTarget() != null || opponent.getDeck().isEmpty())
+            return Integer.MAX_VALUE;
+
+        int bound = 0, evolveBonus = 0;
+
+        for (Card card : owner.getField()) {
+            int damage = getTriggeredDamage(card);
+
+            if (damage < 0)
+                return Integer.MAX_VALUE;
+
+            bound += damage;
+
+            if (card instanceof Follower && ((Follower) card).getAtkStatus().canAttackLeader()) {
+                Follower follower = (Follower) card;
+                bound += Math.max(0, follower.getAttack());
+
+                if (!follower.hasEvolved())
+                    evolveBonus = Math.max(evolveBonus, follower.getOrgEvoAttack() - follower.getOrgAttack());
+            }
+        }
+
+        for (Card card : owner.getHand()) {
+            if (card.isSpellBoost())
+                return Integer.MAX_VALUE;
+
+            if (card.getCost() > owner.getCostLeft())
+                continue;
+
+            Effect fanfare = card.getFanfare();
+            boolean storm = fanfare != null && fanfare.getCode() == Effect.Code.GVESLFEFXCOND &&
+                    fanfare.getSimpleEffect() == Follower.SimpleEffects.STORM;
+            int damage = getTriggeredDamage(card), fanfareDamage = storm ? 0 : getDamage(fanfare);
+
+            if (damage < 0 || fanfareDamage < 0)
+                return Integer.MAX_VALUE;
+
+            bound += damage + fanfareDamage;
+
+            if (card instanceof Follower && (storm || ((Follower) card).getAtkStatus() == AttackStatus.STORM)) {
+                Follower follower = (Follower) card;
+                bound += Math.max(0, follower.getAttack());
+                evolveBonus = Math.max(evolveBonus, follower.getOrgEvoAttack() - follower.getOrgAttack());
+            }
+        }
+
+        if (opponent.getLeader().hasDamageImmune())
+            return 0;
+
+        boolean canEvolve = game.getEvolveCD(owner) <= 0 && !owner.hasEvolved() && owner.getEvolvePts() > 0;
+        return canEvolve ? bound + evolveBonus : bound;
+    }
+
+    /**
+     * @param card a card of the current player, on the field or in hand
+     * @return the most damage to the enemy leader the effects of the card may add after it has been used, either by
+     * being triggered during the round or at its end, -1 if it can not be told
+     */
+    private static int getTriggeredDamage(Card card) {
+        int lastword = getDamage(card.getLastword()), attack = getDamage(card.getWhenAttack()),
+                fight = getDamage(card.getWhenFight()), evolve = getDamage(card.getWhenEvolve());
+
+        if (lastword < 0 || attack < 0 || fight < 0 || evolve < 0)
+            return -1;
+
+        // Cards may enter any number of times, so only effects that never add damage are bounded
+        if (getDamage(card.getWhenOtherEnter()) != 0)
+            return -1;
+
+        // Nothing attacks after the end of the round, so only damage to the enemy leader counts
+        int end = getLeaderDamage(card.getWhenEnd()), entranceEnd = getLeaderDamage(card.getWhenEntranceEnd());
+
+        if (end == -1 || entranceEnd == -1)
+            return -1;
+
+        return lastword + attack + fight + evolve + Math.max(0, end) + Math.max(0, entranceEnd);
+    }
+
+    /**
+     * @param effect an effect of a card of the current player, null if there is none
+     * @return the most damage to the enemy leader the effect may deal or add as attack this round, -1 if it can not be
+     * told
+     */
+    private static int getDamage(Effect effect) {
+        int damage = getLeaderDamage(effect);
+
+        if (damage != -2)
+            return damage;
+
+        switch (effect.getCode()) {
+            case BUFFRIFOL:
+            case BUFFRIOFF:
+            case BUFFRIOFFETR:
+            case BUFFRIFOLCOND:
+            case BUFONECSTFRIFOL:
+            case BUFRDMFRIOFF:
+            case BUFRDMFRIFOLCOND:
+            case RDMBUFFRIFOL:
+            case BUFSLF:
+            case BUFSLFCOND:
+            case BUFSLFCOMETR:
+                return Math.max(0, effect.getInt(0));
+
+            case BUFALLFRIFOL:
+            case BUFALLFRIOFF:
+            case BUFALLFRIFOLCOND:
+                return Math.max(0, effect.getInt(0)) * Field.MAXIMUM_FIELD_SIZE;
+
+            case PUTFOL:
+            case SUMMULFOL:
+                int each = getCreatedDamage(effect.getCard(0));
+                return each < 0 ? -1 : each * effect.getInt(0);
+
+            case SUMFOL:
+                int total = 0;
+
+                for (int n = 0; n < effect.getCardCount(); n++) {
+                    int created = getCreatedDamage(effect.getCard(n));
+
+                    if (created < 0)
+                        return -1;
+
+                    total += created;
+                }
+
+                return total;
+
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * @param effect an effect of a card of the current player, null if there is none
+     * @return the damage the effect deals to the enemy leader, -1 if it may deal damage to the enemy leader but the
+     * amount can not be told, 0 if it only harms enemy followers or amulets or gives keywords other than storm, -2 for
+     * any other effect
+     */
+    private static int getLeaderDamage(Effect effect) {
+        if (effect == null)
+            return 0;
+
+        switch (effect.getCode()) {
+            case DMGENELED:
+            case DMGENETAR:
+            case DMGENEALL:
+            case DMGENEALLCOND:
+            case DMGALL:
+            case DMGENETARHELSLFLED:
+                return effect.getInt(0);
+
+            case DMGSLFLEDDMGENETAR:
+                return effect.getInt(1);
+
+            case DMGENELEDVAR:
+            case DRWCRDDMGENETARVAR:
+            case LUCIFER:
+                return -1;
+
+            case DMGENEFOL:
+            case DMGENEFOLVAR:
+            case DMGENEFOLCOND:
+            case DMGALLENEFOL:
+            case DMGALLFOL:
+            case DMGRDMENEFOL:
+            case DMGRDMMULENEFOL:
+            case DMGRDMMULENEFOLVAR:
+            case DMGFIGENEFOL:
+            case KILENEATKFOL:
+            case KILENEFOLAMU:
+            case KILENEAMUCOND:
+            case BANENEFOL:
+            case BANENEFOLHPLES:
+            case CHGENEFOLHP:
+            case GVEENEFOLEFX:
+            case GVEALLENEFOLEFX:
+            case GVERDMENEFOLEFX:
+                return 0;
+
+            case GVEEFX:
+            case GVEEFXCOND:
+            case GVESLFEFXCOND:
+                return effect.getSimpleEffect() == Follower.SimpleEffects.STORM ? -1 : 0;
+
+            default:
+                return -2;
+        }
+    }
+
+    /**
+     * @param cardId the ID of a card put into hand or summoned by an effect
+     * @return the attack the card may add this round if it is a follower with {@linkplain AttackStatus#STORM storm},
+     * -1 if the card has effects of its own
+     */
+    private static int getCreatedDamage(int cardId) {
+        CardDefinition definition = CardLib.getDefinition(cardId);
+
+        if (definition.getFanfare() != null || definition.getLastword() != null ||
+                definition.getWhenOtherEnter() != null || definition.getWhenEntranceEnd() != null ||
+                definition.getWhenAttack() != null || definition.getWhenFight() != null ||
+                definition.getWhenEvolve() != null || definition.getWhenEnd() != null || definition.isSpellBoost())
+            return -1;
+
+        return definition.getType() == Card.Type.FOLLOWER && definition.getAttackStatus() == AttackStatus.STORM ?
+                Math.max(0, definition.getAttack()) : 0;
+    }
+
+    /**
+     * Sorts the legal actions by {@linkplain #getPriority(GameEngine, int) priority}, highest first.
+     *
+     * @param game       the copy of the game
+     * @param legal      the legal actions
+     * @param count      the number of legal actions
+     * @param ordered    the array the actions are written to in the order they are to be tried
+     * @param priorities the array the priorities are sorted in, at least as long as the number of actions
+     */
+    private static void order(GameEngine game, ActionList legal, int count, int[] ordered, int[] priorities) {
+        for (int n = 0; n < count; n++) {
+            int action = legal.get(n), priority = getPriority(game, action), m = n;
+
+            for (; m > 0 && priorities[m - 1] < priority; m--) {
+                ordered[m] = ordered[m - 1];
+                priorities[m] = priorities[m - 1];
+            }
+
+            ordered[m] = action;
+            priorities[m] = priority;
+        }
+    }
+
+    /**
+     * @param game   the copy of the game
+     * @param action a legal action
+     * @return how likely the action is to lead to a win this round, higher for more likely
+     */
+    private static int getPriority(GameEngine game, int action) {
+        Player owner = game.getCurrentPlayer(), opponent = game.getOpponent(owner);
+        int source = Action.getSource(action), target = Action.getTarget(action);
+
+        switch (Action.getKind(action)) {
+            case ATTACK_LEADER:
+                return 700 + ((Follower) owner.getField().get(source)).getAttack();
+
+            case SELECT_TARGET:
+                if (!Action.isEnemyTarget(action))
+                    return 100;
+                else if (target == Action.LEADER)
+                    return 650;
+
+                Card selected = opponent.getField().get(target);
+                return selected instanceof Follower && ((Follower) selected).hasWard() ? 450 : 200;
+
+            case PLAY_CARD:
+                Card card = owner.getHand().get(source);
+
+                if (getLeaderDamage(card.getFanfare()) > 0)
+                    return 600;
+                else if (card instanceof Follower && ((Follower) card).getAtkStatus() == AttackStatus.STORM)
+                    return 500 + ((Follower) card).getAttack();
+                else
+                    return 250 + card.getCost();
+
+            case EVOLVE:
+                Follower follower = (Follower) owner.getField().get(source);
+                return follower.getAtkStatus().canAttackLeader() ? 550 : 300;
+
+            case ATTACK_FOLLOWER:
+                Card defender = opponent.getField().get(target);
+                return defender instanceof Follower && ((Follower) defender).hasWard() ? 400 : 50;
+
+            case END_ROUND:
+                // The opponent loses when drawing from an empty deck at the start of its round
+                return opponent.getDeck().isEmpty() ? 1000 : 0;
+
+            default:
+                return 0;
+        }
+    }
+}
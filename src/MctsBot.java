@@ -0,0 +1,528 @@
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * This class is a computer player that chooses its actions by Monte Carlo tree search with the UCT selection rule. It
+ * can play either seat of a {@linkplain GameEngine}: every call of {@linkplain #chooseAction(GameEngine)} searches the
+ * position of the player whose round it is for a fixed wall-clock budget and returns the packed {@linkplain Action}
+ * that has been explored the most.
+ *
+ * <p>The search is split over a number of searchers, each with its own random source and copy of the game, running on
+ * separate threads. Each iteration of a searcher walks down the tree, carrying out the actions of the visited nodes on
+ * its copy, adds one untried action, plays the game to its end with uniformly random legal actions, and then
+ * {@linkplain Journal#rollback(int) rolls the copy back}. How the searchers share their work is given by the
+ * {@linkplain Parallelism parallelism} of the bot:</p>
+ *
+ * <ul>
+ * <li>{@linkplain Parallelism#ROOT Root parallelism}: every searcher grows a tree of its own. When the budget has run
+ * out, the visits of the root actions are summed over all trees and the action with the most visits is chosen.</li>
+ * <li>{@linkplain Parallelism#TREE Tree parallelism}: all searchers grow one shared tree. The statistics of the nodes
+ * are updated with atomic instructions and children are added by compare-and-set, so no searcher ever waits for a
+ * lock. A searcher counts its visit of a node on the way down and its reward only on the way back up, which is a
+ * virtual loss that steers the other searchers to different paths in the meantime.</li>
+ * </ul>
+ *
+ * <p>Root parallelism needs no communication between threads but searches the same top of the tree once per thread,
+ * while tree parallelism grows one deeper tree at the cost of contention on the nodes near the root. Which is better
+ * depends on the budget and the number of threads, see {@linkplain BotBenchmark}.</p>
+ *
+ * <p>Since the effects of the game are random, the same action may lead to different positions in different
+ * iterations. The trees are therefore kept over sequences of actions rather than positions, and the children of a node
+ * are looked up by action among the actions that are legal in the position the iteration has actually reached. An
+ * action is only weighed against the iterations in which it was legal, which is counted as its availability.</p>
+ *
+ * <p>With {@linkplain Information#IMPERFECT imperfect information} the bot only uses what its player can see: every
+ * iteration starts by {@linkplain GameEngine#determinize(Player, Card[], SplittableRandom) guessing} the opponent's
+ * hand and deck from the cards of the opponent's preset deck that have not been seen yet, and by shuffling the bot's
+ * own deck (information set Monte Carlo tree search). With {@linkplain Information#PERFECT perfect information} it
+ * searches the actual position, including the opponent's hand and the order of both decks.</p>
+ *
+ * <p>The trees are reused between moves. Every node remembers the {@linkplain GameEngine#getHash(Player) hash} of the
+ * position it led to the last time it was visited, as seen by the searching player, and the next search starts from the
+ * node whose position is the position to be searched, keeping all statistics gathered below it.</p>
+ *
+ * @see GameEngine#getLegalActions(ActionList)
+ * @see Journal
+ */
+public final class MctsBot {
+    /**
+     * The exploration constant of UCT for rewards between 0 and 1.
+     */
+    private static final double EXPLORATION = Math.sqrt(2) / 2;
+    /**
+     * The number of actions after which a random playout is stopped and scored as a draw.
+     */
+    private static final int MAX_PLAYOUT_ACTIONS = 1000;
+    private final long BUDGET_NANOS;
+    private final Information INFORMATION;
+    private final Parallelism PARALLELISM;
+    private final ActionList ACTIONS = new ActionList();
+    private final Searcher[] SEARCHERS;
+    /**
+     * The pool the searchers run on, null if there is only one searcher, which runs on the calling thread.
+     */
+    private final ForkJoinPool POOL;
+    private int iterations;
+
+    /**
+     * This enum lists what the bot may know of the game.
+     */
+    public enum Information {
+        /**
+         * The bot sees the whole game, including the opponent's hand and the order of both decks.
+         */
+        PERFECT,
+        /**
+         * The bot only sees what its player sees, and searches random guesses of the hidden cards.
+         */
+        IMPERFECT
+    }
+
+    /**
+     * This enum lists how the searchers of the bot share their work.
+     */
+    public enum Parallelism {
+        /**
+         * Every searcher grows a tree of its own, and the trees are merged at the root when the search ends.
+         */
+        ROOT,
+        /**
+         * All searchers grow one shared tree with lock-free statistics and virtual loss.
+         */
+        TREE
+    }
+
+    /**
+     * The constructor creates a single-threaded bot with perfect information and an unseeded random source.
+     *
+     * @param budgetMillis the wall-clock time in milliseconds every move is searched for
+     */
+    public MctsBot(long budgetMillis) {
+        this(budgetMillis, 1, Information.PERFECT, new SplittableRandom());
+    }
+
+    /**
+     * The constructor creates a bot with {@linkplain Parallelism#ROOT root parallelism}.
+     *
+     * @param budgetMillis the wall-clock time in milliseconds every move is searched for
+     * @param threads      the number of searchers, each running on its own thread
+     * @param information  what the bot may know of the game
+     * @param random       the random source of the searchers, split once for each of them
+     * @throws IllegalArgumentException if the budget or the number of threads is not positive
+     */
+    public MctsBot(long budgetMillis, int threads, Information information, SplittableRandom random) {
+        this(budgetMillis, threads, information, Parallelism.ROOT, random);
+    }
+
+    /**
+     * The constructor creates a bot. Its threads are daemon threads that are kept for all moves.
+     *
+     * @param budgetMillis the wall-clock time in milliseconds every move is searched for
+     * @param threads      the number of searchers, each running on its own thread
+     * @param information  what the bot may know of the game
+     * @param parallelism  how the searchers share their work
+     * @param random       the random source of the searchers, split once for each of them
+     * @throws IllegalArgumentException if the budget or the number of threads is not positive
+     */
+    public MctsBot(long budgetMillis, int threads, Information information, Parallelism parallelism,
+                   SplittableRandom random) {
+        if (budgetMillis <= 0)
+            throw new IllegalArgumentException("SEARCH BUDGET MUST BE POSITIVE");
+
+        if (threads <= 0)
+            throw new IllegalArgumentException("NUMBER OF THREADS MUST BE POSITIVE");
+
+        BUDGET_NANOS = budgetMillis * 1_000_000;
+        INFORMATION = information;
+        PARALLELISM = parallelism;
+        SEARCHERS = new Searcher[threads];
+        POOL = threads == 1 ? null : new ForkJoinPool(threads);
+
+        for (int n = 0; n < threads; n++)
+            SEARCHERS[n] = new Searcher(random.split());
+    }
+
+    /**
+     * Searches the current position for the player whose round it is.
+     *
+     * @param game the game to choose an action in. It is not changed by the search
+     * @return the packed action to be carried out through {@linkplain GameEngine#perform(int)}
+     * @throws IllegalStateException if the game is over
+     */
+    public int chooseAction(GameEngine game) {
+        long deadline = System.nanoTime() + BUDGET_NANOS;
+        int count = game.getLegalActions(ACTIONS);
+
+        iterations = 0;
+
+        if (count == 0)
+            throw new IllegalStateException("NO ACTION AVAILABLE");
+
+        if (count == 1)
+            return ACTIONS.get(0);
+
+        for (int n = 0; n < SEARCHERS.length; n++)
+            SEARCHERS[n].prepare(game, deadline,
+                    PARALLELISM == Parallelism.TREE && n > 0 ? SEARCHERS[0].root : null);
+
+        if (POOL == null) {
+            SEARCHERS[0].run();
+        } else {
+            ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[SEARCHERS.length];
+
+            for (int n = 0; n < tasks.length; n++)
+                tasks[n] = POOL.submit(SEARCHERS[n]);
+
+            for (ForkJoinTask<?> task : tasks)
+                task.join();
+        }
+
+        int best = ACTIONS.get(0), trees = PARALLELISM == Parallelism.TREE ? 1 : SEARCHERS.length;
+        long bestVisits = -1;
+
+        for (int n = 0; n < count; n++) {
+            int action = ACTIONS.get(n);
+            long visits = 0;
+
+            for (int tree = 0; tree < trees; tree++) {
+                Node child = SEARCHERS[tree].root.getChild(action);
+
+                if (child != null)
+                    visits += child.visits;
+            }
+
+            if (visits > bestVisits) {
+                best = action;
+                bestVisits = visits;
+            }
+        }
+
+        for (Searcher searcher : SEARCHERS) {
+            iterations += searcher.iterations;
+            searcher.release();
+        }
+
+        return best;
+    }
+
+    /**
+     * Stops the threads of the bot. The bot must not be used afterwards.
+     */
+    public void shutdown() {
+        if (POOL != null)
+            POOL.shutdown();
+    }
+
+    /**
+     * @return the number of iterations of the last search, summed over all searchers
+     */
+    public int getIterations() {
+        return iterations;
+    }
+
+    /**
+     * @return the seat of the player, 0 for player 1 and 1 for player 2
+     */
+    private static int getSeat(GameEngine game, Player player) {
+        return player == game.getPlayer1() ? 0 : 1;
+    }
+
+    /**
+     * This class is one searcher of the bot. Everything it changes during a search belongs to it alone, except for the
+     * nodes of a shared tree: its buffer of actions, its random source and its journaled copy of the game, which is
+     * made on the calling thread before the search starts.
+     */
+    private final class Searcher implements Runnable {
+        private final SplittableRandom RANDOM;
+        private final ActionList ACTIONS = new ActionList();
+        private final Journal JOURNAL = new Journal();
+        private GameEngine game;
+        /**
+         * The player the search is done for, as a player of the copy of the game.
+         */
+        private Player viewer;
+        /**
+         * The cards hidden from the viewer, null if the search sees the whole game.
+         */
+        private Card[] pool;
+        private Node root;
+        private long deadline;
+        private int iterations;
+
+        private Searcher(SplittableRandom random) {
+            RANDOM = random;
+        }
+
+        /**
+         * Copies the game to be searched and finds the root of the search in the tree of the last search.
+         *
+         * @param original the game to be searched
+         * @param deadline the {@linkplain System#nanoTime()} at which the search ends
+         * @param shared   the root of the tree shared with another searcher, null to search a tree of its own
+         */
+        private void prepare(GameEngine original, long deadline, Node shared) {
+            game = original.copy(RANDOM.split());
+            viewer = game.getCurrentPlayer();
+            pool = INFORMATION == Information.IMPERFECT ? game.getHiddenPool(viewer, RANDOM) : null;
+            this.deadline = deadline;
+            iterations = 0;
+
+            long hash = game.getHash(pool == null ? null : viewer);
+            root = shared == null ? findNode(hash) : shared;
+
+            if (root == null)
+                root = new Node(null, Action.NONE, -1);
+            else
+                root.parent = null;
+
+            root.hash = hash;
+            JOURNAL.clear();
+            game.setJournal(JOURNAL);
+        }
+
+        /**
+         * Drops the copy of the game once the search is over. The tree is kept for the next search.
+         */
+        private void release() {
+            game = null;
+            viewer = null;
+            pool = null;
+        }
+
+        @Override
+        public void run() {
+            int mark = JOURNAL.mark();
+
+            do {
+                if (pool != null)
+                    game.determinize(viewer, pool, RANDOM);
+
+                search();
+                JOURNAL.rollback(mark);
+                iterations++;
+            } while (System.nanoTime() < deadline);
+        }
+
+        /**
+         * Runs one iteration of the search on the copy of the game: selection, expansion, playout and backpropagation.
+         * Every node is visited on the way down and rewarded on the way up.
+         */
+        private void search() {
+            Node node = root;
+            Player hashViewer = pool == null ? null : viewer;
+
+            node.visit();
+
+            while (game.isGameAlive()) {
+                int count = game.getLegalActions(ACTIONS), untried = 0, expansion = Action.NONE;
+
+                if (count == 0)
+                    break;
+
+                for (int n = 0; n < count; n++) {
+                    int action = ACTIONS.get(n);
+
+                    if (node.getChild(action) == null && RANDOM.nextInt(++untried) == 0)
+                        expansion = action;
+                }
+
+                int seat = getSeat(game, game.getCurrentPlayer());
+
+                if (untried > 0) {
+                    node = node.addChild(expansion, seat);
+                    game.perform(expansion);
+                    node.hash = game.getHash(hashViewer);
+                    break;
+                }
+
+                Node best = null;
+                double bestScore = Double.NEGATIVE_INFINITY;
+
+                for (int n = 0; n < count; n++) {
+                    Node child = node.getChild(ACTIONS.get(n));
+                    double score = child.getScore(child.makeAvailable());
+
+                    if (score > bestScore) {
+                        bestScore = score;
+                        best = child;
+                    }
+                }
+
+                node = best;
+                node.visit();
+                game.perform(best.ACTION);
+                node.hash = game.getHash(hashViewer);
+            }
+
+            for (int n = 0; n < MAX_PLAYOUT_ACTIONS && game.isGameAlive(); n++) {
+                int count = game.getLegalActions(ACTIONS);
+
+                if (count == 0)
+                    break;
+
+                game.perform(ACTIONS.get(RANDOM.nextInt(count)));
+            }
+
+            int winner = game.getWinner() == null ? -1 : getSeat(game, game.getWinner());
+
+            for (; node != null; node = node.parent)
+                node.reward(winner < 0 ? 1 : winner == node.SEAT ? 2 : 0);
+        }
+
+        /**
+         * Looks for the node of a position in the tree of the last search, closest to its root first.
+         *
+         * @param hash the hash of the position
+         * @return the node that last led to the position, null if there is none
+         */
+        private Node findNode(long hash) {
+            if (root == null)
+                return null;
+
+            ArrayDeque<Node> queue = new ArrayDeque<>();
+            queue.add(root);
+
+            while (!queue.isEmpty()) {
+                Node node = queue.poll();
+
+                if (node.hash == hash)
+                    return node;
+
+                for (Node child : node.children)
+                    queue.add(child);
+            }
+
+            return null;
+        }
+    }
+
+    /**
+     * This class is a node of the search tree. It stands for an action taken after the actions of all its ancestors.
+     *
+     * <p>All statistics are changed through atomic updaters, and children are added by replacing the array of children
+     * through compare-and-set, so a node can be shared by searchers on several threads without locking.</p>
+     */
+    private static final class Node {
+        private static final Node[] NO_CHILDREN = new Node[0];
+        private static final AtomicIntegerFieldUpdater<Node> VISITS =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "visits");
+        private static final AtomicIntegerFieldUpdater<Node> AVAILABILITY =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "availability");
+        private static final AtomicIntegerFieldUpdater<Node> REWARD =
+                AtomicIntegerFieldUpdater.newUpdater(Node.class, "reward");
+        private static final AtomicReferenceFieldUpdater<Node, Node[]> CHILDREN =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node[].class, "children");
+        private final int ACTION;
+        /**
+         * The seat of the player who has taken the action, -1 for the root.
+         */
+        private final int SEAT;
+        private Node parent;
+        /**
+         * The children of the node. The array is never changed, only replaced by a longer copy.
+         */
+        private volatile Node[] children = NO_CHILDREN;
+        /**
+         * The number of iterations that have passed the node, counted when they pass it on the way down. The node is
+         * created by the first of them.
+         */
+        private volatile int visits = 1;
+        /**
+         * The number of times the action was legal when a child of the parent was selected, counting the iteration that
+         * added the node.
+         */
+        private volatile int availability = 1;
+        /**
+         * The total reward of the player who has taken the action in half points: 2 for every playout won, 1 for every
+         * playout without a winner. Iterations that are still running count as lost.
+         */
+        private volatile int reward;
+        /**
+         * The hash of the position the action has led to the last time the node was visited.
+         */
+        private volatile long hash;
+
+        private Node(Node parent, int action, int seat) {
+            this.parent = parent;
+            ACTION = action;
+            SEAT = seat;
+        }
+
+        private Node getChild(int action) {
+            for (Node child : children)
+                if (child.ACTION == action)
+                    return child;
+
+            return null;
+        }
+
+        /**
+         * Adds a child to the node and visits it. If another searcher has added a child for the action in the
+         * meantime, that child is visited instead.
+         *
+         * @param action the action of the child
+         * @param seat   the seat of the player who takes the action
+         * @return the visited child of the action
+         */
+        private Node addChild(int action, int seat) {
+            Node child = null;
+
+            while (true) {
+                Node[] current = children;
+
+                for (Node other : current)
+                    if (other.ACTION == action) {
+                        other.visit();
+                        return other;
+                    }
+
+                if (child == null)
+                    child = new Node(this, action, seat);
+
+                Node[] added = Arrays.copyOf(current, current.length + 1);
+                added[current.length] = child;
+
+                if (CHILDREN.compareAndSet(this, current, added))
+                    return child;
+            }
+        }
+
+        /**
+         * Counts an iteration passing the node on its way down. Until the iteration is rewarded, it counts as a loss.
+         */
+        private void visit() {
+            VISITS.incrementAndGet(this);
+        }
+
+        /**
+         * @param halfPoints the reward of the iteration in half points
+         */
+        private void reward(int halfPoints) {
+            if (halfPoints != 0)
+                REWARD.addAndGet(this, halfPoints);
+        }
+
+        /**
+         * Counts the action as available for selection once more.
+         *
+         * @return the availability of the action, including this time
+         */
+        private int makeAvailable() {
+            return AVAILABILITY.incrementAndGet(this);
+        }
+
+        /**
+         * @param availability the number of times the action has been available for selection
+         * @return the UCT score of the node
+         */
+        private double getScore(int availability) {
+            int visits = this.visits;
+            return reward / 2.0 / visits + EXPLORATION * Math.sqrt(Math.log(availability) / visits);
+        }
+    }
+}
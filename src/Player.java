@@ -1,11 +1,18 @@
+import java.util.SplittableRandom;
+
 /**
  * This class represents a game player. It contains all necessary resources for a player (deck, hand, grave, etc.).
  * There are also interaction methods that allocates between resources.
  *
  * <p>One game should have and only have 2 player instances.</p>
  */
-public final class Player {
+public final class Player implements Journaled {
     private static final int MAX_COST_POSSIBLE = 10;
+    /**
+     * The numbers of the fields recorded in the {@linkplain Journal}.
+     */
+    private static final int EVOLVED = 0, MAX_COST = 1, COST_LEFT = 2, EVOLVE_POINTS = 3, USED_CARD_COUNT = 4,
+            ROUND_NUMBER = 5;
     private final RoundOrder ROUND_ORDER;
     private final Deck DECK;
     private final Hand HAND;
@@ -15,16 +22,31 @@ public final class Player {
     private boolean hasEvolved = false;
     private int maxCost, costLeft, evolvePts;
     private int usedCardCount = 0, roundNumber = 0;
+    /**
+     * The journal that records changes to the player, null if changes are not recorded.
+     */
+    private Journal journal;
 
     /**
-     * The constructor initializes all resources and attributes.
+     * The constructor initializes all resources and attributes. The deck is shuffled by an unseeded random source.
      *
      * @param leader_kind the leader type player has chosen
      * @param roundOdr    the round order of this player
      */
     Player(String leader_kind, RoundOrder roundOdr) {
+        this(leader_kind, roundOdr, new SplittableRandom());
+    }
+
+    /**
+     * The constructor initializes all resources and attributes.
+     *
+     * @param leader_kind the leader type player has chosen
+     * @param roundOdr    the round order of this player
+     * @param random      the random source of the player's deck
+     */
+    Player(String leader_kind, RoundOrder roundOdr, SplittableRandom random) {
         LEADER = new Leader(leader_kind.toUpperCase());
-        DECK = new Deck(LEADER);
+        DECK = new Deck(LEADER, random);
         HAND = new Hand();
         GRAVE = new Grave();
         FIELD = new Field();
@@ -40,6 +62,28 @@ public final class Player {
         }
     }
 
+    /**
+     * The copy constructor creates a deep copy of another player. Every card in the deck, hand, grave and field is
+     * copied, so the copy can be played on without affecting the original.
+     *
+     * @param other  the player to be copied
+     * @param random the random source of the copy's deck
+     */
+    Player(Player other, SplittableRandom random) {
+        ROUND_ORDER = other.ROUND_ORDER;
+        LEADER = new Leader(other.LEADER);
+        DECK = new Deck(other.DECK, random);
+        HAND = new Hand(other.HAND);
+        GRAVE = new Grave(other.GRAVE);
+        FIELD = new Field(other.FIELD);
+        hasEvolved = other.hasEvolved;
+        maxCost = other.maxCost;
+        costLeft = other.costLeft;
+        evolvePts = other.evolvePts;
+        usedCardCount = other.usedCardCount;
+        roundNumber = other.roundNumber;
+    }
+
     /**
      * @return this player's field instance
      */
@@ -134,9 +178,12 @@ public final class Player {
      * end.
      */
     public boolean iniNewRound() {
+        journal(ROUND_NUMBER, roundNumber);
         roundNumber++;
         increaseMaxCost();
+        journal(COST_LEFT, costLeft);
         costLeft = maxCost;
+        journal(EVOLVED, hasEvolved ? 1 : 0);
         hasEvolved = false;
 
         for (Card c : FIELD) {
@@ -161,6 +208,7 @@ public final class Player {
      * AttackStatus#ATTACKED}
      */
     public void endRound() {
+        journal(USED_CARD_COUNT, usedCardCount);
         usedCardCount = 0;
 
         for (Card c : FIELD) {
@@ -170,6 +218,7 @@ public final class Player {
             }
         }
 
+        journal(EVOLVED, hasEvolved ? 1 : 0);
         hasEvolved = false;
     }
 
@@ -185,6 +234,7 @@ public final class Player {
         } else {
             throw new IllegalArgumentException("NO SUCH CARD FOUND IN HAND");
         }
+        journal(USED_CARD_COUNT, usedCardCount);
         usedCardCount++;
     }
 
@@ -198,6 +248,7 @@ public final class Player {
         if (usage > costLeft) {
             throw new IllegalArgumentException("Not enough cost!");
         } else {
+            journal(COST_LEFT, costLeft);
             costLeft -= usage;
         }
     }
@@ -207,6 +258,7 @@ public final class Player {
      */
     public void increaseMaxCost() {
         if (maxCost < MAX_COST_POSSIBLE) {
+            journal(MAX_COST, maxCost);
             maxCost++;
         }
     }
@@ -245,9 +297,11 @@ public final class Player {
      */
     public boolean evolve(Follower follower) {
         if (evolvePts > 0 && !hasEvolved) {
+            journal(EVOLVED, 0);
             hasEvolved = true;
 
             if (follower != null) {
+                journal(EVOLVE_POINTS, evolvePts);
                 evolvePts--;
                 follower.evolve();
             }
@@ -281,6 +335,77 @@ public final class Player {
         return true;
     }
 
+    /**
+     * Starts or stops recording the changes to the player, its leader and all of its cards.
+     *
+     * @param journal the journal to record the changes, null to stop recording
+     */
+    void setJournal(Journal journal) {
+        this.journal = journal;
+        LEADER.setJournal(journal);
+        DECK.setJournal(journal);
+        HAND.setJournal(journal);
+        GRAVE.setJournal(journal);
+        FIELD.setJournal(journal);
+    }
+
+    /**
+     * The hash of a player covers the cards in hand and on field with all of their state, the leader's health and
+     * effects, the costs, the evolve points, the round number and the sizes of the deck and the grave together with the
+     * necromancy. The order of the deck is hidden information and is left out.
+     *
+     * @param hideHand true if only the size of the hand is to be hashed, as seen by the opponent
+     * @return the {@linkplain Zobrist} hash of the player's side of the game
+     */
+    long getHash(boolean hideHand) {
+        long resources = LEADER.getHealth() & 0xFFFFL | (maxCost & 0xFFL) << 16 | (costLeft & 0xFFL) << 24 |
+                (evolvePts & 0xFFL) << 32 | (usedCardCount & 0xFFL) << 40 | (hasEvolved ? 1L << 48 : 0) |
+                (LEADER.hasDamageImmune() ? 1L << 49 : 0);
+        long piles = DECK.size() & 0xFFFFL | (GRAVE.size() & 0xFFFFL) << 16 |
+                (GRAVE.getNecromancy() & 0xFFFFL) << 32 | (roundNumber & 0xFFFFL) << 48;
+
+        long hand = hideHand ? HAND.size() : HAND.getHash();
+
+        return Zobrist.key(Zobrist.key(Zobrist.key(hand, FIELD.getHash()), resources), piles);
+    }
+
+    private void journal(int field, int value) {
+        if (journal != null)
+            journal.record(this, field, value);
+    }
+
+    @Override
+    public void restore(int field, int value, Object reference) {
+        switch (field) {
+            case EVOLVED:
+                hasEvolved = value != 0;
+                break;
+
+            case MAX_COST:
+                maxCost = value;
+                break;
+
+            case COST_LEFT:
+                costLeft = value;
+                break;
+
+            case EVOLVE_POINTS:
+                evolvePts = value;
+                break;
+
+            case USED_CARD_COUNT:
+                usedCardCount = value;
+                break;
+
+            case ROUND_NUMBER:
+                roundNumber = value;
+                break;
+
+            default:
+                throw new IllegalArgumentException("UNKNOWN PLAYER FIELD " + field);
+        }
+    }
+
 
     /**
      * This enum contains all possible round order values
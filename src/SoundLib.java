@@ -3,6 +3,8 @@ import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.util.Duration;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 /**
  * This enum contains all sound resources used in game. All sounds are processed and played inside this class.
  */
@@ -52,7 +54,7 @@ public enum SoundLib {
 
         switch (this) {
             case RANDOM_BGM:
-                fileString.append("bgm").append((int) (Math.random() * 4 + 1)).append(".wav");
+                fileString.append("bgm").append(ThreadLocalRandom.current().nextInt(1, 5)).append(".wav");
                 break;
 
             case GAME_END:
@@ -0,0 +1,300 @@
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * This class plays batches of headless matches between the preset decks of {@linkplain Deck} and reports the win rate
+ * of every deck, the average game length and the advantage of the first player.
+ *
+ * <p>The matches are spread across a {@linkplain ForkJoinPool}. Each match builds its own {@linkplain GameEngine} and
+ * {@linkplain Player}s, so no mutable state is shared between matches, and each worker merges its results locally
+ * before handing them back. Every match is seeded from the tournament seed and its index, so a tournament gives the same
+ * result regardless of the number of threads, and any single match can be replayed from its index.</p>
+ *
+ * <p>Both seats are played by a random policy that picks one of the {@linkplain GameEngine#getLegalActions(ActionList)
+ * legal actions} uniformly.</p>
+ *
+ * <p>Usage: {@code java Tournament [matches] [seed] [threads]}</p>
+ *
+ * @see GameEngine
+ */
+public final class Tournament {
+    /**
+     * The number of cards each player draws before the game starts.
+     */
+    private static final int INITIAL_HAND_SIZE = 3;
+    /**
+     * The number of actions after which a match is abandoned. It only guards against matches that never end.
+     */
+    private static final int MAX_ACTIONS = 5000;
+    /**
+     * The odd constant separating the seeds of consecutive matches.
+     */
+    private static final long MATCH_SEED_STEP = 0xBF58476D1CE4E5B9L;
+    /**
+     * The number of matches a worker plays without splitting its range further.
+     */
+    private static final int MATCHES_PER_TASK = 4;
+    private final Leader.LeaderType[] LEADERS;
+    private final int MATCHES;
+    private final long SEED;
+
+    /**
+     * The constructor prepares a tournament between all leaders that have a preset deck. Match {@code n} is played by
+     * the {@code n % k}-th of all {@code k} ordered pairs of leaders, so every pairing (including mirror matches) is
+     * played with both round orders.
+     *
+     * @param matches the number of matches to be played
+     * @param seed    the seed of the tournament
+     * @throws IllegalArgumentException if the number of matches is negative
+     */
+    Tournament(int matches, long seed) {
+        if (matches < 0)
+            throw new IllegalArgumentException("NEGATIVE NUMBER OF MATCHES");
+
+        ArrayList<Leader.LeaderType> leaders = new ArrayList<>();
+
+        for (Leader.LeaderType type : Leader.LeaderType.values())
+            if (Deck.hasPreset(type))
+                leaders.add(type);
+
+        LEADERS = leaders.toArray(new Leader.LeaderType[0]);
+        MATCHES = matches;
+        SEED = seed;
+    }
+
+    /**
+     * Plays all matches of the tournament on the given pool.
+     *
+     * @param pool the pool to play the matches on
+     * @return the combined result of all matches
+     */
+    Result run(ForkJoinPool pool) {
+        return pool.invoke(new MatchTask(0, MATCHES));
+    }
+
+    /**
+     * Plays one match of the tournament.
+     *
+     * @param index the index of the match
+     * @return the result of the match
+     */
+    Result playMatch(int index) {
+        int pairing = index % (LEADERS.length * LEADERS.length);
+        Leader.LeaderType first = LEADERS[pairing / LEADERS.length], second = LEADERS[pairing % LEADERS.length];
+        SplittableRandom match = new SplittableRandom(SEED + index * MATCH_SEED_STEP);
+        Player p1 = new Player(first.name(), Player.RoundOrder.OFFENSIVE, match.split());
+        Player p2 = new Player(second.name(), Player.RoundOrder.DEFENSIVE, match.split());
+        GameEngine engine = new GameEngine(p1, p2, match.split());
+        SplittableRandom policy = match.split();
+        ActionList actions = new ActionList();
+
+        p1.drawCards(INITIAL_HAND_SIZE);
+        p2.drawCards(INITIAL_HAND_SIZE);
+        engine.start();
+
+        for (int n = 0; n < MAX_ACTIONS; n++) {
+            int count = engine.getLegalActions(actions);
+
+            if (count == 0)
+                break;
+
+            engine.perform(actions.get(policy.nextInt(count)));
+        }
+
+        Result result = new Result(LEADERS.length);
+        int rounds = p1.getRoundNumber() + p2.getRoundNumber();
+
+        if (engine.getWinner() == null)
+            result.unfinished++;
+        else
+            result.record(pairing, engine.getWinner() == p1, rounds);
+
+        return result;
+    }
+
+    /**
+     * Plays a tournament and prints its result.
+     *
+     * @param args the number of matches (default 10000), the seed (default 0) and the number of threads (default all
+     *             available processors)
+     */
+    public static void main(String[] args) {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 0;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        Tournament tournament = new Tournament(matches, seed);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        Result result = tournament.run(pool);
+        long elapsed = System.nanoTime() - start;
+
+        pool.shutdown();
+        System.out.print(result.toString(tournament.LEADERS));
+        System.out.printf("%d matches on %d threads in %.2f s (%.0f matches/s)%n", matches, threads, elapsed / 1e9,
+                matches / (elapsed / 1e9));
+    }
+
+    /**
+     * This task plays a range of matches, splitting the range in halves until it is small enough.
+     */
+    private final class MatchTask extends RecursiveTask<Result> {
+        private static final long serialVersionUID = 1L;
+        private final int FROM, TO;
+
+        /**
+         * @param from the index of the first match (inclusive)
+         * @param to   the index of the last match (exclusive)
+         */
+        MatchTask(int from, int to) {
+            FROM = from;
+            TO = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (TO - FROM <= MATCHES_PER_TASK) {
+                Result result = new Result(LEADERS.length);
+
+                for (int n = FROM; n < TO; n++)
+                    result.merge(playMatch(n));
+
+                return result;
+            } else {
+                int middle = (FROM + TO) >>> 1;
+                MatchTask left = new MatchTask(FROM, middle);
+
+                left.fork();
+                Result result = new MatchTask(middle, TO).compute();
+                result.merge(left.join());
+                return result;
+            }
+        }
+    }
+
+    /**
+     * This class holds the statistics of a set of matches. Results of disjoint sets of matches are combined through
+     * {@linkplain #merge(Result)}.
+     */
+    static final class Result {
+        private final int LEADER_COUNT;
+        /**
+         * The number of finished matches and the number of matches won by the first player of every pairing, indexed
+         * by {@code first * LEADER_COUNT + second}.
+         */
+        private final long[] GAMES, FIRST_WINS;
+        private long rounds, unfinished;
+
+        Result(int leaderCount) {
+            LEADER_COUNT = leaderCount;
+            GAMES = new long[leaderCount * leaderCount];
+            FIRST_WINS = new long[leaderCount * leaderCount];
+        }
+
+        private void record(int pairing, boolean firstWins, int matchRounds) {
+            GAMES[pairing]++;
+
+            if (firstWins)
+                FIRST_WINS[pairing]++;
+
+            rounds += matchRounds;
+        }
+
+        /**
+         * Adds the statistics of another set of matches to this result.
+         *
+         * @param other the result to be added
+         */
+        void merge(Result other) {
+            for (int n = 0; n < GAMES.length; n++) {
+                GAMES[n] += other.GAMES[n];
+                FIRST_WINS[n] += other.FIRST_WINS[n];
+            }
+
+            rounds += other.rounds;
+            unfinished += other.unfinished;
+        }
+
+        /**
+         * @return the number of finished matches
+         */
+        long getGames() {
+            long games = 0;
+
+            for (long n : GAMES)
+                games += n;
+
+            return games;
+        }
+
+        /**
+         * @return the number of matches won by the first player
+         */
+        long getFirstPlayerWins() {
+            long wins = 0;
+
+            for (long n : FIRST_WINS)
+                wins += n;
+
+            return wins;
+        }
+
+        /**
+         * @return the number of matches abandoned without a winner
+         */
+        long getUnfinished() {
+            return unfinished;
+        }
+
+        /**
+         * @return the average number of rounds (of both players combined) of a finished match
+         */
+        double getAverageRounds() {
+            long games = getGames();
+            return games == 0 ? 0 : (double) rounds / games;
+        }
+
+        /**
+         * Counts the matches a leader has won against other leaders, mirror matches excluded.
+         *
+         * @param leader the index of the leader
+         * @return the number of matches won and the number of matches played by the leader
+         */
+        long[] getRecord(int leader) {
+            long won = 0, played = 0;
+
+            for (int other = 0; other < LEADER_COUNT; other++) {
+                if (other == leader)
+                    continue;
+
+                int asFirst = leader * LEADER_COUNT + other, asSecond = other * LEADER_COUNT + leader;
+                won += FIRST_WINS[asFirst] + GAMES[asSecond] - FIRST_WINS[asSecond];
+                played += GAMES[asFirst] + GAMES[asSecond];
+            }
+
+            return new long[]{won, played};
+        }
+
+        /**
+         * @param leaders the leaders in the order of their indices
+         * @return the report of the result
+         */
+        String toString(Leader.LeaderType[] leaders) {
+            StringBuilder report = new StringBuilder();
+            long games = getGames();
+
+            for (int n = 0; n < LEADER_COUNT; n++) {
+                long[] record = getRecord(n);
+                report.append(String.format("%-12s won %6d of %6d (%5.1f%%)%n", leaders[n].getKind(), record[0],
+                        record[1], record[1] == 0 ? 0 : 100.0 * record[0] / record[1]));
+            }
+
+            report.append(String.format("First player won %d of %d (%.1f%%)%n", getFirstPlayerWins(), games,
+                    games == 0 ? 0 : 100.0 * getFirstPlayerWins() / games));
+            report.append(String.format("Average game length %.2f rounds, %d unfinished%n", getAverageRounds(),
+                    unfinished));
+            return report.toString();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * This class is a fixed-size transposition table that maps the {@linkplain GameEngine#getHash() hash} of a position to
+ * one long of data, e.g. a packed search result. It can be shared by any number of search threads without locking.
+ *
+ * <p>Every slot holds two longs: the data, and the hash combined with the data by exclusive or. A reader accepts a
+ * slot only if the two longs combine to the hash it looks for, so a slot that is being overwritten by another thread
+ * is seen as a miss rather than as a mix of two entries. Each slot has room for one entry, and a new entry always
+ * replaces the old one.</p>
+ *
+ * @see Zobrist
+ */
+public final class TranspositionTable {
+    /**
+     * The largest number of slots, limited by the size of an array of two longs per slot.
+     */
+    private static final int MAX_CAPACITY = 1 << 29;
+    private final AtomicLongArray ENTRIES;
+    private final int MASK;
+
+    /**
+     * The constructor allocates an empty table.
+     *
+     * @param capacity the number of entries of the table, rounded up to a power of two
+     * @throws IllegalArgumentException if the capacity is not positive or too large
+     */
+    public TranspositionTable(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY)
+            throw new IllegalArgumentException("INVALID TRANSPOSITION TABLE CAPACITY " + capacity);
+
+        int slots = Integer.highestOneBit(capacity);
+
+        if (slots < capacity)
+            slots <<= 1;
+
+        ENTRIES = new AtomicLongArray(slots * 2);
+        MASK = slots - 1;
+    }
+
+    /**
+     * @param hash the hash of the position
+     * @param absent the value to be returned if the position is not in the table
+     * @return the data stored for the position, or the given value if the position is not in the table
+     */
+    public long get(long hash, long absent) {
+        int slot = ((int) hash & MASK) * 2;
+        long data = ENTRIES.get(slot + 1);
+
+        return (ENTRIES.get(slot) ^ data) == hash ? data : absent;
+    }
+
+    /**
+     * Stores the data of a position, replacing whatever the slot of the position holds.
+     *
+     * @param hash the hash of the position
+     * @param data the data to be stored
+     */
+    public void put(long hash, long data) {
+        int slot = ((int) hash & MASK) * 2;
+
+        ENTRIES.set(slot + 1, data);
+        ENTRIES.set(slot, hash ^ data);
+    }
+
+    /**
+     * Removes all entries. It must not run concurrently with {@linkplain #put(long, long)}.
+     */
+    public void clear() {
+        for (int n = 0; n < ENTRIES.length(); n++)
+            ENTRIES.set(n, 0);
+    }
+
+    /**
+     * @return the number of entries of the table
+     */
+    public int capacity() {
+        return MASK + 1;
+    }
+}
@@ -0,0 +1,40 @@
+/**
+ * This class generates the keys of the Zobrist hash of game positions. The hash of a position is the sum of the keys of
+ * its features, so a change of one feature updates the hash in constant time by subtracting the old key and adding the
+ * new one. Sums are used rather than the usual exclusive or, as a hand may hold several copies of the same card.
+ *
+ * <p>Instead of a precomputed table of random numbers, the key of a feature is derived by mixing the feature value with
+ * the finalizer of SplitMix64. This acts as a table of random keys indexed by every possible 64-bit value, so features
+ * with a large range (e.g. the stats of a follower) need no table at all, and the keys are the same in every run.</p>
+ *
+ * @see GameEngine#getHash()
+ * @see TranspositionTable
+ */
+public final class Zobrist {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private Zobrist() {
+    }
+
+    /**
+     * @param feature the packed value of a feature
+     * @return the key of the feature
+     */
+    static long key(long feature) {
+        long z = (feature + 1) * GOLDEN_GAMMA;
+        z = (z ^ z >>> 30) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ z >>> 27) * 0x94D049BB133111EBL;
+        return z ^ z >>> 31;
+    }
+
+    /**
+     * Derives the key of a feature that consists of two values. The key depends on the order of the values.
+     *
+     * @param first  the first value, usually a key itself
+     * @param second the second value
+     * @return the key of the feature
+     */
+    static long key(long first, long second) {
+        return key(key(first) + second);
+    }
+}